@@ -0,0 +1,64 @@
+package com.kadir.twitterbots.worm.dao;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link StatusRepository} over a fixed list of today's statuses, writes are dropped. Used where a benchmark needs the
+ * same saved statuses on every invocation: {@link InMemoryStatusRepository} applies the writes of a flush, so every
+ * flush after the first would find the pool already saved.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:00
+ */
+public class FixedStatusRepository implements StatusRepository {
+    private final List<CustomStatus> todaysStatuses;
+    private long lastId;
+
+    public FixedStatusRepository(List<CustomStatus> todaysStatuses) {
+        this.todaysStatuses = todaysStatuses;
+    }
+
+    @Override
+    public List<CustomStatus> getTodaysStatuses() {
+        return new ArrayList<>(todaysStatuses);
+    }
+
+    @Override
+    public int forEachTodaysStatus(Consumer<CustomStatus> consumer) {
+        todaysStatuses.forEach(consumer);
+        return todaysStatuses.size();
+    }
+
+    @Override
+    public Long saveStatus(CustomStatus status) {
+        return ++lastId;
+    }
+
+    @Override
+    public void updateTodaysStatusScore(Long statusId, int score) {
+    }
+
+    @Override
+    public void removeStatus(CustomStatus savedStatus) {
+    }
+
+    @Override
+    public int forEachQuotedStatusSince(LocalDate since, Consumer<CustomStatus> consumer) {
+        return 0;
+    }
+
+    @Override
+    public Long setStatusQuoted(Long statusId, LocalDate foundDate) {
+        return null;
+    }
+
+    @Override
+    public void maintain() {
+    }
+}
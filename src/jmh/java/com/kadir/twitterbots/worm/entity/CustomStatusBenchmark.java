@@ -0,0 +1,48 @@
+package com.kadir.twitterbots.worm.entity;
+
+import com.kadir.twitterbots.worm.workload.BenchmarkEnvironment;
+import com.kadir.twitterbots.worm.workload.StatusCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import twitter4j.Status;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating candidates from fetched statuses and of the copy made on every score update.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomStatusBenchmark {
+    private List<Status> statuses;
+    private CustomStatus customStatus;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.setUp();
+        statuses = new StatusCorpus(BenchmarkEnvironment.CORPUS_SEED, 1024, 256).getStatuses();
+        customStatus = new CustomStatus(statuses.get(0));
+    }
+
+    @Benchmark
+    public CustomStatus fromStatus() {
+        return new CustomStatus(statuses.get(index++ & 1023));
+    }
+
+    @Benchmark
+    public CustomStatus copy() {
+        return new CustomStatus(customStatus);
+    }
+}
@@ -0,0 +1,55 @@
+package com.kadir.twitterbots.worm.filter;
+
+import com.kadir.twitterbots.worm.dao.InMemoryIgnoredKeywordRepository;
+import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.workload.BenchmarkEnvironment;
+import com.kadir.twitterbots.worm.workload.StatusCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import twitter4j.Status;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ContentBasedFilter#passed(Status)} over a mixed language corpus with a realistic ignored word list.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:12
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContentBasedFilterBenchmark {
+    private ContentBasedFilter contentBasedFilter;
+    private List<Status> statuses;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.setUp();
+        statuses = new StatusCorpus(BenchmarkEnvironment.CORPUS_SEED, 1024, 256).getStatuses();
+        contentBasedFilter = new ContentBasedFilter(LanguageModels.load(), new InMemoryIgnoredKeywordRepository(
+                new HashSet<>(Arrays.asList("reklam", "takip", "bahis", "kampanya", "indirim", "çekiliş", "rt", "follow", "giveaway", "bonus")),
+                new HashSet<>(Arrays.asList("user7", "user42", "user99"))));
+    }
+
+    @TearDown
+    public void tearDown() {
+        TaskScheduler.shutdownAllTasks();
+    }
+
+    @Benchmark
+    public boolean passed() {
+        return contentBasedFilter.passed(statuses.get(index++ & 1023));
+    }
+}
@@ -0,0 +1,73 @@
+package com.kadir.twitterbots.worm.worker;
+
+import com.kadir.twitterbots.worm.dao.FixedStatusRepository;
+import com.kadir.twitterbots.worm.dao.RepositoryBackend;
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.workload.BenchmarkEnvironment;
+import com.kadir.twitterbots.worm.workload.OfflineTwitter;
+import com.kadir.twitterbots.worm.workload.StatusCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import twitter4j.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diff of the candidate pool against today's saved statuses in {@link DatabaseWorker#saveStatusesToDatabase()}, with
+ * half of the pool already saved, so inserts, updates and removals are all exercised. Saved statuses are a
+ * {@link FixedStatusRepository}, so every invocation diffs the same ones.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DatabaseWorkerBenchmark {
+    @Param({"30", "300", "3000"})
+    private int poolSize;
+
+    private DatabaseWorker databaseWorker;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.setUp();
+        System.setProperty("statusLimitToKeep", Integer.toString(poolSize));
+        List<Status> statuses = new StatusCorpus(BenchmarkEnvironment.CORPUS_SEED, poolSize * 2, poolSize * 2).getStatuses();
+
+        List<CustomStatus> savedStatuses = new ArrayList<>(poolSize);
+        for (int i = poolSize / 2; i < poolSize + poolSize / 2; i++) {
+            CustomStatus savedStatus = new CustomStatus(statuses.get(i));
+            savedStatus.setId((long) i);
+            savedStatuses.add(savedStatus);
+        }
+
+        TweetFetcher tweetFetcher = new TweetFetcher(OfflineTwitter.create(BenchmarkEnvironment.ACCOUNT_ID), new TweetFilter(),
+                RepositoryBackend.IN_MEMORY.create().getStatusRepository());
+        for (int i = 0; i < poolSize; i++) {
+            tweetFetcher.getCandidatePool().put(new CustomStatus(statuses.get(i)));
+        }
+        databaseWorker = new DatabaseWorker(tweetFetcher, new FixedStatusRepository(savedStatuses));
+    }
+
+    @TearDown
+    public void tearDown() {
+        TaskScheduler.shutdownAllTasks();
+    }
+
+    @Benchmark
+    public void saveStatusesToDatabase() {
+        databaseWorker.saveStatusesToDatabase();
+    }
+}
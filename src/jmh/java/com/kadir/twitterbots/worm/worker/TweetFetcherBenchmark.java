@@ -0,0 +1,75 @@
+package com.kadir.twitterbots.worm.worker;
+
+import com.kadir.twitterbots.worm.dao.RepositoryBackend;
+import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.workload.BenchmarkEnvironment;
+import com.kadir.twitterbots.worm.workload.OfflineTwitter;
+import com.kadir.twitterbots.worm.workload.StatusCorpus;
+import com.kadir.twitterbots.worm.workload.SyntheticStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import twitter4j.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TweetFetcher#addStatus(Status)} including eviction once the pool is full. Statuses are offered as new ones
+ * first and then again with grown interaction counts, as consecutive searches return them. The pool keeps one status
+ * per user, so the corpus is written by many more users than the largest limit, otherwise the pool could not fill up
+ * and eviction would never run.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:16
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TweetFetcherBenchmark {
+    private static final int CORPUS_SIZE = 16384;
+    private static final int USER_COUNT = 65536;
+
+    @Param({"30", "300", "3000"})
+    private int statusLimitToKeep;
+
+    private TweetFetcher tweetFetcher;
+    private List<Status> statuses;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.setUp();
+        System.setProperty("statusLimitToKeep", Integer.toString(statusLimitToKeep));
+
+        Random random = new Random(BenchmarkEnvironment.CORPUS_SEED);
+        List<Status> corpus = new StatusCorpus(BenchmarkEnvironment.CORPUS_SEED, CORPUS_SIZE / 2, USER_COUNT).getStatuses();
+        statuses = new ArrayList<>(CORPUS_SIZE);
+        statuses.addAll(corpus);
+        for (Status status : corpus) {
+            statuses.add(((SyntheticStatus) status).withCounts(status.getFavoriteCount() + random.nextInt(500), status.getRetweetCount() + random.nextInt(100)));
+        }
+
+        tweetFetcher = new TweetFetcher(OfflineTwitter.create(BenchmarkEnvironment.ACCOUNT_ID), new TweetFilter(),
+                RepositoryBackend.IN_MEMORY.create().getStatusRepository());
+    }
+
+    @TearDown
+    public void tearDown() {
+        TaskScheduler.shutdownAllTasks();
+    }
+
+    @Benchmark
+    public void addStatus() {
+        tweetFetcher.addStatus(statuses.get(index++ & (CORPUS_SIZE - 1)));
+    }
+}
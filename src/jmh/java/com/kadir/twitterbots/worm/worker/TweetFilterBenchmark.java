@@ -0,0 +1,71 @@
+package com.kadir.twitterbots.worm.worker;
+
+import com.kadir.twitterbots.worm.dao.InMemoryIgnoredKeywordRepository;
+import com.kadir.twitterbots.worm.dao.IgnoredUserRepository;
+import com.kadir.twitterbots.worm.dao.RepositoryBackend;
+import com.kadir.twitterbots.worm.filter.ContentBasedFilter;
+import com.kadir.twitterbots.worm.filter.LanguageModels;
+import com.kadir.twitterbots.worm.filter.UserBasedFilter;
+import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.workload.BenchmarkEnvironment;
+import com.kadir.twitterbots.worm.workload.OfflineTwitter;
+import com.kadir.twitterbots.worm.workload.StatusCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import twitter4j.Status;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TweetFilter#canStatusBeUsed(Status)} with every fetch filter, in the order they run while fetching.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:14
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TweetFilterBenchmark {
+    private TweetFilter tweetFilter;
+    private List<Status> statuses;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.setUp();
+        StatusCorpus corpus = new StatusCorpus(BenchmarkEnvironment.CORPUS_SEED, 1024, 256);
+        statuses = corpus.getStatuses();
+
+        IgnoredUserRepository ignoredUserRepository = RepositoryBackend.IN_MEMORY.create().getIgnoredUserRepository();
+        for (int i = 0; i < corpus.getUsers().size(); i += 10) {
+            ignoredUserRepository.insertIgnoredUser(corpus.getUsers().get(i));
+        }
+
+        tweetFilter = new TweetFilter();
+        tweetFilter.initForFetch(
+                new ContentBasedFilter(LanguageModels.load(), new InMemoryIgnoredKeywordRepository(
+                        new HashSet<>(Arrays.asList("reklam", "takip", "bahis", "kampanya", "indirim")), Collections.emptySet())),
+                new UserBasedFilter(OfflineTwitter.create(BenchmarkEnvironment.ACCOUNT_ID), ignoredUserRepository));
+    }
+
+    @TearDown
+    public void tearDown() {
+        TaskScheduler.shutdownAllTasks();
+    }
+
+    @Benchmark
+    public boolean canStatusBeUsed() {
+        return tweetFilter.canStatusBeUsed(statuses.get(index++ & 1023));
+    }
+}
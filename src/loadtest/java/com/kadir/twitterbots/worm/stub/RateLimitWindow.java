@@ -0,0 +1,45 @@
+package com.kadir.twitterbots.worm.stub;
+
+import com.sun.net.httpserver.Headers;
+
+/**
+ * Fixed rate limit window of one endpoint, as Twitter reports it in x-rate-limit headers.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+class RateLimitWindow {
+    private final int limit;
+    private final long windowMillis;
+    private int remaining;
+    private long resetAtMillis;
+
+    RateLimitWindow(int limit, long windowMillis) {
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.remaining = limit;
+        this.resetAtMillis = System.currentTimeMillis() + windowMillis;
+    }
+
+    /**
+     * @return false if the window is exhausted
+     */
+    synchronized boolean tryAcquire(long now) {
+        if (now >= resetAtMillis) {
+            remaining = limit;
+            resetAtMillis = now + windowMillis;
+        }
+        if (remaining == 0) {
+            return false;
+        }
+        remaining--;
+        return true;
+    }
+
+    synchronized void writeHeaders(Headers headers) {
+        headers.set("x-rate-limit-limit", Integer.toString(limit));
+        headers.set("x-rate-limit-remaining", Integer.toString(remaining));
+        headers.set("x-rate-limit-reset", Long.toString(resetAtMillis / 1000));
+    }
+}
@@ -0,0 +1,97 @@
+package com.kadir.twitterbots.worm.stub;
+
+import twitter4j.JSONArray;
+import twitter4j.JSONObject;
+import twitter4j.Status;
+import twitter4j.User;
+import twitter4j.UserMentionEntity;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Renders statuses and users in the json format of Twitter api v1.1, with the fields twitter4j reads.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+final class StubJson {
+    private static final String DATE_PATTERN = "EEE MMM dd HH:mm:ss Z yyyy";
+
+    private StubJson() {
+    }
+
+    static JSONObject status(Status status) {
+        JSONObject json = new JSONObject()
+                .put("created_at", date(status.getCreatedAt()))
+                .put("id", status.getId())
+                .put("id_str", Long.toString(status.getId()))
+                .put("text", status.getText())
+                .put("source", "<a href=\"https://github.com/akadir\" rel=\"nofollow\">worm stub</a>")
+                .put("truncated", false)
+                .put("in_reply_to_status_id", status.getInReplyToStatusId() > 0 ? status.getInReplyToStatusId() : JSONObject.NULL)
+                .put("user", user(status.getUser()))
+                .put("is_quote_status", status.getQuotedStatus() != null)
+                .put("retweet_count", status.getRetweetCount())
+                .put("favorite_count", status.getFavoriteCount())
+                .put("entities", entities(status))
+                .put("favorited", false)
+                .put("retweeted", false)
+                .put("lang", status.getLang());
+
+        if (status.getRetweetedStatus() != null) {
+            json.put("retweeted_status", status(status.getRetweetedStatus()));
+        }
+        if (status.getQuotedStatus() != null) {
+            json.put("quoted_status_id", status.getQuotedStatus().getId());
+            json.put("quoted_status_id_str", Long.toString(status.getQuotedStatus().getId()));
+            json.put("quoted_status", status(status.getQuotedStatus()));
+        }
+        return json;
+    }
+
+    static JSONObject user(User user) {
+        return new JSONObject()
+                .put("id", user.getId())
+                .put("id_str", Long.toString(user.getId()))
+                .put("name", user.getName())
+                .put("screen_name", user.getScreenName())
+                .put("location", user.getLocation())
+                .put("description", user.getDescription())
+                .put("protected", false)
+                .put("verified", user.isVerified())
+                .put("followers_count", user.getFollowersCount())
+                .put("friends_count", user.getFriendsCount())
+                .put("statuses_count", user.getStatusesCount())
+                .put("created_at", date(user.getCreatedAt()))
+                .put("lang", user.getLang() == null ? JSONObject.NULL : user.getLang());
+    }
+
+    static JSONObject errors(int code, String message) {
+        return new JSONObject().put("errors", new JSONArray().put(new JSONObject().put("code", code).put("message", message)));
+    }
+
+    private static JSONObject entities(Status status) {
+        JSONArray mentions = new JSONArray();
+        for (UserMentionEntity mention : status.getUserMentionEntities()) {
+            mentions.put(new JSONObject()
+                    .put("id", mention.getId())
+                    .put("id_str", Long.toString(mention.getId()))
+                    .put("screen_name", mention.getScreenName())
+                    .put("name", mention.getName())
+                    .put("indices", new JSONArray().put(mention.getStart()).put(mention.getEnd())));
+        }
+        return new JSONObject()
+                .put("hashtags", new JSONArray())
+                .put("symbols", new JSONArray())
+                .put("urls", new JSONArray())
+                .put("user_mentions", mentions);
+    }
+
+    private static String date(Date date) {
+        SimpleDateFormat format = new SimpleDateFormat(DATE_PATTERN, Locale.ENGLISH);
+        return format.format(date);
+    }
+}
@@ -0,0 +1,435 @@
+package com.kadir.twitterbots.worm.stub;
+
+import com.kadir.twitterbots.worm.workload.SyntheticStatus;
+import com.kadir.twitterbots.worm.workload.SyntheticUser;
+import com.kadir.twitterbots.worm.workload.WorkloadGenerator;
+import com.kadir.twitterbots.worm.workload.WorkloadProfile;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.JSONArray;
+import twitter4j.JSONObject;
+import twitter4j.Status;
+import twitter4j.User;
+import twitter4j.UserMentionEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Twitter api v1.1 endpoints worm calls, serving statuses and users of a
+ * {@link WorkloadGenerator}. Every endpoint has its own rate limit window and answers with x-rate-limit headers, and
+ * 429 with error code 88 once the window is exhausted. Latency and over capacity errors can be injected.
+ * <p>
+ * Point worm at it with twitterApiBaseUrl property, e.g. {@code twitterApiBaseUrl=http://127.0.0.1:8089/}. Properties:
+ * stubHost, stubPort, stubLatencyMillis, stubLatencyJitterMillis, stubErrorRate, stubRateLimitWindowSeconds,
+ * stubRateLimitPercent, stubSearchPages, stubBlockedUserCount and the workload properties of {@link WorkloadProfile}.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class TwitterApiStub {
+    private static final Logger logger = LoggerFactory.getLogger(TwitterApiStub.class);
+
+    private static final String API_PREFIX = "/1.1/";
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final long ACCOUNT_ID = 42L;
+    private static final int POSTED_STATUSES_TO_KEEP = 200;
+    private static final long UPDATE_WINDOW_MILLIS = TimeUnit.HOURS.toMillis(3);
+    private static final int UPDATE_LIMIT = 300;
+    private static final int PAGE_BITS = 10;
+    private static final long PAGE_MASK = (1L << PAGE_BITS) - 1;
+
+    private final WorkloadGenerator generator;
+    private final String host;
+    private final int port;
+    private final int latencyMillis;
+    private final int latencyJitterMillis;
+    private final double errorRate;
+    private final int searchPages;
+    private final long[] blockedUserIds;
+    private final User account;
+    private final Map<String, RateLimitWindow> windows = new HashMap<>();
+    private final RateLimitWindow updateWindow = new RateLimitWindow(UPDATE_LIMIT, UPDATE_WINDOW_MILLIS);
+    private final Map<String, User> usersByScreenName = new HashMap<>();
+    private final Map<Long, User> usersById = new HashMap<>();
+    private final Deque<JSONObject> postedStatuses = new ArrayDeque<>();
+    private final AtomicLong nextPostedStatusId = new AtomicLong(9_000_000_000L);
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    private final AtomicLong injectedErrorCount = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executorService;
+
+    public TwitterApiStub(WorkloadGenerator generator) {
+        this.generator = generator;
+        this.host = System.getProperty("stubHost", "127.0.0.1");
+        this.port = Integer.parseInt(System.getProperty("stubPort", "8089"));
+        this.latencyMillis = Integer.parseInt(System.getProperty("stubLatencyMillis", "40"));
+        this.latencyJitterMillis = Integer.parseInt(System.getProperty("stubLatencyJitterMillis", "60"));
+        this.errorRate = Double.parseDouble(System.getProperty("stubErrorRate", "0"));
+        this.searchPages = (int) Math.min(PAGE_MASK, Integer.parseInt(System.getProperty("stubSearchPages", "10")));
+
+        long windowMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(System.getProperty("stubRateLimitWindowSeconds", "900")));
+        int rateLimitPercent = Integer.parseInt(System.getProperty("stubRateLimitPercent", "100"));
+        addWindow("search/tweets", 180, rateLimitPercent, windowMillis);
+        addWindow("statuses/show", 900, rateLimitPercent, windowMillis);
+        addWindow("statuses/lookup", 900, rateLimitPercent, windowMillis);
+        addWindow("statuses/user_timeline", 900, rateLimitPercent, windowMillis);
+        addWindow("users/show", 900, rateLimitPercent, windowMillis);
+        addWindow("users/lookup", 900, rateLimitPercent, windowMillis);
+        addWindow("blocks/ids", 15, rateLimitPercent, windowMillis);
+        addWindow("account/verify_credentials", 75, rateLimitPercent, windowMillis);
+
+        for (User user : generator.getUsers()) {
+            usersById.put(user.getId(), user);
+            usersByScreenName.put(user.getScreenName().toLowerCase(), user);
+        }
+        int blockedUserCount = Math.min(generator.getUsers().size(), Integer.parseInt(System.getProperty("stubBlockedUserCount", "20")));
+        blockedUserIds = new long[blockedUserCount];
+        for (int i = 0; i < blockedUserCount; i++) {
+            blockedUserIds[i] = generator.getUsers().get(generator.getUsers().size() - 1 - i).getId();
+        }
+        account = new SyntheticUser(ACCOUNT_ID, "worm", "finds popular tweets", "İstanbul", 1000, 100, false, "tr",
+                System.currentTimeMillis() - TimeUnit.DAYS.toMillis(365));
+    }
+
+    public static void main(String[] args) throws IOException {
+        TwitterApiStub stub = new TwitterApiStub(new WorkloadGenerator(WorkloadProfile.fromSystemProperties()));
+        stub.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::stop));
+    }
+
+    public synchronized void start() throws IOException {
+        AtomicInteger threadCount = new AtomicInteger();
+        executorService = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "twitter-api-stub-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext(API_PREFIX, this::handle);
+        server.setExecutor(executorService);
+        server.start();
+        logger.info("serve twitter api stub at {}", getBaseUrl());
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executorService.shutdownNow();
+            server = null;
+            logger.info("twitter api stub stopped. requests: {} | rate limited: {} | injected errors: {}", requestCount.get(),
+                    rateLimitedCount.get(), injectedErrorCount.get());
+        }
+    }
+
+    /**
+     * @return value for twitterApiBaseUrl property
+     */
+    public String getBaseUrl() {
+        return "http://" + host + ":" + (server == null ? port : server.getAddress().getPort()) + "/";
+    }
+
+    private void addWindow(String endpoint, int limit, int percent, long windowMillis) {
+        windows.put(endpoint, new RateLimitWindow(Math.max(1, limit * percent / 100), windowMillis));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requestCount.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            String endpoint = path.substring(API_PREFIX.length()).replaceFirst("\\.json$", "");
+            Map<String, String> parameters = readParameters(exchange);
+            if (endpoint.startsWith("statuses/show/")) {
+                parameters.put("id", endpoint.substring("statuses/show/".length()));
+                endpoint = "statuses/show";
+            }
+            injectLatency();
+
+            RateLimitWindow window = "statuses/update".equals(endpoint) ? updateWindow : windows.get(endpoint);
+            if (window == null) {
+                send(exchange, 404, StubJson.errors(34, "Sorry, that page does not exist."));
+                return;
+            } else if (!window.tryAcquire(System.currentTimeMillis())) {
+                rateLimitedCount.incrementAndGet();
+                writeRateLimitHeaders(exchange, window);
+                send(exchange, 429, StubJson.errors(88, "Rate limit exceeded"));
+                return;
+            }
+            writeRateLimitHeaders(exchange, window);
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrorCount.incrementAndGet();
+                send(exchange, 503, StubJson.errors(130, "Over capacity"));
+                return;
+            }
+
+            route(exchange, endpoint, parameters);
+        } catch (RuntimeException e) {
+            logger.error("stub request failed: {}", exchange.getRequestURI(), e);
+            send(exchange, 500, StubJson.errors(131, "Internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String endpoint, Map<String, String> parameters) throws IOException {
+        switch (endpoint) {
+            case "search/tweets":
+                send(exchange, 200, search(parameters));
+                break;
+            case "statuses/show":
+                JSONObject status = findStatus(Long.parseLong(parameters.get("id")));
+                if (status == null) {
+                    send(exchange, 404, StubJson.errors(144, "No status found with that ID."));
+                } else {
+                    send(exchange, 200, status);
+                }
+                break;
+            case "statuses/lookup":
+                JSONArray statuses = new JSONArray();
+                for (String id : parameters.getOrDefault("id", "").split(",")) {
+                    JSONObject foundStatus = id.isEmpty() ? null : findStatus(Long.parseLong(id));
+                    if (foundStatus != null) {
+                        statuses.put(foundStatus);
+                    }
+                }
+                send(exchange, 200, statuses);
+                break;
+            case "users/show":
+                User user = findUser(parameters.get("user_id"), parameters.get("screen_name"));
+                if (user == null) {
+                    send(exchange, 404, StubJson.errors(50, "User not found."));
+                } else {
+                    send(exchange, 200, StubJson.user(user));
+                }
+                break;
+            case "users/lookup":
+                send(exchange, 200, lookUpUsers(parameters));
+                break;
+            case "blocks/ids":
+                send(exchange, 200, new JSONObject().put("ids", new JSONArray(toList(blockedUserIds)))
+                        .put("next_cursor", 0).put("next_cursor_str", "0").put("previous_cursor", 0).put("previous_cursor_str", "0"));
+                break;
+            case "statuses/user_timeline":
+                send(exchange, 200, userTimeline(Integer.parseInt(parameters.getOrDefault("count", "20"))));
+                break;
+            case "statuses/update":
+                send(exchange, 200, update(parameters));
+                break;
+            case "account/verify_credentials":
+                send(exchange, 200, StubJson.user(account));
+                break;
+            default:
+                send(exchange, 404, StubJson.errors(34, "Sorry, that page does not exist."));
+                break;
+        }
+    }
+
+    /**
+     * Every page is a new slice of the workload stream. The last page of a query chain has no next_results.
+     * <p>
+     * Page number of the next page is kept in the low PAGE_BITS of max_id of next_results, below the oldest status of
+     * the page, so no state is kept for cursors that are abandoned. A max_id the stub did not give, such as one of a
+     * split cursor, starts a new chain.
+     */
+    private JSONObject search(Map<String, String> parameters) {
+        String query = parameters.getOrDefault("q", "");
+        int count = Math.min(100, Integer.parseInt(parameters.getOrDefault("count", "15")));
+        int pageNumber = parameters.containsKey("max_id") ? toPageNumber(Long.parseLong(parameters.get("max_id"))) : 1;
+
+        JSONArray statuses = new JSONArray();
+        long minId = Long.MAX_VALUE;
+        long maxId = 0;
+        long startNanos = System.nanoTime();
+        synchronized (generator) {
+            for (int i = 0; i < count; i++) {
+                Status status = generator.next();
+                statuses.put(StubJson.status(status));
+                minId = Math.min(minId, status.getId());
+                maxId = Math.max(maxId, status.getId());
+            }
+        }
+
+        JSONObject metadata = new JSONObject()
+                .put("completed_in", (System.nanoTime() - startNanos) / 1e9)
+                .put("max_id", maxId)
+                .put("max_id_str", Long.toString(maxId))
+                .put("since_id", 0)
+                .put("since_id_str", "0")
+                .put("query", encode(query))
+                .put("count", count);
+        if (pageNumber < searchPages) {
+            long nextMaxId = ((minId >> PAGE_BITS) - 1) << PAGE_BITS | (pageNumber + 1);
+            metadata.put("next_results", "?max_id=" + nextMaxId + "&q=" + encode(query) + "&count=" + count + "&include_entities=1");
+        }
+        return new JSONObject().put("statuses", statuses).put("search_metadata", metadata);
+    }
+
+    private int toPageNumber(long maxId) {
+        int pageNumber = (int) (maxId & PAGE_MASK);
+        return pageNumber < 2 || pageNumber > searchPages ? 1 : pageNumber;
+    }
+
+    private JSONObject findStatus(long statusId) {
+        synchronized (postedStatuses) {
+            for (JSONObject posted : postedStatuses) {
+                if (posted.getLong("id") == statusId) {
+                    return posted;
+                }
+            }
+        }
+        Status status = generator.lookUp(statusId);
+        return status == null ? null : StubJson.status(status);
+    }
+
+    private User findUser(String userId, String screenName) {
+        if (userId != null) {
+            return Long.parseLong(userId) == ACCOUNT_ID ? account : usersById.get(Long.parseLong(userId));
+        }
+        return screenName == null ? null : usersByScreenName.get(screenName.toLowerCase());
+    }
+
+    private JSONArray lookUpUsers(Map<String, String> parameters) {
+        JSONArray users = new JSONArray();
+        if (parameters.containsKey("user_id")) {
+            for (String userId : parameters.get("user_id").split(",")) {
+                User user = findUser(userId, null);
+                if (user != null) {
+                    users.put(StubJson.user(user));
+                }
+            }
+        } else if (parameters.containsKey("screen_name")) {
+            for (String screenName : parameters.get("screen_name").split(",")) {
+                User user = findUser(null, screenName);
+                if (user != null) {
+                    users.put(StubJson.user(user));
+                }
+            }
+        }
+        return users;
+    }
+
+    private JSONArray userTimeline(int count) {
+        JSONArray timeline = new JSONArray();
+        synchronized (postedStatuses) {
+            Iterator<JSONObject> iterator = postedStatuses.iterator();
+            for (int i = 0; i < count && iterator.hasNext(); i++) {
+                timeline.put(iterator.next());
+            }
+        }
+        return timeline;
+    }
+
+    private JSONObject update(Map<String, String> parameters) {
+        long id = nextPostedStatusId.incrementAndGet();
+        JSONObject posted = StubJson.status(new SyntheticStatus(id, parameters.getOrDefault("status", ""), "tr", account,
+                System.currentTimeMillis(), 0, 0, new UserMentionEntity[0], null, null));
+        if (parameters.containsKey("in_reply_to_status_id")) {
+            posted.put("in_reply_to_status_id", Long.parseLong(parameters.get("in_reply_to_status_id")));
+        }
+
+        synchronized (postedStatuses) {
+            postedStatuses.addFirst(posted);
+            if (postedStatuses.size() > POSTED_STATUSES_TO_KEEP) {
+                postedStatuses.removeLast();
+            }
+        }
+        logger.info("post status {}: {}", id, parameters.get("status"));
+        return posted;
+    }
+
+    private void injectLatency() {
+        int delay = latencyMillis + (latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextInt(latencyJitterMillis + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void writeRateLimitHeaders(HttpExchange exchange, RateLimitWindow window) {
+        if (window != updateWindow) {
+            window.writeHeaders(exchange.getResponseHeaders());
+        }
+    }
+
+    private static Map<String, String> readParameters(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        addParameters(parameters, exchange.getRequestURI().getRawQuery());
+        if ("POST".equals(exchange.getRequestMethod())) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream input = exchange.getRequestBody()) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    body.write(buffer, 0, read);
+                }
+            }
+            addParameters(parameters, new String(body.toByteArray(), StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static void addParameters(Map<String, String> parameters, String query) throws UnsupportedEncodingException {
+        if (query == null || query.isEmpty()) {
+            return;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), "UTF-8"), URLDecoder.decode(pair.substring(separator + 1), "UTF-8"));
+            }
+        }
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Long> toList(long[] values) {
+        List<Long> list = new ArrayList<>(values.length);
+        for (long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    private static void send(HttpExchange exchange, int statusCode, Object json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(statusCode, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
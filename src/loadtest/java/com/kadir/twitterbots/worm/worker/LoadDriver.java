@@ -0,0 +1,164 @@
+package com.kadir.twitterbots.worm.worker;
+
+import com.kadir.twitterbots.worm.dao.InMemoryIgnoredKeywordRepository;
+import com.kadir.twitterbots.worm.dao.Repositories;
+import com.kadir.twitterbots.worm.dao.RepositoryBackend;
+import com.kadir.twitterbots.worm.filter.ContentBasedFilter;
+import com.kadir.twitterbots.worm.filter.InteractionCountFilter;
+import com.kadir.twitterbots.worm.filter.LanguageModels;
+import com.kadir.twitterbots.worm.filter.UserBasedFilter;
+import com.kadir.twitterbots.worm.metrics.MetricsServer;
+import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.workload.LatencyHistogram;
+import com.kadir.twitterbots.worm.workload.OfflineTwitter;
+import com.kadir.twitterbots.worm.workload.WorkloadGenerator;
+import com.kadir.twitterbots.worm.workload.WorkloadProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.Status;
+import twitter4j.Twitter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pushes generated statuses through {@link TweetFilter} and the candidate pool of a {@link TweetFetcher} the way
+ * search results are processed, one page after another, at a target rate. Latency of a status is measured from the
+ * time its page was due, not from when it was processed, so falling behind the target rate shows up in the
+ * percentiles. A target rate of 0 runs as fast as possible to find the throughput ceiling.
+ * <p>
+ * Properties: loadTargetRate (statuses per second), loadPageSize, loadWarmupSeconds, loadDurationSeconds and the
+ * workload properties of {@link WorkloadProfile}.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:58
+ */
+public class LoadDriver {
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+    private static final long ACCOUNT_ID = 42L;
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final WorkloadGenerator generator;
+    private final TweetFetcher tweetFetcher;
+    private final int targetRate;
+    private final int pageSize;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LatencyHistogram serviceTimes = new LatencyHistogram();
+
+    LoadDriver(WorkloadGenerator generator, TweetFetcher tweetFetcher) {
+        this.generator = generator;
+        this.tweetFetcher = tweetFetcher;
+        this.targetRate = Integer.parseInt(System.getProperty("loadTargetRate", "2000"));
+        this.pageSize = Integer.parseInt(System.getProperty("loadPageSize", "100"));
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(System.getProperty("loadWarmupSeconds", "10")));
+        this.durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(System.getProperty("loadDurationSeconds", "60")));
+    }
+
+    public static void main(String[] args) {
+        if (System.getProperty("languageKey") == null) {
+            System.setProperty("languageKey", "tr");
+        }
+        if (System.getProperty("candidateJournalFile") == null) {
+            System.setProperty("candidateJournalFile", "");
+        }
+
+        WorkloadProfile profile = WorkloadProfile.fromSystemProperties();
+        logger.info("workload. {}", profile);
+        WorkloadGenerator generator = new WorkloadGenerator(profile);
+        Twitter twitter = OfflineTwitter.create(ACCOUNT_ID, generator::lookUp);
+
+        Repositories repositories = RepositoryBackend.IN_MEMORY.create();
+        TweetFilter tweetFilter = new TweetFilter();
+        tweetFilter.initForFetch(
+                new ContentBasedFilter(LanguageModels.load(), new InMemoryIgnoredKeywordRepository(
+                        new HashSet<>(Arrays.asList("reklam", "takip", "bahis", "kampanya", "indirim", "çekiliş", "giveaway")), Collections.emptySet())),
+                new UserBasedFilter(twitter, repositories.getIgnoredUserRepository()));
+        TweetFetcher tweetFetcher = new TweetFetcher(twitter, tweetFilter, repositories.getStatusRepository());
+
+        MetricsServer.startIfEnabled();
+        try {
+            new LoadDriver(generator, tweetFetcher).run();
+        } finally {
+            MetricsServer.stop();
+            TaskScheduler.shutdownAllTasks();
+        }
+    }
+
+    void run() {
+        long periodNanos = targetRate > 0 ? TimeUnit.SECONDS.toNanos(pageSize) / targetRate : 0;
+        logger.info("start load. target rate: {}/s | page size: {} | warmup: {} s | duration: {} s", targetRate == 0 ? "max" : targetRate,
+                pageSize, TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+
+        Status[] page = new Status[pageSize];
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + warmupNanos;
+        long endNanos = measureStartNanos + durationNanos;
+        long nextReportNanos = startNanos + REPORT_INTERVAL_NANOS;
+        long dueNanos = startNanos;
+        long measuredCount = 0;
+        long intervalCount = 0;
+        long intervalStartNanos = startNanos;
+
+        while (true) {
+            for (int i = 0; i < pageSize; i++) {
+                page[i] = generator.next();
+            }
+
+            long now = System.nanoTime();
+            if (periodNanos > 0 && dueNanos > now) {
+                LockSupport.parkNanos(dueNanos - now);
+                now = System.nanoTime();
+            }
+            if (now >= endNanos) {
+                break;
+            }
+
+            long pageDueNanos = periodNanos > 0 ? dueNanos : now;
+            boolean isMeasured = pageDueNanos >= measureStartNanos;
+            for (Status status : page) {
+                long serviceStartNanos = System.nanoTime();
+                tweetFetcher.checkStatus(status);
+                long serviceEndNanos = System.nanoTime();
+                if (isMeasured) {
+                    serviceTimes.record(serviceEndNanos - serviceStartNanos);
+                    latencies.record(serviceEndNanos - pageDueNanos);
+                }
+            }
+            if (isMeasured) {
+                measuredCount += pageSize;
+            }
+            intervalCount += pageSize;
+            dueNanos += periodNanos;
+
+            long pageEndNanos = System.nanoTime();
+            if (pageEndNanos >= nextReportNanos) {
+                logger.info("{} statuses/s | pool size: {} | min interaction count: {} | behind schedule: {} ms",
+                        intervalCount * TimeUnit.SECONDS.toNanos(1) / (pageEndNanos - intervalStartNanos), tweetFetcher.getCandidatePool().size(),
+                        InteractionCountFilter.getMinInteractionCount(), periodNanos > 0 ? TimeUnit.NANOSECONDS.toMillis(Math.max(0, pageEndNanos - dueNanos)) : 0);
+                intervalCount = 0;
+                intervalStartNanos = pageEndNanos;
+                nextReportNanos = pageEndNanos + REPORT_INTERVAL_NANOS;
+            }
+        }
+
+        report(measuredCount, System.nanoTime() - measureStartNanos);
+    }
+
+    private void report(long measuredCount, long measuredNanos) {
+        double throughput = measuredCount * (double) TimeUnit.SECONDS.toNanos(1) / measuredNanos;
+        double capacity = serviceTimes.getMeanNanos() == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / serviceTimes.getMeanNanos();
+        logger.info("finish load. statuses: {} | throughput: {}/s | capacity by service time: {}/s | pool size: {}", measuredCount,
+                String.format("%.0f", throughput), String.format("%.0f", capacity), tweetFetcher.getCandidatePool().size());
+        logger.info("latency from due time. {}", latencies.summary(TimeUnit.MICROSECONDS));
+        logger.info("service time. {}", serviceTimes.summary(TimeUnit.MICROSECONDS));
+        if (targetRate > 0 && throughput < targetRate * 0.99) {
+            logger.warn("target rate {}/s is not sustained, throughput ceiling is about {}/s", targetRate, String.format("%.0f", throughput));
+        }
+    }
+}
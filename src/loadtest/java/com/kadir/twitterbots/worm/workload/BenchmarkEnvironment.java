@@ -0,0 +1,23 @@
+package com.kadir.twitterbots.worm.workload;
+
+/**
+ * Properties workers read at construction, set to values that need neither network nor files.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:08
+ */
+public class BenchmarkEnvironment {
+    public static final long ACCOUNT_ID = 42L;
+    public static final long CORPUS_SEED = 20261019L;
+
+    private BenchmarkEnvironment() {
+    }
+
+    public static void setUp() {
+        System.setProperty("languageKey", "tr");
+        System.setProperty("languageProfileSnapshotFile", "");
+        System.setProperty("candidateJournalFile", "");
+        System.setProperty("ignoredUserWriteFlushSeconds", "3600");
+    }
+}
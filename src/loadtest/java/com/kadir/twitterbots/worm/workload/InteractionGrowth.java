@@ -0,0 +1,62 @@
+package com.kadir.twitterbots.worm.workload;
+
+/**
+ * Shape of the interaction count of a status from the moment it is posted until it reaches its peak.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:40
+ */
+public enum InteractionGrowth {
+    /**
+     * Same number of interactions every minute.
+     */
+    LINEAR {
+        @Override
+        double share(double progress) {
+            return progress;
+        }
+    },
+    /**
+     * Slow start, then most interactions right before the peak, like a status picked up late by a large account.
+     */
+    EXPONENTIAL {
+        @Override
+        double share(double progress) {
+            return Math.expm1(5 * progress) / Math.expm1(5);
+        }
+    },
+    /**
+     * Slow start, viral middle and saturation, the usual shape of a popular status.
+     */
+    LOGISTIC {
+        @Override
+        double share(double progress) {
+            double low = logistic(0);
+            return (logistic(progress) - low) / (logistic(1) - low);
+        }
+
+        private double logistic(double progress) {
+            return 1 / (1 + Math.exp(-10 * (progress - 0.5)));
+        }
+    },
+    /**
+     * Most interactions right after posting, then a long tail.
+     */
+    SATURATING {
+        @Override
+        double share(double progress) {
+            return Math.sqrt(progress);
+        }
+    };
+
+    /**
+     * @param progress time since posting divided by time to peak, clamped into [0, 1]
+     * @return share of the peak count reached at that time
+     */
+    abstract double share(double progress);
+
+    public int countAt(int peakCount, double progress) {
+        return (int) Math.round(peakCount * share(Math.max(0, Math.min(1, progress))));
+    }
+}
@@ -0,0 +1,86 @@
+package com.kadir.twitterbots.worm.workload;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed memory histogram of latencies in nanoseconds. Values below 64 are counted exactly, every power of two range
+ * above is split into 32 buckets, so a reported percentile is at most about 3% above the recorded value.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:55
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT];
+    private long totalCount;
+    private long maxNanos;
+    private long sumNanos;
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        totalCount++;
+        sumNanos += value;
+        maxNanos = Math.max(maxNanos, value);
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getMeanNanos() {
+        return totalCount == 0 ? 0 : (double) sumNanos / totalCount;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return upper bound of the bucket the percentile falls into
+     */
+    public long getPercentileNanos(double percentile) {
+        long rank = (long) Math.ceil(totalCount * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(maxNanos, upperBoundOf(i));
+            }
+        }
+        return maxNanos;
+    }
+
+    public String summary(TimeUnit unit) {
+        String unitName = unit.name().toLowerCase();
+        return "count: " + totalCount + " | mean: " + format(getMeanNanos(), unit) + " | p50: " + format(getPercentileNanos(50), unit) +
+                " | p90: " + format(getPercentileNanos(90), unit) + " | p99: " + format(getPercentileNanos(99), unit) +
+                " | p99.9: " + format(getPercentileNanos(99.9), unit) + " | max: " + format(maxNanos, unit) + " (" + unitName + ")";
+    }
+
+    private static String format(double nanos, TimeUnit unit) {
+        return String.format("%.3f", nanos / unit.toNanos(1));
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> magnitude) - SUB_BUCKET_COUNT / 2;
+        return magnitude * SUB_BUCKET_COUNT / 2 + SUB_BUCKET_COUNT / 2 + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int magnitude = (bucket - SUB_BUCKET_COUNT / 2) / (SUB_BUCKET_COUNT / 2);
+        int subBucket = (bucket - SUB_BUCKET_COUNT / 2) % (SUB_BUCKET_COUNT / 2);
+        return ((long) (subBucket + SUB_BUCKET_COUNT / 2 + 1) << magnitude) - 1;
+    }
+}
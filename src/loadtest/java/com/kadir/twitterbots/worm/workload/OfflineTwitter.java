@@ -0,0 +1,45 @@
+package com.kadir.twitterbots.worm.workload;
+
+import twitter4j.Status;
+import twitter4j.Twitter;
+
+import java.lang.reflect.Proxy;
+import java.util.function.LongFunction;
+
+/**
+ * {@link Twitter} that knows only its own account id, so workers can be created without network. Any api call fails,
+ * except status lookups when a lookup function is given.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:06
+ */
+public class OfflineTwitter {
+    private OfflineTwitter() {
+    }
+
+    public static Twitter create(long accountId) {
+        return create(accountId, statusId -> {
+            throw new UnsupportedOperationException("offline twitter does not call showStatus");
+        });
+    }
+
+    public static Twitter create(long accountId, LongFunction<Status> statusLookup) {
+        return (Twitter) Proxy.newProxyInstance(Twitter.class.getClassLoader(), new Class<?>[]{Twitter.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getId":
+                    return accountId;
+                case "showStatus":
+                    return statusLookup.apply((Long) args[0]);
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "OfflineTwitter(" + accountId + ")";
+                default:
+                    throw new UnsupportedOperationException("offline twitter does not call " + method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.kadir.twitterbots.worm.workload;
+
+import twitter4j.Status;
+import twitter4j.User;
+import twitter4j.UserMentionEntity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible corpus of synthetic statuses created today: a mix of turkish, english, german and spanish texts with
+ * mentions, hashtags, links and emoji, written by a fixed set of authors. The same seed always gives the same corpus.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 22:50
+ */
+public class StatusCorpus {
+    private static final String[][] SENTENCES = {
+            {"tr", "Bugün hava çok güzel, sahilde uzun bir yürüyüş yaptık ve akşam yemeğini dışarıda yedik."},
+            {"tr", "Yarın sabah erkenden yola çıkacağız, herkesin hazırlıklarını bu akşam bitirmesi gerekiyor."},
+            {"tr", "Kitabın son bölümünü okurken gözlerim doldu, yazarın anlatımı gerçekten çok etkileyici."},
+            {"tr", "Maçın son dakikasında gelen golle takımımız ligde liderliği yeniden ele geçirdi."},
+            {"tr", "Belediyenin yeni otobüs hatları sayesinde işe gidiş süresi yarı yarıya kısaldı."},
+            {"en", "The new update finally fixed the battery issue, my phone lasts the whole day again."},
+            {"en", "We spent the whole weekend hiking in the mountains and the view from the top was worth it."},
+            {"en", "Can anyone recommend a good book about the history of the ottoman empire for beginners?"},
+            {"de", "Heute habe ich endlich meinen Führerschein bestanden und bin mit dem Auto zur Arbeit gefahren."},
+            {"es", "Mañana empieza el festival de cine y ya tenemos las entradas para la película de apertura."}
+    };
+    private static final String[] EMOJIS = {"😂", "🔥", "❤️", "👏", "🙏"};
+    private static final String[] HASHTAGS = {"#gündem", "#futbol", "#kitap", "#news", "#travel"};
+
+    private final List<Status> statuses;
+    private final List<User> users;
+
+    public StatusCorpus(long seed, int statusCount, int userCount) {
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+
+        users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new SyntheticUser(1_000_000L + i, "user" + i, random.nextInt(50) == 0 ? "parody account" : "writes about things",
+                    "İstanbul", 100 + random.nextInt(150_000), 20 + random.nextInt(3000), random.nextInt(20) == 0, "tr", now - 86_400_000L * 365));
+        }
+
+        statuses = new ArrayList<>(statusCount);
+        for (int i = 0; i < statusCount; i++) {
+            User user = users.get(random.nextInt(userCount));
+            String[] sentence = SENTENCES[random.nextInt(SENTENCES.length)];
+            StringBuilder text = new StringBuilder();
+            List<UserMentionEntity> mentions = new ArrayList<>();
+            if (random.nextInt(4) == 0) {
+                User mentioned = users.get(random.nextInt(userCount));
+                mentions.add(new SyntheticUserMentionEntity(mentioned.getId(), mentioned.getScreenName(), 0));
+                text.append('@').append(mentioned.getScreenName()).append(' ');
+            }
+            text.append(sentence[1]);
+            if (random.nextInt(3) == 0) {
+                text.append(' ').append(EMOJIS[random.nextInt(EMOJIS.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                text.append(' ').append(HASHTAGS[random.nextInt(HASHTAGS.length)]);
+            }
+            if (random.nextInt(2) == 0) {
+                text.append(" https://t.co/").append(Long.toString(random.nextLong() & Long.MAX_VALUE, 36), 0, 10);
+            }
+
+            int favoriteCount = 500 + random.nextInt(20_000);
+            int retweetCount = favoriteCount / (2 + random.nextInt(8));
+            statuses.add(new SyntheticStatus(2_000_000_000L + i, text.toString(), sentence[0], user, now - random.nextInt(3_600_000),
+                    favoriteCount, retweetCount, mentions.toArray(new UserMentionEntity[0]), null, null));
+        }
+    }
+
+    public List<Status> getStatuses() {
+        return Collections.unmodifiableList(statuses);
+    }
+
+    public List<User> getUsers() {
+        return Collections.unmodifiableList(users);
+    }
+}
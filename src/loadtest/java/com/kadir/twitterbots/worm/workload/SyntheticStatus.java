@@ -0,0 +1,244 @@
+package com.kadir.twitterbots.worm.workload;
+
+import twitter4j.GeoLocation;
+import twitter4j.HashtagEntity;
+import twitter4j.MediaEntity;
+import twitter4j.Place;
+import twitter4j.RateLimitStatus;
+import twitter4j.Scopes;
+import twitter4j.Status;
+import twitter4j.SymbolEntity;
+import twitter4j.TwitterResponse;
+import twitter4j.URLEntity;
+import twitter4j.User;
+import twitter4j.UserMentionEntity;
+
+import java.util.Date;
+
+/**
+ * In-memory {@link Status} with the fields worm reads; the rest return empty values.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 22:45
+ */
+public class SyntheticStatus implements Status {
+    private static final long serialVersionUID = 1L;
+
+    private final long id;
+    private final String text;
+    private final String lang;
+    private final User user;
+    private final long createdAt;
+    private final int favoriteCount;
+    private final int retweetCount;
+    private final UserMentionEntity[] userMentionEntities;
+    private final Status retweetedStatus;
+    private final Status quotedStatus;
+
+    public SyntheticStatus(long id, String text, String lang, User user, long createdAt, int favoriteCount, int retweetCount,
+                           UserMentionEntity[] userMentionEntities, Status retweetedStatus, Status quotedStatus) {
+        this.id = id;
+        this.text = text;
+        this.lang = lang;
+        this.user = user;
+        this.createdAt = createdAt;
+        this.favoriteCount = favoriteCount;
+        this.retweetCount = retweetCount;
+        this.userMentionEntities = userMentionEntities;
+        this.retweetedStatus = retweetedStatus;
+        this.quotedStatus = quotedStatus;
+    }
+
+    /**
+     * @return the same status with new interaction counts, as it would be returned by a later search
+     */
+    public SyntheticStatus withCounts(int favoriteCount, int retweetCount) {
+        return new SyntheticStatus(id, text, lang, user, createdAt, favoriteCount, retweetCount, userMentionEntities, retweetedStatus, quotedStatus);
+    }
+
+    @Override
+    public Date getCreatedAt() {
+        return new Date(createdAt);
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public int getDisplayTextRangeStart() {
+        return 0;
+    }
+
+    @Override
+    public int getDisplayTextRangeEnd() {
+        return text.length();
+    }
+
+    @Override
+    public String getSource() {
+        return null;
+    }
+
+    @Override
+    public boolean isTruncated() {
+        return false;
+    }
+
+    @Override
+    public long getInReplyToStatusId() {
+        return -1;
+    }
+
+    @Override
+    public long getInReplyToUserId() {
+        return -1;
+    }
+
+    @Override
+    public String getInReplyToScreenName() {
+        return null;
+    }
+
+    @Override
+    public GeoLocation getGeoLocation() {
+        return null;
+    }
+
+    @Override
+    public Place getPlace() {
+        return null;
+    }
+
+    @Override
+    public boolean isFavorited() {
+        return false;
+    }
+
+    @Override
+    public boolean isRetweeted() {
+        return false;
+    }
+
+    @Override
+    public int getFavoriteCount() {
+        return favoriteCount;
+    }
+
+    @Override
+    public User getUser() {
+        return user;
+    }
+
+    @Override
+    public boolean isRetweet() {
+        return retweetedStatus != null;
+    }
+
+    @Override
+    public Status getRetweetedStatus() {
+        return retweetedStatus;
+    }
+
+    @Override
+    public long[] getContributors() {
+        return new long[0];
+    }
+
+    @Override
+    public int getRetweetCount() {
+        return retweetCount;
+    }
+
+    @Override
+    public boolean isRetweetedByMe() {
+        return false;
+    }
+
+    @Override
+    public long getCurrentUserRetweetId() {
+        return -1;
+    }
+
+    @Override
+    public boolean isPossiblySensitive() {
+        return false;
+    }
+
+    @Override
+    public String getLang() {
+        return lang;
+    }
+
+    @Override
+    public Scopes getScopes() {
+        return null;
+    }
+
+    @Override
+    public String[] getWithheldInCountries() {
+        return new String[0];
+    }
+
+    @Override
+    public long getQuotedStatusId() {
+        return quotedStatus == null ? -1 : quotedStatus.getId();
+    }
+
+    @Override
+    public Status getQuotedStatus() {
+        return quotedStatus;
+    }
+
+    @Override
+    public URLEntity getQuotedStatusPermalink() {
+        return null;
+    }
+
+    @Override
+    public UserMentionEntity[] getUserMentionEntities() {
+        return userMentionEntities;
+    }
+
+    @Override
+    public URLEntity[] getURLEntities() {
+        return new URLEntity[0];
+    }
+
+    @Override
+    public HashtagEntity[] getHashtagEntities() {
+        return new HashtagEntity[0];
+    }
+
+    @Override
+    public MediaEntity[] getMediaEntities() {
+        return new MediaEntity[0];
+    }
+
+    @Override
+    public SymbolEntity[] getSymbolEntities() {
+        return new SymbolEntity[0];
+    }
+
+    @Override
+    public RateLimitStatus getRateLimitStatus() {
+        return null;
+    }
+
+    @Override
+    public int getAccessLevel() {
+        return TwitterResponse.READ;
+    }
+
+    @Override
+    public int compareTo(Status other) {
+        return Long.compare(id, other.getId());
+    }
+}
@@ -0,0 +1,343 @@
+package com.kadir.twitterbots.worm.workload;
+
+import twitter4j.RateLimitStatus;
+import twitter4j.Status;
+import twitter4j.TwitterResponse;
+import twitter4j.URLEntity;
+import twitter4j.User;
+
+import java.util.Date;
+
+/**
+ * In-memory {@link User} with the fields filters read; the rest return empty values.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 22:42
+ */
+public class SyntheticUser implements User {
+    private static final long serialVersionUID = 1L;
+
+    private final long id;
+    private final String screenName;
+    private final String description;
+    private final String location;
+    private final int followersCount;
+    private final int friendsCount;
+    private final boolean isVerified;
+    private final String lang;
+    private final long createdAt;
+
+    public SyntheticUser(long id, String screenName, String description, String location, int followersCount, int friendsCount,
+                         boolean isVerified, String lang, long createdAt) {
+        this.id = id;
+        this.screenName = screenName;
+        this.description = description;
+        this.location = location;
+        this.followersCount = followersCount;
+        this.friendsCount = friendsCount;
+        this.isVerified = isVerified;
+        this.lang = lang;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return screenName;
+    }
+
+    @Override
+    public String getEmail() {
+        return null;
+    }
+
+    @Override
+    public String getScreenName() {
+        return screenName;
+    }
+
+    @Override
+    public String getLocation() {
+        return location;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public boolean isContributorsEnabled() {
+        return false;
+    }
+
+    @Override
+    public String getProfileImageURL() {
+        return null;
+    }
+
+    @Override
+    public String getBiggerProfileImageURL() {
+        return null;
+    }
+
+    @Override
+    public String getMiniProfileImageURL() {
+        return null;
+    }
+
+    @Override
+    public String getOriginalProfileImageURL() {
+        return null;
+    }
+
+    @Override
+    public String get400x400ProfileImageURL() {
+        return null;
+    }
+
+    @Override
+    public String getProfileImageURLHttps() {
+        return null;
+    }
+
+    @Override
+    public String getBiggerProfileImageURLHttps() {
+        return null;
+    }
+
+    @Override
+    public String getMiniProfileImageURLHttps() {
+        return null;
+    }
+
+    @Override
+    public String getOriginalProfileImageURLHttps() {
+        return null;
+    }
+
+    @Override
+    public String get400x400ProfileImageURLHttps() {
+        return null;
+    }
+
+    @Override
+    public boolean isDefaultProfileImage() {
+        return false;
+    }
+
+    @Override
+    public String getURL() {
+        return null;
+    }
+
+    @Override
+    public boolean isProtected() {
+        return false;
+    }
+
+    @Override
+    public int getFollowersCount() {
+        return followersCount;
+    }
+
+    @Override
+    public Status getStatus() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBackgroundColor() {
+        return null;
+    }
+
+    @Override
+    public String getProfileTextColor() {
+        return null;
+    }
+
+    @Override
+    public String getProfileLinkColor() {
+        return null;
+    }
+
+    @Override
+    public String getProfileSidebarFillColor() {
+        return null;
+    }
+
+    @Override
+    public String getProfileSidebarBorderColor() {
+        return null;
+    }
+
+    @Override
+    public boolean isProfileUseBackgroundImage() {
+        return false;
+    }
+
+    @Override
+    public boolean isDefaultProfile() {
+        return false;
+    }
+
+    @Override
+    public boolean isShowAllInlineMedia() {
+        return false;
+    }
+
+    @Override
+    public int getFriendsCount() {
+        return friendsCount;
+    }
+
+    @Override
+    public Date getCreatedAt() {
+        return new Date(createdAt);
+    }
+
+    @Override
+    public int getFavouritesCount() {
+        return 0;
+    }
+
+    @Override
+    public int getUtcOffset() {
+        return 0;
+    }
+
+    @Override
+    public String getTimeZone() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBackgroundImageURL() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBackgroundImageUrlHttps() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBannerURL() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBannerRetinaURL() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBannerIPadURL() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBannerIPadRetinaURL() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBannerMobileURL() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBannerMobileRetinaURL() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBanner300x100URL() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBanner600x200URL() {
+        return null;
+    }
+
+    @Override
+    public String getProfileBanner1500x500URL() {
+        return null;
+    }
+
+    @Override
+    public boolean isProfileBackgroundTiled() {
+        return false;
+    }
+
+    @Override
+    public String getLang() {
+        return lang;
+    }
+
+    @Override
+    public int getStatusesCount() {
+        return 0;
+    }
+
+    @Override
+    public boolean isGeoEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isVerified() {
+        return isVerified;
+    }
+
+    @Override
+    public boolean isTranslator() {
+        return false;
+    }
+
+    @Override
+    public int getListedCount() {
+        return 0;
+    }
+
+    @Override
+    public boolean isFollowRequestSent() {
+        return false;
+    }
+
+    @Override
+    public URLEntity[] getDescriptionURLEntities() {
+        return new URLEntity[0];
+    }
+
+    @Override
+    public URLEntity getURLEntity() {
+        return null;
+    }
+
+    @Override
+    public String[] getWithheldInCountries() {
+        return new String[0];
+    }
+
+    @Override
+    public RateLimitStatus getRateLimitStatus() {
+        return null;
+    }
+
+    @Override
+    public int getAccessLevel() {
+        return TwitterResponse.READ;
+    }
+
+    @Override
+    public int compareTo(User other) {
+        return Long.compare(id, other.getId());
+    }
+}
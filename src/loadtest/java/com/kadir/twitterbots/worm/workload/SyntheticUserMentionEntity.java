@@ -0,0 +1,52 @@
+package com.kadir.twitterbots.worm.workload;
+
+import twitter4j.UserMentionEntity;
+
+/**
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 22:40
+ */
+public class SyntheticUserMentionEntity implements UserMentionEntity {
+    private static final long serialVersionUID = 1L;
+
+    private final long id;
+    private final String screenName;
+    private final int start;
+
+    public SyntheticUserMentionEntity(long id, String screenName, int start) {
+        this.id = id;
+        this.screenName = screenName;
+        this.start = start;
+    }
+
+    @Override
+    public String getText() {
+        return screenName;
+    }
+
+    @Override
+    public String getName() {
+        return screenName;
+    }
+
+    @Override
+    public String getScreenName() {
+        return screenName;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public int getStart() {
+        return start;
+    }
+
+    @Override
+    public int getEnd() {
+        return start + screenName.length() + 1;
+    }
+}
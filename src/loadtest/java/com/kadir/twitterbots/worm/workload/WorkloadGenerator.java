@@ -0,0 +1,220 @@
+package com.kadir.twitterbots.worm.workload;
+
+import twitter4j.Status;
+import twitter4j.User;
+import twitter4j.UserMentionEntity;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Endless stream of statuses as search returns them: retweets and quotes of a fixed set of original statuses plus
+ * statuses nobody interacts with. Originals are picked by a Zipf distribution, so a few of them are seen again and
+ * again, and their interaction counts grow by {@link InteractionGrowth} towards a heavy tailed peak while the stream
+ * runs. Time passes {@link WorkloadProfile#getTimeScale()} times faster for the interaction counts than on the clock.
+ * <p>
+ * {@link #next()} must be called from one thread, {@link #lookUp(long)} is thread safe.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:50
+ */
+public class WorkloadGenerator {
+    private static final long FIRST_USER_ID = 1_000_000L;
+    private static final long FIRST_ORIGINAL_ID = 1_000_000_000L;
+    private static final long FIRST_STREAM_ID = 2_000_000_000L;
+    private static final double PEAK_PARETO_ALPHA = 1.16;
+    private static final int MIN_PEAK_COUNT = 10;
+
+    private static final Map<String, String[]> WORDS = new HashMap<>();
+    private static final String[] EMOJIS = {"😂", "🔥", "❤️", "👏", "🙏", "😍", "🤔", "👀", "💯", "😭"};
+    private static final String[] HASHTAGS = {"#gündem", "#futbol", "#kitap", "#news", "#travel", "#sondakika", "#müzik"};
+
+    static {
+        WORDS.put("tr", new String[]{"bugün", "hava", "çok", "güzel", "ve", "bir", "yarın", "sabah", "akşam", "maç", "takım",
+                "gol", "kitap", "okurken", "gerçekten", "herkes", "için", "yeni", "belediye", "otobüs", "yol", "işe", "giderken",
+                "sonunda", "haber", "ülke", "şehir", "insanlar", "düşünüyorum", "olmuş", "değil", "neden", "böyle"});
+        WORDS.put("en", new String[]{"the", "new", "update", "finally", "fixed", "my", "phone", "whole", "weekend", "hiking",
+                "mountains", "view", "from", "top", "was", "worth", "it", "can", "anyone", "recommend", "good", "book", "about",
+                "history", "people", "today", "really", "think", "why", "this", "is", "not"});
+        WORDS.put("de", new String[]{"heute", "habe", "ich", "endlich", "meinen", "Führerschein", "bestanden", "und", "bin",
+                "mit", "dem", "Auto", "zur", "Arbeit", "gefahren", "morgen", "wieder", "schön", "wirklich", "nicht", "warum"});
+        WORDS.put("es", new String[]{"mañana", "empieza", "el", "festival", "de", "cine", "ya", "tenemos", "las", "entradas",
+                "para", "la", "película", "apertura", "hoy", "muy", "bonito", "gente", "por", "qué", "no", "es"});
+    }
+
+    private final WorkloadProfile profile;
+    private final Random random;
+    private final ZipfSampler authorSampler;
+    private final ZipfSampler originalSampler;
+    private final String[] languages;
+    private final int[] cumulativeLanguageWeights;
+    private final List<User> users;
+    private final SyntheticStatus[] originals;
+    private final int[] peakCounts;
+    private final double[] retweetShares;
+    private final long[] postedAtSimulatedMillis;
+    private final long startNanos;
+    private final long startOfToday;
+    private long nextStreamId = FIRST_STREAM_ID;
+
+    public WorkloadGenerator(WorkloadProfile profile) {
+        this.profile = profile;
+        this.random = new Random(profile.getSeed());
+        this.authorSampler = new ZipfSampler(profile.getAuthorCount(), profile.getAuthorZipfExponent());
+        this.originalSampler = new ZipfSampler(profile.getOriginalCount(), profile.getOriginalZipfExponent());
+        this.startOfToday = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        languages = new String[profile.getLanguageMix().size()];
+        cumulativeLanguageWeights = new int[languages.length];
+        int weight = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : profile.getLanguageMix().entrySet()) {
+            if (!WORDS.containsKey(entry.getKey())) {
+                throw new IllegalArgumentException("no words for language: " + entry.getKey() + ", known: " + WORDS.keySet());
+            }
+            weight += entry.getValue();
+            languages[i] = entry.getKey();
+            cumulativeLanguageWeights[i++] = weight;
+        }
+
+        users = createUsers();
+
+        originals = new SyntheticStatus[profile.getOriginalCount()];
+        peakCounts = new int[originals.length];
+        retweetShares = new double[originals.length];
+        postedAtSimulatedMillis = new long[originals.length];
+        long growthMillis = TimeUnit.MINUTES.toMillis(profile.getGrowthMinutes());
+        for (int j = 0; j < originals.length; j++) {
+            peakCounts[j] = (int) Math.min(profile.getMaxInteractionCount(), MIN_PEAK_COUNT / Math.pow(1 - random.nextDouble(), 1 / PEAK_PARETO_ALPHA));
+            retweetShares[j] = 0.1 + random.nextDouble() * 0.3;
+            postedAtSimulatedMillis[j] = -(long) (random.nextDouble() * growthMillis);
+            originals[j] = createStatus(FIRST_ORIGINAL_ID + j, sampleAuthor(), createdAt(postedAtSimulatedMillis[j]), null, null);
+        }
+
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * @return next status of the stream
+     */
+    public Status next() {
+        double type = random.nextDouble();
+        long simulatedMillis = getSimulatedMillis();
+        long createdAt = createdAt(0);
+        if (type < profile.getRetweetRatio()) {
+            SyntheticStatus original = withCurrentCounts(originalSampler.sample(random), simulatedMillis);
+            String text = "RT @" + original.getUser().getScreenName() + ": " + original.getText();
+            return new SyntheticStatus(nextStreamId++, text, original.getLang(), sampleAuthor(), createdAt, 0, 0,
+                    original.getUserMentionEntities(), original, null);
+        } else if (type < profile.getRetweetRatio() + profile.getQuoteRatio()) {
+            SyntheticStatus original = withCurrentCounts(originalSampler.sample(random), simulatedMillis);
+            return createStatus(nextStreamId++, sampleAuthor(), createdAt, null, original);
+        }
+        return createStatus(nextStreamId++, sampleAuthor(), createdAt, null, null);
+    }
+
+    /**
+     * @return original status with its interaction counts at this moment, null if the id is not an original
+     */
+    public Status lookUp(long statusId) {
+        long index = statusId - FIRST_ORIGINAL_ID;
+        if (index < 0 || index >= originals.length) {
+            return null;
+        }
+        return withCurrentCounts((int) index, getSimulatedMillis());
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    private SyntheticStatus withCurrentCounts(int index, long simulatedMillis) {
+        double progress = (double) (simulatedMillis - postedAtSimulatedMillis[index]) / TimeUnit.MINUTES.toMillis(profile.getGrowthMinutes());
+        int count = profile.getGrowth().countAt(peakCounts[index], progress);
+        int retweetCount = (int) (count * retweetShares[index]);
+        return originals[index].withCounts(count - retweetCount, retweetCount);
+    }
+
+    private long getSimulatedMillis() {
+        return (long) (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) * profile.getTimeScale());
+    }
+
+    /**
+     * Creation times stay in today, otherwise every status of a run started after midnight would be filtered by date.
+     *
+     * @param offsetMillis offset from now, negative for the past
+     */
+    private long createdAt(long offsetMillis) {
+        return Math.max(startOfToday, System.currentTimeMillis() + offsetMillis);
+    }
+
+    private List<User> createUsers() {
+        List<User> createdUsers = new ArrayList<>(profile.getAuthorCount());
+        long createdAt = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(365);
+        for (int i = 0; i < profile.getAuthorCount(); i++) {
+            int followersCount = (int) Math.pow(10, 1 + random.nextDouble() * 5);
+            int friendsCount = (int) Math.pow(10, 0.5 + random.nextDouble() * 3.2);
+            String description = random.nextInt(100) == 0 ? "parody account" : "writes about things";
+            createdUsers.add(new SyntheticUser(FIRST_USER_ID + i, "user" + i, description, "İstanbul", followersCount, friendsCount,
+                    random.nextInt(50) == 0, sampleLanguage(), createdAt));
+        }
+        return createdUsers;
+    }
+
+    private User sampleAuthor() {
+        return users.get(authorSampler.sample(random));
+    }
+
+    private String sampleLanguage() {
+        int value = random.nextInt(cumulativeLanguageWeights[cumulativeLanguageWeights.length - 1]);
+        for (int i = 0; i < cumulativeLanguageWeights.length; i++) {
+            if (value < cumulativeLanguageWeights[i]) {
+                return languages[i];
+            }
+        }
+        return languages[languages.length - 1];
+    }
+
+    private SyntheticStatus createStatus(long id, User author, long createdAt, Status retweetedStatus, Status quotedStatus) {
+        String language = sampleLanguage();
+        String[] words = WORDS.get(language);
+        int length = profile.getMinTextLength() + random.nextInt(profile.getMaxTextLength() - profile.getMinTextLength() + 1);
+        StringBuilder text = new StringBuilder(length + 32);
+        List<UserMentionEntity> mentions = new ArrayList<>(1);
+
+        if (random.nextInt(4) == 0) {
+            User mentioned = sampleAuthor();
+            mentions.add(new SyntheticUserMentionEntity(mentioned.getId(), mentioned.getScreenName(), 0));
+            text.append('@').append(mentioned.getScreenName()).append(' ');
+        }
+
+        String suffix = random.nextDouble() < profile.getUrlRatio()
+                ? " https://t.co/" + Long.toString(random.nextLong() >>> 2 | 1L << 61, 36).substring(0, 10) : "";
+        while (text.length() + suffix.length() < length) {
+            text.append(words[random.nextInt(words.length)]);
+            if (random.nextDouble() < profile.getEmojiDensity()) {
+                text.append(' ').append(EMOJIS[random.nextInt(EMOJIS.length)]);
+            }
+            text.append(' ');
+        }
+        if (random.nextInt(5) == 0) {
+            text.append(HASHTAGS[random.nextInt(HASHTAGS.length)]);
+        }
+        text.append(suffix);
+
+        int end = Math.min(text.length(), profile.getMaxTextLength());
+        if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        String trimmedText = text.substring(0, end).trim();
+        return new SyntheticStatus(id, trimmedText, language, author, createdAt, 0, 0, mentions.toArray(new UserMentionEntity[0]),
+                retweetedStatus, quotedStatus);
+    }
+}
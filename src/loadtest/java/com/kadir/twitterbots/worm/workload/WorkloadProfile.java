@@ -0,0 +1,171 @@
+package com.kadir.twitterbots.worm.workload;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Knobs of {@link WorkloadGenerator}, read from system properties prefixed with workload.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:45
+ */
+public class WorkloadProfile {
+    private long seed;
+    private Map<String, Integer> languageMix;
+    private int minTextLength;
+    private int maxTextLength;
+    private double emojiDensity;
+    private double urlRatio;
+    private double retweetRatio;
+    private double quoteRatio;
+    private int authorCount;
+    private double authorZipfExponent;
+    private int originalCount;
+    private double originalZipfExponent;
+    private InteractionGrowth growth;
+    private int growthMinutes;
+    private int maxInteractionCount;
+    private double timeScale;
+
+    private WorkloadProfile() {
+    }
+
+    public static WorkloadProfile fromSystemProperties() {
+        WorkloadProfile profile = new WorkloadProfile();
+        profile.seed = Long.parseLong(System.getProperty("workloadSeed", "20261019"));
+        profile.languageMix = parseLanguageMix(System.getProperty("workloadLanguageMix", "tr:70,en:20,de:5,es:5"));
+        profile.minTextLength = Integer.parseInt(System.getProperty("workloadMinTextLength", "20"));
+        profile.maxTextLength = Integer.parseInt(System.getProperty("workloadMaxTextLength", "280"));
+        profile.emojiDensity = Double.parseDouble(System.getProperty("workloadEmojiDensity", "0.05"));
+        profile.urlRatio = Double.parseDouble(System.getProperty("workloadUrlRatio", "0.3"));
+        profile.retweetRatio = Double.parseDouble(System.getProperty("workloadRetweetRatio", "0.6"));
+        profile.quoteRatio = Double.parseDouble(System.getProperty("workloadQuoteRatio", "0.15"));
+        profile.authorCount = Integer.parseInt(System.getProperty("workloadAuthorCount", "50000"));
+        profile.authorZipfExponent = Double.parseDouble(System.getProperty("workloadAuthorZipfExponent", "1.1"));
+        profile.originalCount = Integer.parseInt(System.getProperty("workloadOriginalCount", "20000"));
+        profile.originalZipfExponent = Double.parseDouble(System.getProperty("workloadOriginalZipfExponent", "0.9"));
+        profile.growth = InteractionGrowth.valueOf(System.getProperty("workloadGrowth", InteractionGrowth.LOGISTIC.name()));
+        profile.growthMinutes = Integer.parseInt(System.getProperty("workloadGrowthMinutes", "360"));
+        profile.maxInteractionCount = Integer.parseInt(System.getProperty("workloadMaxInteractionCount", "100000"));
+        profile.timeScale = Double.parseDouble(System.getProperty("workloadTimeScale", "60"));
+        profile.validate();
+        return profile;
+    }
+
+    /**
+     * @param value comma separated language:weight pairs, e.g. tr:70,en:30
+     */
+    static Map<String, Integer> parseLanguageMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("language mix entry must be language:weight: " + entry);
+            }
+            mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    private void validate() {
+        if (minTextLength <= 0 || maxTextLength < minTextLength) {
+            throw new IllegalArgumentException("text lengths must satisfy 0 < min <= max: " + minTextLength + " " + maxTextLength);
+        } else if (retweetRatio < 0 || quoteRatio < 0 || retweetRatio + quoteRatio > 1) {
+            throw new IllegalArgumentException("retweet and quote ratios must be between 0 and 1 in total: " + retweetRatio + " " + quoteRatio);
+        } else if (authorCount <= 0 || originalCount <= 0 || growthMinutes <= 0 || maxInteractionCount <= 0 || timeScale <= 0) {
+            throw new IllegalArgumentException("author count, original count, growth minutes, max interaction count and time scale must be positive");
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Map<String, Integer> getLanguageMix() {
+        return languageMix;
+    }
+
+    public int getMinTextLength() {
+        return minTextLength;
+    }
+
+    public int getMaxTextLength() {
+        return maxTextLength;
+    }
+
+    /**
+     * @return probability of an emoji after every word
+     */
+    public double getEmojiDensity() {
+        return emojiDensity;
+    }
+
+    /**
+     * @return share of statuses with a link
+     */
+    public double getUrlRatio() {
+        return urlRatio;
+    }
+
+    /**
+     * @return share of retweets in the stream, only retweets and quotes can become candidates
+     */
+    public double getRetweetRatio() {
+        return retweetRatio;
+    }
+
+    public double getQuoteRatio() {
+        return quoteRatio;
+    }
+
+    public int getAuthorCount() {
+        return authorCount;
+    }
+
+    public double getAuthorZipfExponent() {
+        return authorZipfExponent;
+    }
+
+    /**
+     * @return distinct statuses that are retweeted and quoted in the stream
+     */
+    public int getOriginalCount() {
+        return originalCount;
+    }
+
+    public double getOriginalZipfExponent() {
+        return originalZipfExponent;
+    }
+
+    public InteractionGrowth getGrowth() {
+        return growth;
+    }
+
+    /**
+     * @return minutes a status needs to reach its peak interaction count
+     */
+    public int getGrowthMinutes() {
+        return growthMinutes;
+    }
+
+    public int getMaxInteractionCount() {
+        return maxInteractionCount;
+    }
+
+    /**
+     * @return simulated minutes per real minute, so interaction counts grow within a short run
+     */
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    @Override
+    public String toString() {
+        return "seed: " + seed + " | languages: " + languageMix + " | text length: " + minTextLength + "-" + maxTextLength +
+                " | emoji density: " + emojiDensity + " | url ratio: " + urlRatio + " | retweet ratio: " + retweetRatio +
+                " | quote ratio: " + quoteRatio + " | authors: " + authorCount + " (zipf " + authorZipfExponent + ")" +
+                " | originals: " + originalCount + " (zipf " + originalZipfExponent + ") | growth: " + growth + " in " +
+                growthMinutes + " min | max interaction count: " + maxInteractionCount + " | time scale: " + timeScale;
+    }
+}
@@ -0,0 +1,38 @@
+package com.kadir.twitterbots.worm.workload;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples ranks in [0, n) where rank k is drawn with probability proportional to 1 / (k + 1)^exponent, so a few
+ * authors write most of the statuses. An exponent of 0 gives a uniform distribution.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:42
+ */
+public class ZipfSampler {
+    private final double[] cumulativeProbabilities;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+
+        cumulativeProbabilities = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulativeProbabilities[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulativeProbabilities[k] /= sum;
+        }
+    }
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulativeProbabilities.length - 1);
+    }
+}
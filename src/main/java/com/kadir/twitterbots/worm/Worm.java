@@ -1,12 +1,21 @@
 package com.kadir.twitterbots.worm;
 
-import com.kadir.twitterbots.worm.dao.DatabaseInitialiser;
+import com.kadir.twitterbots.worm.dao.Repositories;
+import com.kadir.twitterbots.worm.dao.RepositoryBackend;
 import com.kadir.twitterbots.worm.exceptions.PropertyNotLoadedException;
+import com.kadir.twitterbots.worm.filter.ContentBasedFilter;
+import com.kadir.twitterbots.worm.filter.LanguageModels;
+import com.kadir.twitterbots.worm.filter.UserBasedFilter;
+import com.kadir.twitterbots.worm.metrics.MetricsServer;
+import com.kadir.twitterbots.worm.scheduler.StartupOrchestrator;
+import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
 import com.kadir.twitterbots.worm.util.WormConstants;
 import com.kadir.twitterbots.worm.worker.TweetFetcher;
+import com.kadir.twitterbots.worm.worker.TweetFilter;
 import com.kadir.twitterbots.worm.worker.TweetQuoter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import twitter4j.Twitter;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -14,6 +23,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Enumeration;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * @author akadir
@@ -23,6 +34,8 @@ import java.util.Properties;
 public class Worm {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    private static final int STARTUP_THREADS = 4;
+
     private TweetFetcher tweetFetcher;
     private TweetQuoter tweetQuoter;
 
@@ -33,15 +46,64 @@ public class Worm {
 
     private Worm() {
         setVmArgumentsFromPropertyFile();
-        DatabaseInitialiser.initializeDatabase();
-
-        tweetFetcher = new TweetFetcher();
-        tweetQuoter = new TweetQuoter();
+        setTwitterApiBaseUrl();
     }
 
+    /**
+     * Loads language models, checks database schema and authenticates concurrently. Fetching starts as soon as its
+     * filters and account are ready, without waiting for the quoter. Workers and filters share the repositories of
+     * repositoryBackend.
+     */
     private void start() {
-        tweetFetcher.schedule();
-        tweetQuoter.schedule();
+        StartupOrchestrator startup = new StartupOrchestrator(STARTUP_THREADS);
+        RepositoryBackend repositoryBackend = RepositoryBackend.fromSystemProperties();
+        Repositories repositories = repositoryBackend.create();
+
+        startup.run("metricsEndpoint", MetricsServer::startIfEnabled);
+        CompletableFuture<Void> database = startup.run("databaseSchema", repositoryBackend::initialize);
+        CompletableFuture<LanguageModels> languageModels = startup.supply("languageModels", LanguageModels::load);
+        CompletableFuture<Twitter> fetchAccount = startup.supply("fetchAuthentication", TweetFetcher::authenticate);
+        CompletableFuture<Twitter> quoteAccount = startup.supply("quoteAuthentication", TweetQuoter::authenticate);
+
+        CompletableFuture<ContentBasedFilter> contentBasedFilter = startup.supply("ignoredKeywords",
+                () -> new ContentBasedFilter(languageModels.join(), repositories.getIgnoredKeywordRepository()), database, languageModels);
+        CompletableFuture<UserBasedFilter> userBasedFilter = startup.supply("ignoredUsers",
+                () -> new UserBasedFilter(fetchAccount.join(), repositories.getIgnoredUserRepository()), database, fetchAccount);
+
+        CompletableFuture<Void> fetcher = startup.run("tweetFetcher", () -> {
+            TweetFilter tweetFilter = new TweetFilter();
+            tweetFilter.initForFetch(contentBasedFilter.join(), userBasedFilter.join());
+            tweetFetcher = new TweetFetcher(fetchAccount.join(), tweetFilter, repositories.getStatusRepository());
+            tweetFetcher.schedule();
+        }, contentBasedFilter, userBasedFilter);
+
+        startup.run("tweetQuoter", () -> {
+            tweetQuoter = new TweetQuoter(tweetFetcher, quoteAccount.join(), repositories.getStatusRepository(),
+                    repositories.getQuoteJournalRepository());
+            tweetQuoter.schedule();
+        }, fetcher, quoteAccount);
+
+        try {
+            startup.awaitReady();
+        } catch (CompletionException e) {
+            logger.error("startup failed.", e.getCause());
+            TaskScheduler.shutdownAllTasks();
+            MetricsServer.stop();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends api calls of both accounts to twitterApiBaseUrl instead of api.twitter.com, e.g. to a local stub of the api
+     * for soak tests. twitter4j reads its rest base url from system properties when an account is authenticated.
+     */
+    private void setTwitterApiBaseUrl() {
+        String twitterApiBaseUrl = System.getProperty("twitterApiBaseUrl", "").trim();
+        if (!twitterApiBaseUrl.isEmpty()) {
+            String restBaseUrl = twitterApiBaseUrl.replaceAll("/+$", "") + "/1.1/";
+            System.setProperty("twitter4j.restBaseURL", restBaseUrl);
+            logger.warn("twitter api calls are sent to {}", restBaseUrl);
+        }
     }
 
     private void setVmArgumentsFromPropertyFile() {
@@ -0,0 +1,37 @@
+package com.kadir.twitterbots.worm.dao;
+
+import java.util.Iterator;
+
+/**
+ * Iterator over rows of a repository that may hold a connection until it is closed.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+    @Override
+    void close();
+
+    /**
+     * @return iterator over rows already in memory, closing it does nothing
+     */
+    static <T> CloseableIterator<T> of(Iterator<T> iterator) {
+        return new CloseableIterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -1,90 +1,46 @@
 package com.kadir.twitterbots.worm.dao;
 
 import com.kadir.twitterbots.worm.entity.IgnoredWordType;
-import com.kadir.twitterbots.worm.util.DataUtil;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
+ * {@link IgnoredKeywordRepository} over the {@code ignored_keywords} table of PostgreSQL.
+ *
  * @author akadir
  * Date: 11/12/2018
  * Time: 00:24
  */
-public class ContentFilterDao {
-    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+public class ContentFilterDao implements IgnoredKeywordRepository {
 
     public Set<String> getIgnoredWords() {
         Set<String> ignoredWords = new HashSet<>();
-        PreparedStatement preparedStatement = null;
-        ResultSet resultSet = null;
-        try {
-            Connection conn = DatabaseConnector.getConnection();
-            preparedStatement = conn.prepareStatement("SELECT word FROM ignored_keywords WHERE type = ?");
-            preparedStatement.setInt(1, IgnoredWordType.WORD.getType());
-            resultSet = preparedStatement.executeQuery();
-            preparedStatement.setString(1, DataUtil.getYesterday());
-
-            while (resultSet.next()) {
-                ignoredWords.add(resultSet.getString(1).toLowerCase());
-            }
-        } catch (SQLException e) {
-            logger.error("Error during ignored words get: ", e);
-        } finally {
-            closeResultSet(resultSet);
-            closeStatement(preparedStatement);
-        }
+        forEachIgnoredWord(ignoredWords::add);
         return ignoredWords;
     }
 
     public Set<String> getIgnoredUsernames() {
         Set<String> ignoredUsernames = new HashSet<>();
-        PreparedStatement preparedStatement = null;
-        ResultSet resultSet = null;
-        try {
-            Connection conn = DatabaseConnector.getConnection();
-            preparedStatement = conn.prepareStatement("SELECT word FROM ignored_keywords WHERE type = ?");
-            preparedStatement.setInt(1, IgnoredWordType.USERNAME.getType());
-            resultSet = preparedStatement.executeQuery();
-            preparedStatement.setString(1, DataUtil.getYesterday());
-
-            while (resultSet.next()) {
-                ignoredUsernames.add(resultSet.getString(1).toLowerCase());
-            }
-        } catch (SQLException e) {
-            logger.error("Error during ignored usernames get: ", e);
-        } finally {
-            closeResultSet(resultSet);
-            closeStatement(preparedStatement);
-        }
+        forEachIgnoredUsername(ignoredUsernames::add);
         return ignoredUsernames;
     }
 
-    private void closeResultSet(ResultSet resultSet) {
-        if (resultSet != null) {
-            try {
-                resultSet.close();
-            } catch (SQLException e) {
-                logger.error("Error during result set close: ", e);
-            }
-        }
+    @Override
+    public int forEachIgnoredWord(Consumer<String> consumer) {
+        return forEachIgnoredKeyword(IgnoredWordType.WORD, consumer);
     }
 
-    private void closeStatement(Statement statement) {
-        if (statement != null) {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                logger.error("Error during statement close: ", e);
-            }
-        }
+    @Override
+    public int forEachIgnoredUsername(Consumer<String> consumer) {
+        return forEachIgnoredKeyword(IgnoredWordType.USERNAME, consumer);
     }
 
+    private int forEachIgnoredKeyword(IgnoredWordType ignoredWordType, Consumer<String> consumer) {
+        return StreamingQuery.forEach("SELECT word FROM ignored_keywords WHERE type = ?",
+                preparedStatement -> preparedStatement.setInt(1, ignoredWordType.getType()),
+                resultSet -> resultSet.getString(1).toLowerCase(),
+                consumer);
+    }
 }
@@ -5,7 +5,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
@@ -26,24 +25,57 @@ public class DatabaseConnector {
         return openConnection();
     }
 
-    private static Connection openConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            String url = "jdbc:postgresql://" + System.getProperty(VmOption.DB_URL.getKey());
+    /**
+     * Opens a dedicated connection with autocommit disabled, which PostgreSQL needs to honour the fetch size of a
+     * query. It must be released with {@link #closeDedicatedConnection(Connection)}.
+     */
+    public static Connection openStreamingConnection() throws SQLException {
+        Connection streamingConnection = createConnection();
+        streamingConnection.setAutoCommit(false);
+        return streamingConnection;
+    }
 
-            logger.info("Generated database url: {}", url);
+    /**
+     * Opens a dedicated connection with autocommit disabled for a transaction, so statements other threads run on the
+     * shared connection do not join it. It must be released with {@link #closeDedicatedConnection(Connection)}.
+     */
+    public static Connection openTransactionConnection() throws SQLException {
+        Connection transactionConnection = createConnection();
+        transactionConnection.setAutoCommit(false);
+        return transactionConnection;
+    }
 
-            Properties props = new Properties();
-            props.setProperty("user", System.getProperty(VmOption.DB_USER.getKey()));
-            props.setProperty("password", System.getProperty(VmOption.DB_PASSWORD.getKey()));
+    public static void closeDedicatedConnection(Connection dedicatedConnection) {
+        try {
+            if (!dedicatedConnection.isClosed()) {
+                dedicatedConnection.close();
+            }
+        } catch (SQLException e) {
+            logger.error(e.getMessage());
+        }
+    }
 
-            connection = DriverManager.getConnection(url, props);
-            DatabaseMetaData meta = connection.getMetaData();
-            logger.debug("Connected to database: {}", meta.getURL());
+    private static synchronized Connection openConnection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = createConnection();
+            logger.info("Connected to database: {}", connection.getMetaData().getURL());
         }
 
         return connection;
     }
 
+    private static Connection createConnection() throws SQLException {
+        String url = "jdbc:postgresql://" + System.getProperty(VmOption.DB_URL.getKey());
+
+        logger.debug("Generated database url: {}", url);
+
+        Properties props = new Properties();
+        props.setProperty("user", System.getProperty(VmOption.DB_USER.getKey()));
+        props.setProperty("password", System.getProperty(VmOption.DB_PASSWORD.getKey()));
+
+        return DriverManager.getConnection(url, props);
+    }
+
     public static void closeConnection() {
         try {
             logger.debug("Closing db connection.");
@@ -33,13 +33,14 @@ public class DatabaseInitialiser {
     private static void createTablesIfNotExist() throws SQLException {
         Connection connection = DatabaseConnector.getConnection();
         try (Statement statement = connection.createStatement()) {
-            createPopularTweetsTableIfNotExist(statement);
             createIgnoredUsersTableIfNotExist(statement);
             createIgnoredKeywordsTableIfNotExist(statement);
         }
+        SchemaMigrator.migrate();
+        PopularTweetsPartitioner.ensureUpcomingPartitions();
     }
 
-    private static void createPopularTweetsTableIfNotExist(Statement statement) throws SQLException {
+    static void createPopularTweetsTableIfNotExist(Statement statement) throws SQLException {
         String sql = "CREATE TABLE IF NOT EXISTS popular_tweets(" +
                 "id SERIAL PRIMARY KEY," +
                 "status_id BIGSERIAL NOT NULL," +
@@ -61,6 +62,21 @@ public class DatabaseInitialiser {
         statement.execute(sql);
     }
 
+    static void createQuoteJournalTableIfNotExist(Statement statement) throws SQLException {
+        String sql = "CREATE TABLE IF NOT EXISTS quote_journal(" +
+                "run_id DATE NOT NULL," +
+                "rank INTEGER NOT NULL," +
+                "source_status_id BIGINT NOT NULL," +
+                "source_status_link varchar NOT NULL," +
+                "posted_status_id BIGINT," +
+                "state varchar NOT NULL," +
+                "attempts INTEGER DEFAULT 0," +
+                "updated_at timestamptz DEFAULT now()," +
+                "PRIMARY KEY (run_id, rank));" +
+                "CREATE INDEX IF NOT EXISTS quote_journal_idx ON quote_journal (state);";
+        statement.execute(sql);
+    }
+
     private static void createIgnoredUsersTableIfNotExist(Statement statement) throws SQLException {
         String sql = "CREATE TABLE IF NOT EXISTS ignored_users(" +
                 "user_id BIGSERIAL UNIQUE NOT NULL," +
@@ -0,0 +1,23 @@
+package com.kadir.twitterbots.worm.dao;
+
+import java.util.function.Consumer;
+
+/**
+ * Words and usernames that keep a status from being quoted, passed in lower case.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public interface IgnoredKeywordRepository {
+
+    /**
+     * @return number of words passed
+     */
+    int forEachIgnoredWord(Consumer<String> consumer);
+
+    /**
+     * @return number of usernames passed
+     */
+    int forEachIgnoredUsername(Consumer<String> consumer);
+}
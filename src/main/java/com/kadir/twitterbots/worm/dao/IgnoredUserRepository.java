@@ -0,0 +1,45 @@
+package com.kadir.twitterbots.worm.dao;
+
+import com.kadir.twitterbots.worm.entity.IgnoredUser;
+import twitter4j.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Users whose statuses are not quoted. Batched writes of {@link UserWriteBehindQueue} go
+ * through {@link #batchInsertIgnoredUsers(Collection)} and {@link #batchUpdateIgnoredUsers(Collection)}.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public interface IgnoredUserRepository {
+
+    /**
+     * Passes ids of active users and of passive users checked today to the consumer.
+     *
+     * @return number of ids passed
+     */
+    int forEachIgnoredUserId(LongConsumer consumer);
+
+    /**
+     * Reads a batch of the ignored users that are due to be checked, ordered by user id. The batch is read completely,
+     * nothing is held open while the caller checks its users.
+     *
+     * @param afterUserId only users with a greater id are read, id of the last user of the previous batch
+     */
+    List<IgnoredUser> getIgnoredUsersToCheck(long afterUserId, int limit);
+
+    void insertIgnoredUser(User user);
+
+    void deleteIgnoredUser(IgnoredUser ignoredUser);
+
+    /**
+     * Inserts users of the writes that are inserts, users that are already ignored are skipped.
+     */
+    void batchInsertIgnoredUsers(Collection<PendingUserWrite> writes);
+
+    void batchUpdateIgnoredUsers(Collection<PendingUserWrite> writes);
+}
@@ -0,0 +1,34 @@
+package com.kadir.twitterbots.worm.dao;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link IgnoredKeywordRepository} over fixed sets of ignored words and usernames.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class InMemoryIgnoredKeywordRepository implements IgnoredKeywordRepository {
+    private final Set<String> ignoredWords = new HashSet<>();
+    private final Set<String> ignoredUsernames = new HashSet<>();
+
+    public InMemoryIgnoredKeywordRepository(Set<String> ignoredWords, Set<String> ignoredUsernames) {
+        ignoredWords.forEach(word -> this.ignoredWords.add(word.toLowerCase()));
+        ignoredUsernames.forEach(username -> this.ignoredUsernames.add(username.toLowerCase()));
+    }
+
+    @Override
+    public int forEachIgnoredWord(Consumer<String> consumer) {
+        ignoredWords.forEach(consumer);
+        return ignoredWords.size();
+    }
+
+    @Override
+    public int forEachIgnoredUsername(Consumer<String> consumer) {
+        ignoredUsernames.forEach(consumer);
+        return ignoredUsernames.size();
+    }
+}
@@ -0,0 +1,104 @@
+package com.kadir.twitterbots.worm.dao;
+
+import com.kadir.twitterbots.worm.entity.IgnoredUser;
+import com.kadir.twitterbots.worm.util.DataUtil;
+import twitter4j.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link IgnoredUserRepository} kept in memory. Dates are kept as yyyyMMdd strings like the columns of
+ * {@code ignored_users}.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class InMemoryIgnoredUserRepository implements IgnoredUserRepository {
+    private final Map<Long, IgnoredUser> ignoredUsers = new HashMap<>();
+
+    @Override
+    public synchronized int forEachIgnoredUserId(LongConsumer consumer) {
+        String today = DataUtil.formatSqlDate(LocalDate.now());
+        int count = 0;
+        for (IgnoredUser ignoredUser : ignoredUsers.values()) {
+            if (ignoredUser.getPassiveSince().isEmpty() || ignoredUser.getLastCheck().equals(today)) {
+                consumer.accept(ignoredUser.getUserId());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized List<IgnoredUser> getIgnoredUsersToCheck(long afterUserId, int limit) {
+        String yesterday = DataUtil.getYesterday();
+        List<IgnoredUser> dueUsers = new ArrayList<>();
+        for (IgnoredUser ignoredUser : ignoredUsers.values()) {
+            if (ignoredUser.getUserId() > afterUserId
+                    && (ignoredUser.getLastCheck().isEmpty() || ignoredUser.getLastCheck().compareTo(yesterday) < 0)) {
+                dueUsers.add(copyOf(ignoredUser, ignoredUser.getPassiveSince(), ignoredUser.getLastCheck()));
+            }
+        }
+        dueUsers.sort(Comparator.comparingLong(IgnoredUser::getUserId));
+        return dueUsers.size() > limit ? new ArrayList<>(dueUsers.subList(0, limit)) : dueUsers;
+    }
+
+    @Override
+    public synchronized void insertIgnoredUser(User user) {
+        insert(user.getId(), user.getScreenName());
+    }
+
+    @Override
+    public synchronized void deleteIgnoredUser(IgnoredUser ignoredUser) {
+        ignoredUsers.remove(ignoredUser.getUserId());
+    }
+
+    @Override
+    public synchronized void batchInsertIgnoredUsers(Collection<PendingUserWrite> writes) {
+        for (PendingUserWrite write : writes) {
+            if (write.isInsert()) {
+                insert(write.getUserId(), write.getScreenName());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void batchUpdateIgnoredUsers(Collection<PendingUserWrite> writes) {
+        for (PendingUserWrite write : writes) {
+            IgnoredUser ignoredUser = ignoredUsers.get(write.getUserId());
+            if (ignoredUser == null) {
+                continue;
+            }
+
+            switch (write.getUpdateType()) {
+                case LAST_CHECK:
+                    ignoredUsers.put(write.getUserId(), copyOf(ignoredUser, ignoredUser.getPassiveSince(), write.getLastCheck()));
+                    break;
+                case PASSIVE:
+                    ignoredUsers.put(write.getUserId(), copyOf(ignoredUser, write.getPassiveSince(), write.getLastCheck()));
+                    break;
+                case ACTIVE:
+                    ignoredUsers.put(write.getUserId(), copyOf(ignoredUser, "", write.getLastCheck()));
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void insert(long userId, String screenName) {
+        ignoredUsers.putIfAbsent(userId, new IgnoredUser(userId, screenName, DataUtil.formatSqlDate(LocalDate.now()), "", ""));
+    }
+
+    private static IgnoredUser copyOf(IgnoredUser ignoredUser, String passiveSince, String lastCheck) {
+        return new IgnoredUser(ignoredUser.getUserId(), ignoredUser.getScreenName(), ignoredUser.getCreatedDate(), passiveSince, lastCheck);
+    }
+}
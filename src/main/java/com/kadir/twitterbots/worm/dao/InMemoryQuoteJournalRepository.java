@@ -0,0 +1,61 @@
+package com.kadir.twitterbots.worm.dao;
+
+import com.kadir.twitterbots.worm.entity.QuoteJournalEntry;
+import com.kadir.twitterbots.worm.entity.QuoteState;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link QuoteJournalRepository} kept in memory. Entries are copied in and out, so callers can not change a run
+ * without updating it.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class InMemoryQuoteJournalRepository implements QuoteJournalRepository {
+    private final TreeMap<LocalDate, Map<Integer, QuoteJournalEntry>> runs = new TreeMap<>();
+
+    @Override
+    public synchronized boolean createRun(List<QuoteJournalEntry> entries) {
+        for (QuoteJournalEntry entry : entries) {
+            runs.computeIfAbsent(entry.getRunId(), runId -> new TreeMap<>()).putIfAbsent(entry.getRank(), new QuoteJournalEntry(entry));
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized List<QuoteJournalEntry> getRun(LocalDate runId) {
+        List<QuoteJournalEntry> entries = new ArrayList<>();
+        for (QuoteJournalEntry entry : runs.getOrDefault(runId, new TreeMap<>()).values()) {
+            entries.add(new QuoteJournalEntry(entry));
+        }
+        return entries;
+    }
+
+    @Override
+    public synchronized LocalDate getLatestUnfinishedRunId(LocalDate since) {
+        for (Map.Entry<LocalDate, Map<Integer, QuoteJournalEntry>> run : runs.tailMap(since, true).descendingMap().entrySet()) {
+            for (QuoteJournalEntry entry : run.getValue().values()) {
+                if (entry.getState() == QuoteState.PENDING || entry.getState() == QuoteState.POSTING) {
+                    return run.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized boolean update(QuoteJournalEntry entry) {
+        Map<Integer, QuoteJournalEntry> run = runs.get(entry.getRunId());
+        if (run == null || !run.containsKey(entry.getRank())) {
+            return false;
+        }
+        run.put(entry.getRank(), new QuoteJournalEntry(entry));
+        return true;
+    }
+}
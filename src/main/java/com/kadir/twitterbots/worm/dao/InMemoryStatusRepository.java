@@ -0,0 +1,133 @@
+package com.kadir.twitterbots.worm.dao;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+import com.kadir.twitterbots.worm.util.QuoteDay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@link StatusRepository} kept in memory, grouped by found day. Statuses are saved without their text like the rows
+ * read back from PostgreSQL. On {@link #maintain()}, statuses found before yesterday are dropped unless they are quoted,
+ * and quoted ones are kept for quoteHistoryDays so {@link #forEachQuotedStatusSince} covers the whole quote history.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class InMemoryStatusRepository implements StatusRepository {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Map<Integer, Map<Long, CustomStatus>> statusesByFoundDay = new HashMap<>();
+    private final int historyDays;
+    private long lastId;
+
+    public InMemoryStatusRepository() {
+        this.historyDays = Integer.parseInt(System.getProperty("quoteHistoryDays", "30"));
+        logger.debug("Set quoteHistoryDays:{}", historyDays);
+    }
+
+    @Override
+    public synchronized Long saveStatus(CustomStatus status) {
+        CustomStatus savedStatus = new CustomStatus(status);
+        savedStatus.setId(++lastId);
+        savedStatus.setFoundDate(QuoteDay.today());
+        savedStatus.setQuoted(false);
+        savedStatus.setQuotedEpochDay(CustomStatus.NO_DATE);
+        savedStatus.releaseStatusText();
+        statusesOf(savedStatus.getFoundEpochDay()).put(savedStatus.getStatusId(), savedStatus);
+        return savedStatus.getId();
+    }
+
+    @Override
+    public synchronized void updateTodaysStatusScore(Long statusId, int score) {
+        CustomStatus savedStatus = statusesOf(QuoteDay.today()).get(statusId);
+        if (savedStatus != null) {
+            savedStatus.setScore(score);
+        }
+    }
+
+    @Override
+    public synchronized void removeStatus(CustomStatus savedStatus) {
+        Map<Long, CustomStatus> statuses = statusesOf(savedStatus.getFoundEpochDay());
+        CustomStatus existing = statuses.get(savedStatus.getStatusId());
+        if (existing != null && existing.getId().equals(savedStatus.getId())) {
+            statuses.remove(savedStatus.getStatusId());
+        }
+    }
+
+    @Override
+    public synchronized List<CustomStatus> getTodaysStatuses() {
+        List<CustomStatus> todaysStatuses = new ArrayList<>();
+        for (CustomStatus savedStatus : statusesOf(QuoteDay.today()).values()) {
+            todaysStatuses.add(new CustomStatus(savedStatus));
+        }
+        todaysStatuses.sort(Comparator.comparingInt(CustomStatus::getScore).reversed());
+        return todaysStatuses;
+    }
+
+    @Override
+    public int forEachTodaysStatus(Consumer<CustomStatus> consumer) {
+        List<CustomStatus> todaysStatuses = getTodaysStatuses();
+        todaysStatuses.forEach(consumer);
+        return todaysStatuses.size();
+    }
+
+    @Override
+    public synchronized int forEachQuotedStatusSince(LocalDate since, Consumer<CustomStatus> consumer) {
+        int count = 0;
+        for (Map.Entry<Integer, Map<Long, CustomStatus>> day : statusesByFoundDay.entrySet()) {
+            if (day.getKey() < since.toEpochDay()) {
+                continue;
+            }
+            for (CustomStatus savedStatus : day.getValue().values()) {
+                if (savedStatus.isQuoted()) {
+                    consumer.accept(new CustomStatus(savedStatus.getStatusId(), savedStatus.getUserId(), null));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized Long setStatusQuoted(Long statusId, LocalDate foundDate) {
+        CustomStatus savedStatus = statusesOf(foundDate).get(statusId);
+        if (savedStatus == null) {
+            return null;
+        }
+        savedStatus.setQuoted(true);
+        savedStatus.setQuotedDate(foundDate);
+        return savedStatus.getUserId();
+    }
+
+    @Override
+    public synchronized void maintain() {
+        int yesterday = (int) QuoteDay.yesterday().toEpochDay();
+        int historyStart = (int) QuoteDay.today().minusDays(historyDays).toEpochDay();
+        statusesByFoundDay.entrySet().removeIf(day -> {
+            if (day.getKey() < historyStart) {
+                return true;
+            }
+            if (day.getKey() < yesterday) {
+                day.getValue().values().removeIf(savedStatus -> !savedStatus.isQuoted());
+            }
+            return day.getValue().isEmpty();
+        });
+    }
+
+    private Map<Long, CustomStatus> statusesOf(LocalDate foundDate) {
+        return statusesOf((int) foundDate.toEpochDay());
+    }
+
+    private Map<Long, CustomStatus> statusesOf(int foundDay) {
+        return statusesByFoundDay.computeIfAbsent(foundDay, day -> new HashMap<>());
+    }
+}
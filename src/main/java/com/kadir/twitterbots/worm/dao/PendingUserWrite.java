@@ -0,0 +1,77 @@
+package com.kadir.twitterbots.worm.dao;
+
+/**
+ * Coalesced, not yet persisted mutations of a single ignored user.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 11:05
+ */
+class PendingUserWrite {
+    enum UpdateType {
+        NONE, LAST_CHECK, PASSIVE, ACTIVE
+    }
+
+    private final long userId;
+    private String screenName;
+    private boolean insert;
+    private UpdateType updateType = UpdateType.NONE;
+    private String passiveSince;
+    private String lastCheck;
+
+    PendingUserWrite(long userId) {
+        this.userId = userId;
+    }
+
+    PendingUserWrite mergeInsert(String screenName) {
+        this.screenName = screenName;
+        this.insert = true;
+        return this;
+    }
+
+    PendingUserWrite mergeLastCheck(String lastCheck) {
+        this.lastCheck = lastCheck;
+        if (updateType == UpdateType.NONE) {
+            updateType = UpdateType.LAST_CHECK;
+        }
+        return this;
+    }
+
+    PendingUserWrite mergePassive(String passiveSince, String lastCheck) {
+        this.passiveSince = passiveSince;
+        this.lastCheck = lastCheck;
+        updateType = UpdateType.PASSIVE;
+        return this;
+    }
+
+    PendingUserWrite mergeActive(String lastCheck) {
+        this.passiveSince = "";
+        this.lastCheck = lastCheck;
+        updateType = UpdateType.ACTIVE;
+        return this;
+    }
+
+    long getUserId() {
+        return userId;
+    }
+
+    String getScreenName() {
+        return screenName;
+    }
+
+    boolean isInsert() {
+        return insert;
+    }
+
+    UpdateType getUpdateType() {
+        return updateType;
+    }
+
+    String getPassiveSince() {
+        return passiveSince;
+    }
+
+    String getLastCheck() {
+        return lastCheck;
+    }
+}
@@ -0,0 +1,161 @@
+package com.kadir.twitterbots.worm.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Maintains the monthly range partitions of {@code popular_tweets} and migrates rows of the old varchar based
+ * table into them. Requires PostgreSQL 11 or later.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 12:15
+ */
+public class PopularTweetsPartitioner {
+    private static final Logger logger = LoggerFactory.getLogger(PopularTweetsPartitioner.class);
+    private static final String LEGACY_TABLE_NAME = "popular_tweets_legacy";
+    private static final String SQL_DATE_PATTERN = "'^[0-9]{8}$'";
+
+    private PopularTweetsPartitioner() {
+    }
+
+    public static void ensureUpcomingPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        try {
+            Connection connection = DatabaseConnector.getConnection();
+            try (Statement statement = connection.createStatement()) {
+                createPartitionIfNotExist(statement, currentMonth);
+                createPartitionIfNotExist(statement, currentMonth.plusMonths(1));
+            }
+        } catch (SQLException e) {
+            logger.error("Error during popular tweets partition creation: ", e);
+        }
+    }
+
+    static void createPartitionedTable(Statement statement) throws SQLException {
+        String sql = "ALTER TABLE popular_tweets RENAME TO " + LEGACY_TABLE_NAME + ";" +
+                "ALTER SEQUENCE IF EXISTS popular_tweets_id_seq RENAME TO " + LEGACY_TABLE_NAME + "_id_seq;" +
+                "ALTER INDEX IF EXISTS popular_tweets_pkey RENAME TO " + LEGACY_TABLE_NAME + "_pkey;" +
+                "ALTER INDEX IF EXISTS popular_tweets_idx RENAME TO " + LEGACY_TABLE_NAME + "_idx;" +
+                "ALTER INDEX IF EXISTS popular_tweets_idx2 RENAME TO " + LEGACY_TABLE_NAME + "_idx2;" +
+                "ALTER INDEX IF EXISTS popular_tweets_idx3 RENAME TO " + LEGACY_TABLE_NAME + "_idx3;" +
+                "ALTER INDEX IF EXISTS popular_tweets_idx4 RENAME TO " + LEGACY_TABLE_NAME + "_idx4;" +
+                "ALTER INDEX IF EXISTS popular_tweets_idx5 RENAME TO " + LEGACY_TABLE_NAME + "_idx5;" +
+                "CREATE TABLE popular_tweets(" +
+                "id BIGSERIAL NOT NULL," +
+                "status_id BIGINT NOT NULL," +
+                "user_id BIGINT NOT NULL," +
+                "score INTEGER NOT NULL," +
+                "found_date DATE NOT NULL," +
+                "status_creation_date DATE," +
+                "is_quoted BOOLEAN NOT NULL DEFAULT false," +
+                "quoted_date DATE," +
+                "status_link varchar DEFAULT ''," +
+                "status_text varchar DEFAULT ''," +
+                "PRIMARY KEY (found_date, id)," +
+                "CONSTRAINT popular_tweets_found_date_status_id_key UNIQUE (found_date, status_id)" +
+                ") PARTITION BY RANGE (found_date);" +
+                "CREATE INDEX popular_tweets_score_idx ON popular_tweets (found_date, score DESC);" +
+                "CREATE INDEX popular_tweets_user_idx ON popular_tweets (user_id);" +
+                "CREATE INDEX popular_tweets_status_idx ON popular_tweets (status_id) WHERE is_quoted;" +
+                "CREATE INDEX popular_tweets_quoted_idx ON popular_tweets (quoted_date) WHERE is_quoted;" +
+                "SELECT setval(pg_get_serial_sequence('popular_tweets', 'id'), " +
+                "COALESCE((SELECT MAX(id) FROM " + LEGACY_TABLE_NAME + "), 0) + 1, false);";
+
+        statement.execute(sql);
+        createPartitionIfNotExist(statement, YearMonth.now());
+        createPartitionIfNotExist(statement, YearMonth.now().plusMonths(1));
+    }
+
+    /**
+     * Copies the rows of the legacy varchar table into the partitioned table one month at a time, so every month
+     * is committed on its own. Rows that already exist are skipped, it is safe to run again after a failure.
+     *
+     * @param connection connection with autocommit disabled, commits of the months are made on it
+     */
+    static void backfillFromLegacyTable(Connection connection) throws SQLException {
+        if (!doesLegacyTableExist(connection)) {
+            return;
+        }
+
+        YearMonth firstMonth = null;
+        YearMonth lastMonth = null;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT MIN(to_date(found_date, 'YYYYMMDD')), MAX(to_date(found_date, 'YYYYMMDD')) " +
+                     "FROM " + LEGACY_TABLE_NAME + " WHERE found_date ~ " + SQL_DATE_PATTERN)) {
+            if (resultSet.next() && resultSet.getDate(1) != null) {
+                firstMonth = YearMonth.from(resultSet.getDate(1).toLocalDate());
+                lastMonth = YearMonth.from(resultSet.getDate(2).toLocalDate());
+            }
+        }
+
+        if (firstMonth == null) {
+            dropEmptyLegacyTable(connection);
+            return;
+        }
+
+        try (Statement statement = connection.createStatement();
+             PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO popular_tweets(id, status_id, user_id, score, found_date, status_creation_date, is_quoted, quoted_date, status_link, status_text) " +
+                     "SELECT id, status_id, user_id, score, to_date(found_date, 'YYYYMMDD'), " +
+                     "CASE WHEN status_creation_date ~ " + SQL_DATE_PATTERN + " THEN to_date(status_creation_date, 'YYYYMMDD') END, " +
+                     "is_quoted, " +
+                     "CASE WHEN quoted_date ~ " + SQL_DATE_PATTERN + " THEN to_date(quoted_date, 'YYYYMMDD') END, " +
+                     "status_link, status_text " +
+                     "FROM " + LEGACY_TABLE_NAME + " WHERE found_date ~ " + SQL_DATE_PATTERN + " AND to_date(found_date, 'YYYYMMDD') >= ? AND to_date(found_date, 'YYYYMMDD') < ? " +
+                     "ON CONFLICT DO NOTHING")) {
+            for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+                createPartitionIfNotExist(statement, month);
+                preparedStatement.setDate(1, Date.valueOf(month.atDay(1)));
+                preparedStatement.setDate(2, Date.valueOf(month.plusMonths(1).atDay(1)));
+                int copiedRows = preparedStatement.executeUpdate();
+                connection.commit();
+                logger.info("Backfill popular tweets of {}. rows: {}", month, copiedRows);
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+        logger.info("Backfill of popular tweets finished. {} can be dropped after verification.", LEGACY_TABLE_NAME);
+    }
+
+    private static void createPartitionIfNotExist(Statement statement, YearMonth month) throws SQLException {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        String partitionName = String.format("popular_tweets_y%04dm%02d", month.getYear(), month.getMonthValue());
+
+        statement.execute("CREATE TABLE IF NOT EXISTS " + partitionName + " PARTITION OF popular_tweets " +
+                "FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        logger.debug("Ensure popular tweets partition: {}", partitionName);
+    }
+
+    private static boolean doesLegacyTableExist(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT to_regclass('" + LEGACY_TABLE_NAME + "') IS NOT NULL")) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+
+    private static void dropEmptyLegacyTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + LEGACY_TABLE_NAME + ")")) {
+            if (resultSet.next() && resultSet.getBoolean(1)) {
+                logger.warn("{} has rows without a valid found_date, they are not migrated.", LEGACY_TABLE_NAME);
+                return;
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + LEGACY_TABLE_NAME);
+            logger.info("Drop empty {} table.", LEGACY_TABLE_NAME);
+        }
+    }
+}
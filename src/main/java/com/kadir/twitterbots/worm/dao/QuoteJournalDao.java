@@ -0,0 +1,126 @@
+package com.kadir.twitterbots.worm.dao;
+
+import com.kadir.twitterbots.worm.entity.QuoteJournalEntry;
+import com.kadir.twitterbots.worm.entity.QuoteState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists progress of quote runs, so an interrupted run can be resumed without posting a status twice.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 20:40
+ */
+public class QuoteJournalDao implements QuoteJournalRepository {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    /**
+     * Writes all entries of a run in one transaction. Entries of a run created before are kept as they are.
+     *
+     * @return false if the run could not be written
+     */
+    @Override
+    public boolean createRun(List<QuoteJournalEntry> entries) {
+        Connection connection = null;
+        try {
+            connection = DatabaseConnector.openTransactionConnection();
+            try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO quote_journal(run_id, rank, source_status_id, source_status_link, state) " +
+                    "VALUES(?,?,?,?,?) ON CONFLICT (run_id, rank) DO NOTHING")) {
+                for (QuoteJournalEntry entry : entries) {
+                    preparedStatement.setObject(1, entry.getRunId());
+                    preparedStatement.setInt(2, entry.getRank());
+                    preparedStatement.setLong(3, entry.getSourceStatusId());
+                    preparedStatement.setString(4, entry.getSourceStatusLink());
+                    preparedStatement.setString(5, entry.getState().name());
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Error during quote run create: ", e);
+            return false;
+        } finally {
+            if (connection != null) {
+                DatabaseConnector.closeDedicatedConnection(connection);
+            }
+        }
+    }
+
+    /**
+     * @return entries of the run ordered by rank
+     */
+    @Override
+    public List<QuoteJournalEntry> getRun(LocalDate runId) {
+        List<QuoteJournalEntry> entries = new ArrayList<>();
+        StreamingQuery.forEach("SELECT * FROM quote_journal WHERE run_id = ? ORDER BY rank",
+                preparedStatement -> preparedStatement.setObject(1, runId),
+                QuoteJournalEntry::new,
+                entries::add);
+        return entries;
+    }
+
+    /**
+     * @return id of the latest run not on or before the given day that has statuses left to post, null if there is none
+     */
+    @Override
+    public LocalDate getLatestUnfinishedRunId(LocalDate since) {
+        LocalDate runId = null;
+        try {
+            Connection connection = DatabaseConnector.getConnection();
+            try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT MAX(run_id) FROM quote_journal WHERE run_id >= ? AND state IN (?,?)")) {
+                preparedStatement.setObject(1, since);
+                preparedStatement.setString(2, QuoteState.PENDING.name());
+                preparedStatement.setString(3, QuoteState.POSTING.name());
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        runId = resultSet.getObject(1, LocalDate.class);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error during unfinished quote run get: ", e);
+        }
+        return runId;
+    }
+
+    /**
+     * @return false if the entry could not be written
+     */
+    @Override
+    public boolean update(QuoteJournalEntry entry) {
+        try {
+            Connection connection = DatabaseConnector.getConnection();
+            try (PreparedStatement preparedStatement = connection.prepareStatement("UPDATE quote_journal SET posted_status_id = ?, state = ?, attempts = ?, updated_at = now() " +
+                    "WHERE run_id = ? AND rank = ?")) {
+                if (entry.getPostedStatusId() > 0) {
+                    preparedStatement.setLong(1, entry.getPostedStatusId());
+                } else {
+                    preparedStatement.setNull(1, Types.BIGINT);
+                }
+                preparedStatement.setString(2, entry.getState().name());
+                preparedStatement.setInt(3, entry.getAttempts());
+                preparedStatement.setObject(4, entry.getRunId());
+                preparedStatement.setInt(5, entry.getRank());
+                return preparedStatement.executeUpdate() > 0;
+            }
+        } catch (SQLException e) {
+            logger.error("Error during quote journal update: {}", entry, e);
+            return false;
+        }
+    }
+}
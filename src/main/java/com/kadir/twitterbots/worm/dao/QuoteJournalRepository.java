@@ -0,0 +1,38 @@
+package com.kadir.twitterbots.worm.dao;
+
+import com.kadir.twitterbots.worm.entity.QuoteJournalEntry;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Progress of quote runs, so a run interrupted by a restart continues where it stopped.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public interface QuoteJournalRepository {
+
+    /**
+     * Writes all entries of a run at once. Entries of a run created before are kept as they are.
+     *
+     * @return false if the run could not be written
+     */
+    boolean createRun(List<QuoteJournalEntry> entries);
+
+    /**
+     * @return entries of the run ordered by rank
+     */
+    List<QuoteJournalEntry> getRun(LocalDate runId);
+
+    /**
+     * @return id of the latest run not on or before the given day that has statuses left to post, null if there is none
+     */
+    LocalDate getLatestUnfinishedRunId(LocalDate since);
+
+    /**
+     * @return false if the entry could not be written
+     */
+    boolean update(QuoteJournalEntry entry);
+}
@@ -0,0 +1,39 @@
+package com.kadir.twitterbots.worm.dao;
+
+/**
+ * Repositories of one {@link RepositoryBackend}, shared by the workers and filters.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class Repositories {
+    private final StatusRepository statusRepository;
+    private final IgnoredUserRepository ignoredUserRepository;
+    private final IgnoredKeywordRepository ignoredKeywordRepository;
+    private final QuoteJournalRepository quoteJournalRepository;
+
+    public Repositories(StatusRepository statusRepository, IgnoredUserRepository ignoredUserRepository,
+                        IgnoredKeywordRepository ignoredKeywordRepository, QuoteJournalRepository quoteJournalRepository) {
+        this.statusRepository = statusRepository;
+        this.ignoredUserRepository = ignoredUserRepository;
+        this.ignoredKeywordRepository = ignoredKeywordRepository;
+        this.quoteJournalRepository = quoteJournalRepository;
+    }
+
+    public StatusRepository getStatusRepository() {
+        return statusRepository;
+    }
+
+    public IgnoredUserRepository getIgnoredUserRepository() {
+        return ignoredUserRepository;
+    }
+
+    public IgnoredKeywordRepository getIgnoredKeywordRepository() {
+        return ignoredKeywordRepository;
+    }
+
+    public QuoteJournalRepository getQuoteJournalRepository() {
+        return quoteJournalRepository;
+    }
+}
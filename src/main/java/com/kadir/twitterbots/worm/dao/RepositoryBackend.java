@@ -0,0 +1,58 @@
+package com.kadir.twitterbots.worm.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+
+/**
+ * Where statuses, ignored users, ignored keywords and quote runs are kept, selected by repositoryBackend.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public enum RepositoryBackend {
+    /**
+     * tables of the PostgreSQL database at dbUrl. The schema is created and migrated on {@link #initialize()}
+     */
+    POSTGRESQL {
+        @Override
+        public Repositories create() {
+            return new Repositories(new StatusDao(), new UserDao(), new ContentFilterDao(), new QuoteJournalDao());
+        }
+
+        @Override
+        public void initialize() {
+            DatabaseInitialiser.initializeDatabase();
+        }
+    },
+    /**
+     * memory of the process, lost on restart. No ignored keywords, for local runs and soak tests without a database
+     */
+    IN_MEMORY {
+        @Override
+        public Repositories create() {
+            return new Repositories(new InMemoryStatusRepository(), new InMemoryIgnoredUserRepository(),
+                    new InMemoryIgnoredKeywordRepository(Collections.emptySet(), Collections.emptySet()), new InMemoryQuoteJournalRepository());
+        }
+
+        @Override
+        public void initialize() {
+            logger.warn("repositories are kept in memory, nothing is persisted.");
+        }
+    };
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryBackend.class);
+
+    public abstract Repositories create();
+
+    /**
+     * Prepares the backend before repositories are used.
+     */
+    public abstract void initialize();
+
+    public static RepositoryBackend fromSystemProperties() {
+        return valueOf(System.getProperty("repositoryBackend", POSTGRESQL.name()).toUpperCase());
+    }
+}
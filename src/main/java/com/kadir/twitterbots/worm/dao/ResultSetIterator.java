@@ -0,0 +1,84 @@
+package com.kadir.twitterbots.worm.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates a query through a server-side cursor. Rows are fetched from PostgreSQL {@code dbFetchSize} at a time on
+ * a dedicated connection with autocommit off, which is closed together with the iterator.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 13:12
+ */
+public class ResultSetIterator<T> implements CloseableIterator<T> {
+    private static final Logger logger = LoggerFactory.getLogger(ResultSetIterator.class);
+
+    private final Connection connection;
+    private final PreparedStatement preparedStatement;
+    private final ResultSet resultSet;
+    private final RowMapper<T> rowMapper;
+    private T next;
+    private boolean isClosed = false;
+
+    ResultSetIterator(Connection connection, PreparedStatement preparedStatement, RowMapper<T> rowMapper) throws SQLException {
+        this.connection = connection;
+        this.preparedStatement = preparedStatement;
+        this.rowMapper = rowMapper;
+        this.resultSet = preparedStatement.executeQuery();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !isClosed) {
+            advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T current = next;
+        next = null;
+        return current;
+    }
+
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        try {
+            resultSet.close();
+            preparedStatement.close();
+            connection.commit();
+        } catch (SQLException e) {
+            logger.error("Error during streaming query close: ", e);
+        } finally {
+            DatabaseConnector.closeDedicatedConnection(connection);
+        }
+    }
+
+    private void advance() {
+        try {
+            if (resultSet.next()) {
+                next = rowMapper.map(resultSet);
+            } else {
+                close();
+            }
+        } catch (SQLException e) {
+            logger.error("Error during streaming query read: ", e);
+            close();
+        }
+    }
+}
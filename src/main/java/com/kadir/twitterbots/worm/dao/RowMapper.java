@@ -0,0 +1,14 @@
+package com.kadir.twitterbots.worm.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 13:10
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    T map(ResultSet resultSet) throws SQLException;
+}
@@ -0,0 +1,103 @@
+package com.kadir.twitterbots.worm.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Applies versioned schema migrations in order and records each applied version in {@code schema_version}.
+ * Databases created before versioning start from version 1, which is the original {@code popular_tweets} layout.
+ * Migrations run in transactions of a dedicated connection, so the shared connection stays in autocommit mode.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 12:02
+ */
+class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    static final int POPULAR_TWEETS_BASELINE = 1;
+    static final int POPULAR_TWEETS_PARTITIONED = 2;
+    static final int POPULAR_TWEETS_BACKFILLED = 3;
+    static final int QUOTE_JOURNAL = 4;
+
+    private SchemaMigrator() {
+    }
+
+    static void migrate() throws SQLException {
+        Connection connection = DatabaseConnector.openTransactionConnection();
+        try {
+            migrate(connection);
+        } finally {
+            DatabaseConnector.closeDedicatedConnection(connection);
+        }
+    }
+
+    private static void migrate(Connection connection) throws SQLException {
+        createSchemaVersionTableIfNotExist(connection);
+        int currentVersion = getCurrentVersion(connection);
+        connection.commit();
+        logger.info("Current schema version: {}", currentVersion);
+
+        if (currentVersion < POPULAR_TWEETS_BASELINE) {
+            apply(connection, POPULAR_TWEETS_BASELINE, "popular_tweets baseline", DatabaseInitialiser::createPopularTweetsTableIfNotExist);
+        }
+        if (currentVersion < POPULAR_TWEETS_PARTITIONED) {
+            apply(connection, POPULAR_TWEETS_PARTITIONED, "typed popular_tweets partitioned by found_date", PopularTweetsPartitioner::createPartitionedTable);
+        }
+        if (currentVersion < POPULAR_TWEETS_BACKFILLED) {
+            apply(connection, POPULAR_TWEETS_BACKFILLED, "backfill popular_tweets from legacy table",
+                    statement -> PopularTweetsPartitioner.backfillFromLegacyTable(connection));
+        }
+        if (currentVersion < QUOTE_JOURNAL) {
+            apply(connection, QUOTE_JOURNAL, "quote_journal of quote runs", DatabaseInitialiser::createQuoteJournalTableIfNotExist);
+        }
+    }
+
+    private static void createSchemaVersionTableIfNotExist(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS schema_version(" +
+                    "version INTEGER PRIMARY KEY," +
+                    "description varchar NOT NULL," +
+                    "applied_at timestamptz DEFAULT now());");
+        }
+    }
+
+    private static int getCurrentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static void apply(Connection connection, int version, String description, Migration migration) throws SQLException {
+        logger.info("Apply schema migration {}: {}", version, description);
+        try (Statement statement = connection.createStatement()) {
+            migration.apply(statement);
+            recordVersion(connection, version, description);
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    private static void recordVersion(Connection connection, int version, String description) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO schema_version(version, description) VALUES(?,?)")) {
+            preparedStatement.setInt(1, version);
+            preparedStatement.setString(2, description);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Migration {
+        void apply(Statement statement) throws SQLException;
+    }
+}
@@ -1,26 +1,30 @@
 package com.kadir.twitterbots.worm.dao;
 
 import com.kadir.twitterbots.worm.entity.CustomStatus;
+import com.kadir.twitterbots.worm.util.DataUtil;
+import com.kadir.twitterbots.worm.util.QuoteDay;
 import com.kadir.twitterbots.worm.util.StatusUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import twitter4j.Status;
 
 import java.sql.*;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
+ * {@link StatusRepository} over the {@code popular_tweets} table of PostgreSQL.
+ *
  * @author akadir
  * Date: 09/12/2018
  * Time: 13:30
  */
-public class StatusDao {
+public class StatusDao implements StatusRepository {
+    private static final String CUSTOM_STATUS_COLUMNS = "id, status_id, user_id, score, found_date, status_creation_date, is_quoted, quoted_date, status_link";
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
-    private SimpleDateFormat sqlDateFormat = new SimpleDateFormat("yyyyMMdd");
 
     public void saveAll(List<CustomStatus> fetchedStatuses) {
         for (CustomStatus customStatus : fetchedStatuses) {
@@ -28,6 +32,7 @@ public class StatusDao {
         }
     }
 
+    @Override
     public Long saveStatus(CustomStatus status) {
         PreparedStatement preparedStatement = null;
         Long id = null;
@@ -39,12 +44,12 @@ public class StatusDao {
             preparedStatement.setLong(1, status.getStatusId());
             preparedStatement.setLong(2, status.getUserId());
             preparedStatement.setInt(3, status.getScore());
-            preparedStatement.setString(4, sqlDateFormat.format(new Date()));
-            preparedStatement.setString(5, status.getStatusCreationDate());
+            preparedStatement.setObject(4, QuoteDay.today());
+            preparedStatement.setObject(5, status.getStatusCreationDate());
             preparedStatement.setBoolean(6, false);
-            preparedStatement.setString(7, "");
+            preparedStatement.setObject(7, null, Types.DATE);
             preparedStatement.setString(8, status.getStatusLink());
-            preparedStatement.setString(9, status.getStatusText());
+            preparedStatement.setString(9, status.getStatusText() == null ? "" : status.getStatusText());
 
             int affectedRows = preparedStatement.executeUpdate();
 
@@ -71,10 +76,11 @@ public class StatusDao {
         PreparedStatement preparedStatement = null;
         try {
             Connection conn = DatabaseConnector.getConnection();
-            preparedStatement = conn.prepareStatement("UPDATE popular_tweets SET score = ? WHERE id = ?");
+            preparedStatement = conn.prepareStatement("UPDATE popular_tweets SET score = ? WHERE found_date = ? AND id = ?");
 
             preparedStatement.setInt(1, customStatus.getScore());
-            preparedStatement.setLong(2, customStatus.getId());
+            preparedStatement.setObject(2, customStatus.getFoundDate());
+            preparedStatement.setLong(3, customStatus.getId());
 
             preparedStatement.executeUpdate();
         } catch (SQLException e) {
@@ -95,14 +101,14 @@ public class StatusDao {
         try {
             Connection conn = DatabaseConnector.getConnection();
             preparedStatement = conn.prepareStatement("INSERT INTO popular_tweets(status_id, user_id, score, found_date, status_creation_date, is_quoted, quoted_date, status_link, status_text) " +
-                    "VALUES(?,?,?,?,?,?,?,?,?,?)");
+                    "VALUES(?,?,?,?,?,?,?,?,?)");
             preparedStatement.setLong(1, status.getId());
             preparedStatement.setLong(2, status.getUser().getId());
             preparedStatement.setInt(3, statusScore);
-            preparedStatement.setString(4, sqlDateFormat.format(new Date()));
-            preparedStatement.setString(5, sqlDateFormat.format(status.getCreatedAt()));
+            preparedStatement.setObject(4, QuoteDay.today());
+            preparedStatement.setObject(5, DataUtil.toLocalDate(status.getCreatedAt()));
             preparedStatement.setBoolean(6, false);
-            preparedStatement.setString(7, "");
+            preparedStatement.setObject(7, null, Types.DATE);
             preparedStatement.setString(8, statusLink);
             preparedStatement.setString(9, status.getText());
 
@@ -114,12 +120,14 @@ public class StatusDao {
         }
     }
 
+    @Override
     public void removeStatus(CustomStatus savedStatus) {
         PreparedStatement preparedStatement = null;
         try {
             Connection conn = DatabaseConnector.getConnection();
-            preparedStatement = conn.prepareStatement("DELETE FROM popular_tweets WHERE id = ?");
-            preparedStatement.setLong(1, savedStatus.getId());
+            preparedStatement = conn.prepareStatement("DELETE FROM popular_tweets WHERE found_date = ? AND id = ?");
+            preparedStatement.setObject(1, savedStatus.getFoundDate());
+            preparedStatement.setLong(2, savedStatus.getId());
 
             preparedStatement.executeUpdate();
         } catch (SQLException e) {
@@ -131,6 +139,7 @@ public class StatusDao {
     }
 
 
+    @Override
     public void updateTodaysStatusScore(Long statusId, int score) {
         PreparedStatement preparedStatement = null;
         try {
@@ -139,7 +148,7 @@ public class StatusDao {
 
             preparedStatement.setInt(1, score);
             preparedStatement.setLong(2, statusId);
-            preparedStatement.setString(3, sqlDateFormat.format(new Date()));
+            preparedStatement.setObject(3, QuoteDay.today());
 
             preparedStatement.executeUpdate();
 
@@ -158,11 +167,11 @@ public class StatusDao {
                     "WHERE status_id = ? AND found_date = ?");
             preparedStatement.setLong(1, newStatus.getId());
             preparedStatement.setInt(2, StatusUtil.calculateInteractionCount(newStatus));
-            preparedStatement.setString(3, sqlDateFormat.format(newStatus.getCreatedAt()));
+            preparedStatement.setObject(3, DataUtil.toLocalDate(newStatus.getCreatedAt()));
             preparedStatement.setString(4, StatusUtil.getStatusLink(newStatus));
             preparedStatement.setString(5, newStatus.getText());
             preparedStatement.setLong(6, oldStatusId);
-            preparedStatement.setString(7, sqlDateFormat.format(new Date()));
+            preparedStatement.setObject(7, QuoteDay.today());
 
             preparedStatement.executeUpdate();
         } catch (SQLException e) {
@@ -181,7 +190,7 @@ public class StatusDao {
                 Connection conn = DatabaseConnector.getConnection();
                 preparedStatement = conn.prepareStatement("DELETE FROM popular_tweets WHERE status_id = ? AND found_date = ?");
                 preparedStatement.setLong(1, statusId);
-                preparedStatement.setString(2, sqlDateFormat.format(new Date()));
+                preparedStatement.setObject(2, QuoteDay.today());
 
                 preparedStatement.executeUpdate();
 
@@ -202,9 +211,9 @@ public class StatusDao {
         PreparedStatement preparedStatement = null;
         try {
             Connection connection = DatabaseConnector.getConnection();
-            preparedStatement = connection.prepareStatement("SELECT * FROM popular_tweets WHERE found_date = ? AND status_id = ?");
+            preparedStatement = connection.prepareStatement("SELECT " + CUSTOM_STATUS_COLUMNS + " FROM popular_tweets WHERE found_date = ? AND status_id = ?");
 
-            preparedStatement.setString(1, sqlDateFormat.format(new Date()));
+            preparedStatement.setObject(1, QuoteDay.today());
             preparedStatement.setLong(2, statusId);
 
             ResultSet resultSet = preparedStatement.executeQuery();
@@ -223,18 +232,13 @@ public class StatusDao {
 
     public CustomStatus getStatusFromYesterdayByStatusId(Long statusId) {
         CustomStatus customStatus = null;
-
-        Calendar calendar = Calendar.getInstance();
-        calendar.add(Calendar.DATE, -1);
-        Date yesterday = calendar.getTime();
-
         PreparedStatement preparedStatement = null;
 
         try {
             Connection connection = DatabaseConnector.getConnection();
-            preparedStatement = connection.prepareStatement("SELECT * FROM popular_tweets WHERE found_date = ? AND status_id = ?");
+            preparedStatement = connection.prepareStatement("SELECT " + CUSTOM_STATUS_COLUMNS + " FROM popular_tweets WHERE found_date = ? AND status_id = ?");
 
-            preparedStatement.setString(1, sqlDateFormat.format(yesterday));
+            preparedStatement.setObject(1, QuoteDay.yesterday());
             preparedStatement.setLong(2, statusId);
 
             ResultSet resultSet = preparedStatement.executeQuery();
@@ -252,77 +256,85 @@ public class StatusDao {
         return customStatus;
     }
 
+    @Override
     public List<CustomStatus> getTodaysStatuses() {
         ArrayList<CustomStatus> todayStatuses = new ArrayList<>();
-
-        PreparedStatement preparedStatement = null;
-
-        try {
-            Connection connection = DatabaseConnector.getConnection();
-            preparedStatement = connection.prepareStatement("SELECT * FROM popular_tweets WHERE found_date = ? ORDER BY score DESC");
-
-            preparedStatement.setString(1, sqlDateFormat.format(new Date()));
-
-            ResultSet resultSet = preparedStatement.executeQuery();
-
-            while (resultSet.next()) {
-                CustomStatus s = new CustomStatus(resultSet);
-                todayStatuses.add(s);
-            }
-
-        } catch (SQLException e) {
-            logger.error("Error during today's status get: ", e);
-        } finally {
-            closeStatement(preparedStatement);
-        }
-
+        forEachTodaysStatus(todayStatuses::add);
         return todayStatuses;
     }
 
-    public boolean isStatusQuotedBefore(Long statusId) {
-        boolean isQuoted = false;
+    @Override
+    public int forEachTodaysStatus(Consumer<CustomStatus> consumer) {
+        return StreamingQuery.forEach("SELECT " + CUSTOM_STATUS_COLUMNS + " FROM popular_tweets WHERE found_date = ? ORDER BY score DESC",
+                preparedStatement -> preparedStatement.setObject(1, QuoteDay.today()),
+                CustomStatus::new,
+                consumer);
+    }
 
+    public void setStatusQuoted(CustomStatus customStatus) {
         PreparedStatement preparedStatement = null;
 
         try {
             Connection connection = DatabaseConnector.getConnection();
-            preparedStatement = connection.prepareStatement("SELECT * FROM popular_tweets WHERE status_id = ? AND is_quoted = ?");
-
-            preparedStatement.setLong(1, statusId);
-            preparedStatement.setBoolean(2, true);
+            preparedStatement = connection.prepareStatement("UPDATE popular_tweets SET is_quoted = ?, quoted_date = ? WHERE found_date = ? AND id = ?");
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-
-            while (resultSet.next()) {
-                isQuoted = true;
-            }
+            preparedStatement.setBoolean(1, true);
+            preparedStatement.setObject(2, customStatus.getFoundDate());
+            preparedStatement.setObject(3, customStatus.getFoundDate());
+            preparedStatement.setLong(4, customStatus.getId());
 
+            preparedStatement.executeUpdate();
         } catch (SQLException e) {
-            logger.error("Error during status quoted check: ", e);
+            logger.error("Error during status quoted set: ", e);
         } finally {
             closeStatement(preparedStatement);
         }
+    }
 
-        return isQuoted;
+    /**
+     * Reads found_date first, so only partitions of the horizon are scanned.
+     */
+    @Override
+    public int forEachQuotedStatusSince(LocalDate since, Consumer<CustomStatus> consumer) {
+        return StreamingQuery.forEach("SELECT status_id, user_id FROM popular_tweets WHERE found_date >= ? AND is_quoted = ?",
+                preparedStatement -> {
+                    preparedStatement.setObject(1, since);
+                    preparedStatement.setBoolean(2, true);
+                },
+                resultSet -> new CustomStatus(resultSet.getLong(1), resultSet.getLong(2), null),
+                consumer);
     }
 
-    public void setStatusQuoted(Long statusId) {
+    @Override
+    public Long setStatusQuoted(Long statusId, LocalDate foundDate) {
         PreparedStatement preparedStatement = null;
+        Long userId = null;
 
         try {
             Connection connection = DatabaseConnector.getConnection();
-            preparedStatement = connection.prepareStatement("UPDATE popular_tweets SET is_quoted = ?, quoted_date = ? WHERE id = ?");
+            preparedStatement = connection.prepareStatement("UPDATE popular_tweets SET is_quoted = ?, quoted_date = ? WHERE found_date = ? AND status_id = ? RETURNING user_id");
 
             preparedStatement.setBoolean(1, true);
-            preparedStatement.setString(2, sqlDateFormat.format(new Date()));
-            preparedStatement.setLong(3, statusId);
+            preparedStatement.setObject(2, foundDate);
+            preparedStatement.setObject(3, foundDate);
+            preparedStatement.setLong(4, statusId);
 
-            preparedStatement.executeUpdate();
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    userId = resultSet.getLong(1);
+                }
+            }
         } catch (SQLException e) {
             logger.error("Error during status quoted set: ", e);
         } finally {
             closeStatement(preparedStatement);
         }
+        return userId;
+    }
+
+    @Override
+    public void maintain() {
+        PopularTweetsPartitioner.ensureUpcomingPartitions();
     }
 
     public int getTodaysPopularTweetsCount() {
@@ -333,7 +345,7 @@ public class StatusDao {
             Connection connection = DatabaseConnector.getConnection();
             preparedStatement = connection.prepareStatement("SELECT COUNT(*) FROM popular_tweets WHERE found_date = ?");
 
-            preparedStatement.setString(1, sqlDateFormat.format(new Date()));
+            preparedStatement.setObject(1, QuoteDay.today());
 
             ResultSet resultSet = preparedStatement.executeQuery();
 
@@ -0,0 +1,57 @@
+package com.kadir.twitterbots.worm.dao;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Popular statuses found per quote day.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public interface StatusRepository {
+
+    /**
+     * Saves the status as found today.
+     *
+     * @return id of the saved status, null if it could not be saved
+     */
+    Long saveStatus(CustomStatus status);
+
+    void updateTodaysStatusScore(Long statusId, int score);
+
+    void removeStatus(CustomStatus savedStatus);
+
+    List<CustomStatus> getTodaysStatuses();
+
+    /**
+     * Passes today's statuses to the consumer ordered by score, highest first, without holding all of them at once.
+     *
+     * @return number of statuses passed
+     */
+    int forEachTodaysStatus(Consumer<CustomStatus> consumer);
+
+    /**
+     * Passes statuses found on or after the given day that are quoted, with only status id and user id set.
+     *
+     * @return number of statuses passed
+     */
+    int forEachQuotedStatusSince(LocalDate since, Consumer<CustomStatus> consumer);
+
+    /**
+     * Marks a status of a quote run as quoted. Statuses of a run are found on the quote day of the run, which is also
+     * written as their quoted date, so a run finished or resumed after midnight still records its own day.
+     *
+     * @return user id of the status, null if it is not found
+     */
+    Long setStatusQuoted(Long statusId, LocalDate foundDate);
+
+    /**
+     * Prepares storage for the upcoming quote days and drops what is not needed anymore. Called before every flush.
+     */
+    void maintain();
+}
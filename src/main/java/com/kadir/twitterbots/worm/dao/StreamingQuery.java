@@ -0,0 +1,55 @@
+package com.kadir.twitterbots.worm.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Runs read queries through {@link ResultSetIterator} so large tables are never materialised at once.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 13:25
+ */
+class StreamingQuery {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingQuery.class);
+    private static final int FETCH_SIZE = Integer.parseInt(System.getProperty("dbFetchSize", "500"));
+
+    private StreamingQuery() {
+    }
+
+    static <T> ResultSetIterator<T> stream(String sql, ParameterSetter parameterSetter, RowMapper<T> rowMapper) throws SQLException {
+        Connection connection = DatabaseConnector.openStreamingConnection();
+        try {
+            PreparedStatement preparedStatement = connection.prepareStatement(sql);
+            preparedStatement.setFetchSize(FETCH_SIZE);
+            parameterSetter.set(preparedStatement);
+            return new ResultSetIterator<>(connection, preparedStatement, rowMapper);
+        } catch (SQLException e) {
+            DatabaseConnector.closeDedicatedConnection(connection);
+            throw e;
+        }
+    }
+
+    static <T> int forEach(String sql, ParameterSetter parameterSetter, RowMapper<T> rowMapper, Consumer<T> consumer) {
+        int count = 0;
+        try (ResultSetIterator<T> iterator = stream(sql, parameterSetter, rowMapper)) {
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        } catch (SQLException e) {
+            logger.error("Error during streaming query: ", e);
+        }
+        return count;
+    }
+
+    @FunctionalInterface
+    interface ParameterSetter {
+        void set(PreparedStatement preparedStatement) throws SQLException;
+    }
+}
@@ -2,23 +2,29 @@ package com.kadir.twitterbots.worm.dao;
 
 import com.kadir.twitterbots.worm.entity.IgnoredUser;
 import com.kadir.twitterbots.worm.util.DataUtil;
+import com.kadir.twitterbots.worm.util.QuoteDay;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import twitter4j.User;
 
 import java.sql.*;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.LongConsumer;
 
 /**
+ * {@link IgnoredUserRepository} over the {@code ignored_users} table of PostgreSQL.
+ *
  * @author akadir
  * Date: 09/12/2018
  * Time: 13:30
  */
-public class UserDao {
+public class UserDao implements IgnoredUserRepository {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private SimpleDateFormat sqlDateFormat = new SimpleDateFormat("yyyyMMdd");
 
@@ -28,14 +34,14 @@ public class UserDao {
 
         try {
             Connection conn = DatabaseConnector.getConnection();
-            preparedStatement = conn.prepareStatement("SELECT statusId FROM popular_tweets WHERE user_id = ? AND found_date = ?");
+            preparedStatement = conn.prepareStatement("SELECT status_id FROM popular_tweets WHERE user_id = ? AND found_date = ?");
             preparedStatement.setLong(1, userId);
-            preparedStatement.setString(2, sqlDateFormat.format(new Date()));
+            preparedStatement.setObject(2, QuoteDay.today());
 
             ResultSet rs = preparedStatement.executeQuery();
 
             while (rs.next()) {
-                anotherStatusId = rs.getLong("statusId");
+                anotherStatusId = rs.getLong("status_id");
             }
 
         } catch (SQLException e) {
@@ -47,96 +53,153 @@ public class UserDao {
         return anotherStatusId;
     }
 
-    public Set<Long> getYesterdaysQuotedUsers() {
-        Set<Long> userIds = new HashSet<>();
-        Calendar calendar = Calendar.getInstance();
-        calendar.add(Calendar.DATE, -1);
-        Date yesterday = calendar.getTime();
-
+    @Override
+    public void insertIgnoredUser(User user) {
         PreparedStatement preparedStatement = null;
-
         try {
             Connection connection = DatabaseConnector.getConnection();
-            preparedStatement = connection.prepareStatement("SELECT DISTINCT(user_id) FROM popular_tweets WHERE found_date = ? AND  is_quoted = ?");
-
-            preparedStatement.setString(1, sqlDateFormat.format(yesterday));
-            preparedStatement.setBoolean(2, true);
-
-            ResultSet resultSet = preparedStatement.executeQuery();
+            preparedStatement = connection.prepareStatement("INSERT INTO ignored_users(user_id, screen_name) VALUES(?,?)");
 
-            while (resultSet.next()) {
-                userIds.add(resultSet.getLong(1));
-            }
+            preparedStatement.setLong(1, user.getId());
+            preparedStatement.setString(2, user.getScreenName());
 
+            preparedStatement.executeUpdate();
         } catch (SQLException e) {
-            logger.error("Error during yesterday's quoted users get: ", e);
+            logger.error("Error during ignored user insert: ", e);
         } finally {
             closeStatement(preparedStatement);
         }
-
-        return userIds;
     }
 
-    public void insertIgnoredUser(User user) {
+    @Override
+    public void batchInsertIgnoredUsers(Collection<PendingUserWrite> writes) {
         PreparedStatement preparedStatement = null;
         try {
             Connection connection = DatabaseConnector.getConnection();
-            preparedStatement = connection.prepareStatement("INSERT INTO ignored_users(user_id, screen_name) VALUES(?,?)");
-
-            preparedStatement.setLong(1, user.getId());
-            preparedStatement.setString(2, user.getScreenName());
+            preparedStatement = connection.prepareStatement("INSERT INTO ignored_users(user_id, screen_name) VALUES(?,?) ON CONFLICT (user_id) DO NOTHING");
+
+            int batchCount = 0;
+            for (PendingUserWrite write : writes) {
+                if (write.isInsert()) {
+                    preparedStatement.setLong(1, write.getUserId());
+                    preparedStatement.setString(2, write.getScreenName());
+                    preparedStatement.addBatch();
+                    batchCount++;
+                }
+            }
 
-            preparedStatement.executeUpdate();
+            if (batchCount > 0) {
+                preparedStatement.executeBatch();
+            }
         } catch (SQLException e) {
-            logger.error("Error during ignored user insert: ", e);
+            logger.error("Error during ignored users batch insert: ", e);
         } finally {
             closeStatement(preparedStatement);
         }
     }
 
-    public Set<Long> getIgnoredUserIds() {
-        Set<Long> ignoredUsersIds = new HashSet<>();
-        PreparedStatement preparedStatement = null;
-        ResultSet resultSet = null;
+    @Override
+    public void batchUpdateIgnoredUsers(Collection<PendingUserWrite> writes) {
+        PreparedStatement lastCheckStatement = null;
+        PreparedStatement passiveStatement = null;
+        PreparedStatement activeStatement = null;
         try {
-            Connection connection = DatabaseConnector.getConnection();
-            preparedStatement = connection.prepareStatement("SELECT user_id FROM ignored_users WHERE passive_since='' or (passive_since != '' and last_check=?)");
-            preparedStatement.setString(1, sqlDateFormat.format(new Date()));
-
-            resultSet = preparedStatement.executeQuery();
+            Connection conn = DatabaseConnector.getConnection();
+            lastCheckStatement = conn.prepareStatement("UPDATE ignored_users SET last_check = ? WHERE user_id = ?");
+            passiveStatement = conn.prepareStatement("UPDATE ignored_users SET passive_since = ?, last_check = ? WHERE user_id = ?");
+            activeStatement = conn.prepareStatement("UPDATE ignored_users SET passive_since = '', last_check = ? WHERE user_id = ?");
+
+            int lastCheckCount = 0;
+            int passiveCount = 0;
+            int activeCount = 0;
+            for (PendingUserWrite write : writes) {
+                switch (write.getUpdateType()) {
+                    case LAST_CHECK:
+                        lastCheckStatement.setString(1, write.getLastCheck());
+                        lastCheckStatement.setLong(2, write.getUserId());
+                        lastCheckStatement.addBatch();
+                        lastCheckCount++;
+                        break;
+                    case PASSIVE:
+                        passiveStatement.setString(1, write.getPassiveSince());
+                        passiveStatement.setString(2, write.getLastCheck());
+                        passiveStatement.setLong(3, write.getUserId());
+                        passiveStatement.addBatch();
+                        passiveCount++;
+                        break;
+                    case ACTIVE:
+                        activeStatement.setString(1, write.getLastCheck());
+                        activeStatement.setLong(2, write.getUserId());
+                        activeStatement.addBatch();
+                        activeCount++;
+                        break;
+                    default:
+                        break;
+                }
+            }
 
-            while (resultSet.next()) {
-                ignoredUsersIds.add(resultSet.getLong(1));
+            if (lastCheckCount > 0) {
+                lastCheckStatement.executeBatch();
+            }
+            if (passiveCount > 0) {
+                passiveStatement.executeBatch();
+            }
+            if (activeCount > 0) {
+                activeStatement.executeBatch();
             }
         } catch (SQLException e) {
-            logger.error("Error during ignored user id get: ", e);
+            logger.error("Error during ignored users batch update: ", e);
         } finally {
-            closeResultSet(resultSet);
-            closeStatement(preparedStatement);
+            closeStatement(lastCheckStatement);
+            closeStatement(passiveStatement);
+            closeStatement(activeStatement);
         }
+    }
+
+    public Set<Long> getIgnoredUserIds() {
+        Set<Long> ignoredUsersIds = new HashSet<>();
+        forEachIgnoredUserId(ignoredUsersIds::add);
         return ignoredUsersIds;
     }
 
-    public Set<IgnoredUser> getIgnoredUsers() {
-        Set<IgnoredUser> ignoredUsers = new HashSet<>();
+    @Override
+    public int forEachIgnoredUserId(LongConsumer consumer) {
+        return StreamingQuery.forEach("SELECT user_id FROM ignored_users WHERE passive_since='' or (passive_since != '' and last_check=?)",
+                preparedStatement -> preparedStatement.setString(1, sqlDateFormat.format(new Date())),
+                resultSet -> resultSet.getLong(1),
+                consumer::accept);
+    }
+
+    /**
+     * Keyset paged on user_id, so a batch costs the same wherever it starts.
+     *
+     * @return no users if the query fails
+     */
+    @Override
+    public List<IgnoredUser> getIgnoredUsersToCheck(long afterUserId, int limit) {
+        List<IgnoredUser> ignoredUsers = new ArrayList<>(limit);
         PreparedStatement preparedStatement = null;
-        ResultSet resultSet = null;
+
         try {
             Connection connection = DatabaseConnector.getConnection();
-            preparedStatement = connection.prepareStatement("SELECT * FROM ignored_users WHERE last_check='' or last_check < ?");
+            preparedStatement = connection.prepareStatement("SELECT * FROM ignored_users WHERE (last_check='' or last_check < ?) AND user_id > ? ORDER BY user_id LIMIT ?");
+
             preparedStatement.setString(1, DataUtil.getYesterday());
+            preparedStatement.setLong(2, afterUserId);
+            preparedStatement.setInt(3, limit);
 
-            resultSet = preparedStatement.executeQuery();
+            ResultSet resultSet = preparedStatement.executeQuery();
 
             while (resultSet.next()) {
                 ignoredUsers.add(new IgnoredUser(resultSet));
             }
+
         } catch (SQLException e) {
             logger.error("Error during ignored users get: ", e);
         } finally {
-            closeResultSet(resultSet);
             closeStatement(preparedStatement);
         }
+
         return ignoredUsers;
     }
 
@@ -194,6 +257,7 @@ public class UserDao {
 
     }
 
+    @Override
     public void deleteIgnoredUser(IgnoredUser ignoredUser) {
         PreparedStatement preparedStatement = null;
         try {
@@ -209,16 +273,6 @@ public class UserDao {
         }
     }
 
-    private void closeResultSet(ResultSet resultSet) {
-        if (resultSet != null) {
-            try {
-                resultSet.close();
-            } catch (SQLException e) {
-                logger.error("Error during result set close: ", e);
-            }
-        }
-    }
-
     private void closeStatement(Statement statement) {
         if (statement != null) {
             try {
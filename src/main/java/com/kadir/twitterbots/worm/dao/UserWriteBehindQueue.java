@@ -0,0 +1,137 @@
+package com.kadir.twitterbots.worm.dao;
+
+import com.kadir.twitterbots.worm.entity.IgnoredUser;
+import com.kadir.twitterbots.worm.entity.TaskPriority;
+import com.kadir.twitterbots.worm.scheduler.ScheduledTask;
+import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind queue for {@link IgnoredUserRepository} mutations. Operations are coalesced per user id and written in
+ * batches once {@code ignoredUserWriteBatchSize} users are pending or every {@code ignoredUserWriteFlushSeconds}.
+ * Callers are expected to keep their in-memory state up to date themselves.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 11:20
+ */
+public class UserWriteBehindQueue {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private static final String TASK_NAME = "IgnoredUserWriteFlush";
+
+    private final IgnoredUserRepository ignoredUserRepository;
+    private final ConcurrentMap<Long, PendingUserWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final Object flushLock = new Object();
+    private final ScheduledTask flushTask;
+    private final Thread shutdownHook;
+    private final int batchSize;
+    private final int flushSeconds;
+    private volatile boolean isShutdown = false;
+
+    public UserWriteBehindQueue(IgnoredUserRepository ignoredUserRepository) {
+        this.ignoredUserRepository = ignoredUserRepository;
+        this.batchSize = Integer.parseInt(System.getProperty("ignoredUserWriteBatchSize", "100"));
+        logger.debug("Set ignoredUserWriteBatchSize:{}", batchSize);
+        this.flushSeconds = Integer.parseInt(System.getProperty("ignoredUserWriteFlushSeconds", "30"));
+        logger.debug("Set ignoredUserWriteFlushSeconds:{}", flushSeconds);
+
+        flushTask = TaskScheduler.scheduleWithFixedDelay(TASK_NAME, TaskPriority.HIGH, this::flushQuietly, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+
+        shutdownHook = new Thread(this::flush, "ignored-user-writer-drain");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public void insertIgnoredUser(User user) {
+        pendingWrites.compute(user.getId(), (userId, write) -> orNew(userId, write).mergeInsert(user.getScreenName()));
+        afterEnqueue();
+    }
+
+    public void setLastCheck(IgnoredUser ignoredUser) {
+        pendingWrites.compute(ignoredUser.getUserId(), (userId, write) -> orNew(userId, write).mergeLastCheck(ignoredUser.getLastCheck()));
+        afterEnqueue();
+    }
+
+    public void updateIgnoredUserToPassive(IgnoredUser ignoredUser) {
+        pendingWrites.compute(ignoredUser.getUserId(), (userId, write) -> orNew(userId, write).mergePassive(ignoredUser.getPassiveSince(), ignoredUser.getLastCheck()));
+        afterEnqueue();
+    }
+
+    public void setUserActive(IgnoredUser ignoredUser) {
+        pendingWrites.compute(ignoredUser.getUserId(), (userId, write) -> orNew(userId, write).mergeActive(ignoredUser.getLastCheck()));
+        afterEnqueue();
+    }
+
+    public int getPendingCount() {
+        return pendingWrites.size();
+    }
+
+    /**
+     * Writes every pending operation. Blocks until the batches are executed.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            if (pendingWrites.isEmpty()) {
+                return;
+            }
+
+            List<PendingUserWrite> writes = new ArrayList<>(pendingWrites.size());
+            for (Long userId : pendingWrites.keySet()) {
+                PendingUserWrite write = pendingWrites.remove(userId);
+                if (write != null) {
+                    writes.add(write);
+                }
+            }
+
+            long start = System.currentTimeMillis();
+            ignoredUserRepository.batchInsertIgnoredUsers(writes);
+            ignoredUserRepository.batchUpdateIgnoredUsers(writes);
+            logger.info("flush ignored user writes. users: {} took: {} ms", writes.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    public void shutdown() {
+        if (isShutdown) {
+            return;
+        }
+        isShutdown = true;
+        flushTask.cancel();
+        flush();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            logger.debug("JVM is already shutting down, drain hook stays registered.");
+        }
+        logger.info("shutdown ignored user write-behind queue.");
+    }
+
+    private PendingUserWrite orNew(Long userId, PendingUserWrite write) {
+        return write != null ? write : new PendingUserWrite(userId);
+    }
+
+    private void afterEnqueue() {
+        if (isShutdown) {
+            flush();
+        } else if (pendingWrites.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            TaskScheduler.execute(TASK_NAME, TaskPriority.HIGH, this::flushQuietly);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Error during ignored user writes flush: ", e);
+        }
+    }
+}
@@ -1,33 +1,43 @@
 package com.kadir.twitterbots.worm.entity;
 
+import com.kadir.twitterbots.worm.util.DataUtil;
+import com.kadir.twitterbots.worm.util.QuoteDay;
 import com.kadir.twitterbots.worm.util.StatusUtil;
 import twitter4j.Status;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Date;
+import java.time.ZoneId;
 
 /**
+ * Candidate status kept in the pool. Dates are stored as epoch days and the link is derived from screen name and
+ * status id, so an instance is a handful of primitives. The text is kept as utf-8 only until the status is persisted,
+ * see {@link #releaseStatusText()}.
+ *
  * @author akadir
  * Date: 23/12/2017
  * Time: 14:49
  */
 public class CustomStatus {
-    private final SimpleDateFormat sqlDateFormat = new SimpleDateFormat("yyyyMMdd");
+    private static final String STATUS_LINK_PREFIX = "https://twitter.com/";
+    private static final String STATUS_LINK_INFIX = "/status/";
+    public static final int NO_DATE = Integer.MIN_VALUE;
 
-    private Long id;
+    private long id;
     private long statusId;
     private long userId;
+    private long fetchedAtMillis;
     private int score;
-    private String foundDate;
-    private String statusCreationDate;
+    private int foundEpochDay;
+    private int creationEpochDay;
+    private int quotedEpochDay;
     private boolean isQuoted;
-    private String quotedDate;
-    private String statusLink;
-    private String statusText;
-    private LocalDateTime fetchedAt;
+    private String screenName;
+    private byte[] statusText;
 
     public CustomStatus(ResultSet resultSet) throws SQLException {
         getFromResultSet(resultSet);
@@ -37,44 +47,105 @@ public class CustomStatus {
         getFromStatus(status);
     }
 
+    /**
+     * Status with only its identity set, for stores that keep the other fields elsewhere and set them afterwards.
+     */
+    public CustomStatus(long statusId, long userId, String screenName) {
+        this.statusId = statusId;
+        this.userId = userId;
+        this.screenName = screenName;
+        foundEpochDay = NO_DATE;
+        creationEpochDay = NO_DATE;
+        quotedEpochDay = NO_DATE;
+        fetchedAtMillis = System.currentTimeMillis();
+    }
+
+    public CustomStatus(CustomStatus customStatus) {
+        id = customStatus.id;
+        statusId = customStatus.statusId;
+        userId = customStatus.userId;
+        fetchedAtMillis = customStatus.fetchedAtMillis;
+        score = customStatus.score;
+        foundEpochDay = customStatus.foundEpochDay;
+        creationEpochDay = customStatus.creationEpochDay;
+        quotedEpochDay = customStatus.quotedEpochDay;
+        isQuoted = customStatus.isQuoted;
+        screenName = customStatus.screenName;
+        statusText = customStatus.statusText;
+    }
+
+    /**
+     * status_text is not read, rows in the database are already persisted.
+     */
     private void getFromResultSet(ResultSet resultSet) throws SQLException {
         id = resultSet.getLong("id");
         statusId = resultSet.getLong("status_id");
         userId = resultSet.getLong("user_id");
         score = resultSet.getInt("score");
-        foundDate = resultSet.getString("found_date");
-        statusCreationDate = resultSet.getString("status_creation_date");
+        foundEpochDay = toEpochDay(resultSet.getObject("found_date", LocalDate.class));
+        creationEpochDay = toEpochDay(resultSet.getObject("status_creation_date", LocalDate.class));
         isQuoted = resultSet.getBoolean("is_quoted");
-        quotedDate = resultSet.getString("quoted_date");
-        statusLink = resultSet.getString("status_link");
-        statusText = resultSet.getString("status_text");
-        fetchedAt = LocalDateTime.now();
+        quotedEpochDay = toEpochDay(resultSet.getObject("quoted_date", LocalDate.class));
+        screenName = parseScreenName(resultSet.getString("status_link"), statusId);
+        statusText = null;
+        fetchedAtMillis = System.currentTimeMillis();
     }
 
     private void getFromStatus(Status status) {
-        id = null;
+        id = 0;
         statusId = status.getId();
         userId = status.getUser().getId();
         score = StatusUtil.calculateInteractionCount(status);
-        foundDate = sqlDateFormat.format(new Date());
-        statusCreationDate = sqlDateFormat.format(status.getCreatedAt());
+        foundEpochDay = toEpochDay(QuoteDay.today());
+        creationEpochDay = toEpochDay(DataUtil.toLocalDate(status.getCreatedAt()));
         isQuoted = false;
-        quotedDate = "";
-        statusLink = StatusUtil.getStatusLink(status);
-        statusText = status.getText();
-        fetchedAt = LocalDateTime.now();
+        quotedEpochDay = NO_DATE;
+        screenName = status.getUser().getScreenName();
+        statusText = status.getText() == null ? null : status.getText().getBytes(StandardCharsets.UTF_8);
+        fetchedAtMillis = System.currentTimeMillis();
+    }
+
+    private static int toEpochDay(LocalDate localDate) {
+        return localDate == null ? NO_DATE : (int) localDate.toEpochDay();
+    }
+
+    private static LocalDate toLocalDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * @return screen name in a link built by {@link StatusUtil#getStatusLink(Status)}, null if the link has another form
+     */
+    private static String parseScreenName(String statusLink, long statusId) {
+        String suffix = STATUS_LINK_INFIX + statusId;
+        if (statusLink == null || !statusLink.startsWith(STATUS_LINK_PREFIX) || !statusLink.endsWith(suffix)
+                || statusLink.length() <= STATUS_LINK_PREFIX.length() + suffix.length()) {
+            return null;
+        }
+        return statusLink.substring(STATUS_LINK_PREFIX.length(), statusLink.length() - suffix.length());
     }
 
     public String getStatusInformation() {
-        return "Score: " + score + " | Created at: " + statusCreationDate + " | Link: " + statusLink + " | Text:" + statusText;
+        String information = "Score: " + score + " | Created at: " + DataUtil.formatSqlDate(getStatusCreationDate()) + " | Link: " + getStatusLink();
+        return statusText == null ? information : information + " | Text:" + getStatusText();
     }
 
+    /**
+     * Drops the text once the status is persisted, it is not needed afterwards.
+     */
+    public void releaseStatusText() {
+        statusText = null;
+    }
+
+    /**
+     * @return null until the status is persisted
+     */
     public Long getId() {
-        return id;
+        return id == 0 ? null : id;
     }
 
     public void setId(Long id) {
-        this.id = id;
+        this.id = id == null ? 0 : id;
     }
 
     public long getStatusId() {
@@ -101,20 +172,39 @@ public class CustomStatus {
         this.score = score;
     }
 
-    public String getFoundDate() {
-        return foundDate;
+    public LocalDate getFoundDate() {
+        return toLocalDate(foundEpochDay);
+    }
+
+    public void setFoundDate(LocalDate foundDate) {
+        this.foundEpochDay = toEpochDay(foundDate);
     }
 
-    public void setFoundDate(String foundDate) {
-        this.foundDate = foundDate;
+    public LocalDate getStatusCreationDate() {
+        return toLocalDate(creationEpochDay);
     }
 
-    public String getStatusCreationDate() {
-        return statusCreationDate;
+    public void setStatusCreationDate(LocalDate statusCreationDate) {
+        this.creationEpochDay = toEpochDay(statusCreationDate);
     }
 
-    public void setStatusCreationDate(String statusCreationDate) {
-        this.statusCreationDate = statusCreationDate;
+    /**
+     * @return {@link #NO_DATE} if there is no found date
+     */
+    public int getFoundEpochDay() {
+        return foundEpochDay;
+    }
+
+    public void setFoundEpochDay(int foundEpochDay) {
+        this.foundEpochDay = foundEpochDay;
+    }
+
+    public int getStatusCreationEpochDay() {
+        return creationEpochDay;
+    }
+
+    public void setStatusCreationEpochDay(int creationEpochDay) {
+        this.creationEpochDay = creationEpochDay;
     }
 
     public boolean isQuoted() {
@@ -125,35 +215,64 @@ public class CustomStatus {
         isQuoted = quoted;
     }
 
-    public String getQuotedDate() {
-        return quotedDate;
+    public LocalDate getQuotedDate() {
+        return toLocalDate(quotedEpochDay);
+    }
+
+    public void setQuotedDate(LocalDate quotedDate) {
+        this.quotedEpochDay = toEpochDay(quotedDate);
     }
 
-    public void setQuotedDate(String quotedDate) {
-        this.quotedDate = quotedDate;
+    public int getQuotedEpochDay() {
+        return quotedEpochDay;
     }
 
+    public void setQuotedEpochDay(int quotedEpochDay) {
+        this.quotedEpochDay = quotedEpochDay;
+    }
+
+    /**
+     * @return link built from screen name and status id, twitter redirects the i/web form when screen name is unknown
+     */
+    /**
+     * Built on every call, guard debug logging of it on paths that run for every candidate.
+     */
     public String getStatusLink() {
-        return statusLink;
+        return STATUS_LINK_PREFIX + (screenName == null ? "i/web" : screenName) + STATUS_LINK_INFIX + statusId;
+    }
+
+    public String getScreenName() {
+        return screenName;
     }
 
-    public void setStatusLink(String statusLink) {
-        this.statusLink = statusLink;
+    public void setScreenName(String screenName) {
+        this.screenName = screenName;
     }
 
+    /**
+     * @return null if the text is released or the status is loaded from database
+     */
     public String getStatusText() {
-        return statusText;
+        return statusText == null ? null : new String(statusText, StandardCharsets.UTF_8);
     }
 
     public void setStatusText(String statusText) {
-        this.statusText = statusText;
+        this.statusText = statusText == null ? null : statusText.getBytes(StandardCharsets.UTF_8);
     }
 
     public LocalDateTime getFetchedAt() {
-        return fetchedAt;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(fetchedAtMillis), ZoneId.systemDefault());
     }
 
     public void setFetchedAt(LocalDateTime fetchedAt) {
-        this.fetchedAt = fetchedAt;
+        this.fetchedAtMillis = fetchedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public long getFetchedAtMillis() {
+        return fetchedAtMillis;
+    }
+
+    public void setFetchedAtMillis(long fetchedAtMillis) {
+        this.fetchedAtMillis = fetchedAtMillis;
     }
 }
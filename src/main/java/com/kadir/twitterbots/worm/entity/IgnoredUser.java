@@ -21,6 +21,14 @@ public class IgnoredUser {
         getFromResultSet(resultSet);
     }
 
+    public IgnoredUser(long userId, String screenName, String createdDate, String passiveSince, String lastCheck) {
+        this.userId = userId;
+        this.screenName = screenName;
+        this.createdDate = createdDate;
+        this.passiveSince = passiveSince;
+        this.lastCheck = lastCheck;
+    }
+
     private void getFromResultSet(ResultSet resultSet) throws SQLException {
         userId = resultSet.getLong("user_id");
         screenName = resultSet.getString("screen_name");
@@ -0,0 +1,105 @@
+package com.kadir.twitterbots.worm.entity;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * One status of a quote run. Run id is the quote day, so a day is quoted by a single thread whatever happens to the
+ * process in between.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 20:32
+ */
+public class QuoteJournalEntry {
+    private LocalDate runId;
+    private int rank;
+    private long sourceStatusId;
+    private String sourceStatusLink;
+    private long postedStatusId = -1;
+    private QuoteState state;
+    private int attempts;
+
+    public QuoteJournalEntry(LocalDate runId, int rank, CustomStatus customStatus) {
+        this.runId = runId;
+        this.rank = rank;
+        this.sourceStatusId = customStatus.getStatusId();
+        this.sourceStatusLink = customStatus.getStatusLink();
+        this.state = QuoteState.PENDING;
+    }
+
+    public QuoteJournalEntry(QuoteJournalEntry entry) {
+        this.runId = entry.runId;
+        this.rank = entry.rank;
+        this.sourceStatusId = entry.sourceStatusId;
+        this.sourceStatusLink = entry.sourceStatusLink;
+        this.postedStatusId = entry.postedStatusId;
+        this.state = entry.state;
+        this.attempts = entry.attempts;
+    }
+
+    public QuoteJournalEntry(ResultSet resultSet) throws SQLException {
+        getFromResultSet(resultSet);
+    }
+
+    private void getFromResultSet(ResultSet resultSet) throws SQLException {
+        runId = resultSet.getObject("run_id", LocalDate.class);
+        rank = resultSet.getInt("rank");
+        sourceStatusId = resultSet.getLong("source_status_id");
+        sourceStatusLink = resultSet.getString("source_status_link");
+        long posted = resultSet.getLong("posted_status_id");
+        postedStatusId = resultSet.wasNull() ? -1 : posted;
+        state = QuoteState.valueOf(resultSet.getString("state"));
+        attempts = resultSet.getInt("attempts");
+    }
+
+    public LocalDate getRunId() {
+        return runId;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public long getSourceStatusId() {
+        return sourceStatusId;
+    }
+
+    public String getSourceStatusLink() {
+        return sourceStatusLink;
+    }
+
+    public long getPostedStatusId() {
+        return postedStatusId;
+    }
+
+    public void setPostedStatusId(long postedStatusId) {
+        this.postedStatusId = postedStatusId;
+    }
+
+    public QuoteState getState() {
+        return state;
+    }
+
+    public void setState(QuoteState state) {
+        this.state = state;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getStatusText() {
+        return rank + ". " + sourceStatusLink;
+    }
+
+    @Override
+    public String toString() {
+        return runId + " #" + rank + " " + state + " - " + sourceStatusLink;
+    }
+}
@@ -0,0 +1,28 @@
+package com.kadir.twitterbots.worm.entity;
+
+/**
+ * State of one status of a quote run in the quote journal.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 20:30
+ */
+public enum QuoteState {
+    /**
+     * not posted yet
+     */
+    PENDING,
+    /**
+     * post request may have been sent, it has to be looked up before posting again
+     */
+    POSTING,
+    POSTED,
+    /**
+     * given up after retries, the thread continues with the next status
+     */
+    FAILED;
+
+    public boolean isFinished() {
+        return this == POSTED || this == FAILED;
+    }
+}
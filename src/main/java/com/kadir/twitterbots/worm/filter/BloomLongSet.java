@@ -0,0 +1,110 @@
+package com.kadir.twitterbots.worm.filter;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of ids behind a Bloom filter. An id the filter rules out is answered from its bits alone, the others
+ * are confirmed by a binary search of the sorted ids, so the set has no false positives. Bits are sized for twice the
+ * ids it is built with, {@link #with(long)} rebuilds them once that room is used up.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+final class BloomLongSet {
+    static final BloomLongSet EMPTY = of(new long[0]);
+
+    private static final int BITS_PER_ID = 16;
+    private static final int HASH_COUNT = 8;
+    private static final int MIN_CAPACITY = 64;
+
+    private final long[] bits;
+    private final long[] sortedIds;
+    private final int capacity;
+
+    private BloomLongSet(long[] bits, long[] sortedIds, int capacity) {
+        this.bits = bits;
+        this.sortedIds = sortedIds;
+        this.capacity = capacity;
+    }
+
+    static BloomLongSet of(long[] ids) {
+        long[] sortedIds = Arrays.stream(ids).sorted().distinct().toArray();
+        int capacity = Math.max(MIN_CAPACITY, sortedIds.length * 2);
+        long[] bits = new long[(int) (((long) capacity * BITS_PER_ID + 63) >>> 6)];
+        for (long id : sortedIds) {
+            add(bits, id);
+        }
+        return new BloomLongSet(bits, sortedIds, capacity);
+    }
+
+    boolean contains(long id) {
+        return mightContain(bits, id) && Arrays.binarySearch(sortedIds, id) >= 0;
+    }
+
+    /**
+     * @return set with the id added, this set if it is already there
+     */
+    BloomLongSet with(long id) {
+        int index = Arrays.binarySearch(sortedIds, id);
+        if (index >= 0) {
+            return this;
+        }
+
+        int insertion = -index - 1;
+        long[] ids = new long[sortedIds.length + 1];
+        System.arraycopy(sortedIds, 0, ids, 0, insertion);
+        ids[insertion] = id;
+        System.arraycopy(sortedIds, insertion, ids, insertion + 1, sortedIds.length - insertion);
+        if (ids.length > capacity) {
+            return of(ids);
+        }
+
+        long[] addedBits = bits.clone();
+        add(addedBits, id);
+        return new BloomLongSet(addedBits, ids, capacity);
+    }
+
+    int size() {
+        return sortedIds.length;
+    }
+
+    private static void add(long[] bits, long id) {
+        long hash = mix(id);
+        long bitCount = (long) bits.length << 6;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            long bit = bitIndex(hash, i, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private static boolean mightContain(long[] bits, long id) {
+        long hash = mix(id);
+        long bitCount = (long) bits.length << 6;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            long bit = bitIndex(hash, i, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Double hashing over the two halves of the mixed id.
+     */
+    private static long bitIndex(long hash, int i, long bitCount) {
+        int combined = (int) hash + i * (int) (hash >>> 32);
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    /**
+     * Finalizer of SplitMix64, status and user ids are sequential enough to cluster without it.
+     */
+    private static long mix(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -1,19 +1,14 @@
 package com.kadir.twitterbots.worm.filter;
 
 import com.google.common.base.Optional;
-import com.kadir.twitterbots.worm.dao.ContentFilterDao;
+import com.kadir.twitterbots.worm.dao.IgnoredKeywordRepository;
 import com.kadir.twitterbots.worm.entity.TaskPriority;
 import com.kadir.twitterbots.worm.exceptions.IllegalLanguageKeyException;
-import com.kadir.twitterbots.worm.exceptions.LanguageIdentifierInitialisingException;
 import com.kadir.twitterbots.worm.scheduler.BaseScheduledRunnable;
 import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
 import com.kadir.twitterbots.worm.util.DataUtil;
 import com.optimaize.langdetect.LanguageDetector;
-import com.optimaize.langdetect.LanguageDetectorBuilder;
 import com.optimaize.langdetect.i18n.LdLocale;
-import com.optimaize.langdetect.ngram.NgramExtractors;
-import com.optimaize.langdetect.profiles.LanguageProfile;
-import com.optimaize.langdetect.profiles.LanguageProfileReader;
 import com.optimaize.langdetect.text.CommonTextObjectFactories;
 import com.optimaize.langdetect.text.TextObject;
 import com.optimaize.langdetect.text.TextObjectFactory;
@@ -24,11 +19,8 @@ import twitter4j.Status;
 import twitter4j.UserMentionEntity;
 import zemberek.langid.LanguageIdentifier;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static com.kadir.twitterbots.worm.util.WormConstants.DEFAULT_DELAY_FOR_SCHEDULED_TASKS;
@@ -45,32 +37,35 @@ public class ContentBasedFilter extends BaseScheduledRunnable implements StatusF
     private String languageKey;
     private LanguageIdentifier languageIdentifier;
     private LanguageDetector languageDetector;
-    private ContentFilterDao contentFilterDao;
-    private Set<String> ignoredWords;
-    private Set<String> ignoredUsernames;
+    private IgnoredKeywordRepository ignoredKeywordRepository;
+    private volatile Set<String> ignoredWords;
+    private volatile Set<String> ignoredUsernames;
 
-    public ContentBasedFilter() {
+    public ContentBasedFilter(IgnoredKeywordRepository ignoredKeywordRepository) {
+        this(LanguageModels.load(), ignoredKeywordRepository);
+    }
+
+    public ContentBasedFilter(LanguageModels languageModels, IgnoredKeywordRepository ignoredKeywordRepository) {
         super(TaskPriority.LOW);
-        init();
+        this.ignoredKeywordRepository = ignoredKeywordRepository;
+        init(languageModels);
     }
 
-    private void init() {
+    private void init(LanguageModels languageModels) {
         languageKey = System.getProperty("languageKey");
         if (DataUtil.isNullOrEmpty(languageKey)) {
             throw new IllegalLanguageKeyException(languageKey);
         }
         logger.debug("Set languageKey:{}", languageKey);
-        initializeLanguageIdentifiers();
-        contentFilterDao = new ContentFilterDao();
+        languageIdentifier = languageModels.getLanguageIdentifier();
+        languageDetector = languageModels.getLanguageDetector();
         loadIgnoredKeyWords();
-        executorService = Executors.newScheduledThreadPool(1);
     }
 
     @Override
     public void schedule() {
-        executorService.scheduleWithFixedDelay(this, DEFAULT_INITIAL_DELAY_FOR_SCHEDULED_TASKS, DEFAULT_DELAY_FOR_SCHEDULED_TASKS, TimeUnit.MINUTES);
+        scheduledTask = TaskScheduler.scheduleWithFixedDelay(this, DEFAULT_INITIAL_DELAY_FOR_SCHEDULED_TASKS, DEFAULT_DELAY_FOR_SCHEDULED_TASKS, TimeUnit.MINUTES);
         logger.info("add scheduler to run with fixed delay. initial delay:{} delay:{}", DEFAULT_INITIAL_DELAY_FOR_SCHEDULED_TASKS, DEFAULT_DELAY_FOR_SCHEDULED_TASKS);
-        TaskScheduler.addScheduledTask(this);
     }
 
     /**
@@ -92,9 +87,18 @@ public class ContentBasedFilter extends BaseScheduledRunnable implements StatusF
     }
 
     @Override
-    public boolean passed(Status status) {
+    public RejectReason reject(Status status) {
         String statusText = clearStatusText(status);
-        return statusText.length() > 30 && !doesStatusContainIgnoredWord(status) && checkLanguageViaZemberek(statusText) && checkLanguageViaOptimaizeLanguageDetector(statusText);
+        if (statusText.length() <= 30) {
+            return RejectReason.TEXT_LENGTH;
+        } else if (containsIgnoredWord(status.getText().toLowerCase())) {
+            return RejectReason.KEYWORD;
+        } else if (isMentionToIgnoredUsername(status)) {
+            return RejectReason.MENTION;
+        } else if (!checkLanguageViaZemberek(statusText) || !checkLanguageViaOptimaizeLanguageDetector(statusText)) {
+            return RejectReason.LANGUAGE;
+        }
+        return null;
     }
 
     private String clearStatusText(Status status) {
@@ -104,12 +108,6 @@ public class ContentBasedFilter extends BaseScheduledRunnable implements StatusF
         return statusText;
     }
 
-    private boolean doesStatusContainIgnoredWord(Status status) {
-        String lowerCaseContent = status.getText().toLowerCase();
-
-        return containsIgnoredWord(lowerCaseContent) || isMentionToIgnoredUsername(status);
-    }
-
     private boolean containsIgnoredWord(String lowerCaseContent) {
         for (String word : ignoredWords) {
             for (String punctuation : DataUtil.PUNCTUATION_LIST) {
@@ -152,39 +150,12 @@ public class ContentBasedFilter extends BaseScheduledRunnable implements StatusF
     }
 
     private void loadIgnoredKeyWords() {
-        ignoredWords = contentFilterDao.getIgnoredWords();
-        ignoredUsernames = contentFilterDao.getIgnoredUsernames();
+        Set<String> loadedIgnoredWords = new HashSet<>();
+        ignoredKeywordRepository.forEachIgnoredWord(loadedIgnoredWords::add);
+        Set<String> loadedIgnoredUsernames = new HashSet<>();
+        ignoredKeywordRepository.forEachIgnoredUsername(loadedIgnoredUsernames::add);
+        ignoredWords = loadedIgnoredWords;
+        ignoredUsernames = loadedIgnoredUsernames;
         logger.info("load ignored keywords from database. words: {} - usernames: {}", ignoredWords.size(), ignoredUsernames.size());
     }
-
-    private void initializeLanguageIdentifiers() {
-        try {
-            initializeZemberekLanguageIdentifier();
-            initializeOptimaizeLanguageDetector();
-        } catch (IOException e) {
-            logger.error("Error occurred while initialising language identifiers.", e);
-            throw new LanguageIdentifierInitialisingException(e);
-        }
-    }
-
-    private void initializeZemberekLanguageIdentifier() throws IOException {
-        languageIdentifier = LanguageIdentifier.fromInternalModels();
-        logger.info("Zemberek language identifier has been initialised");
-    }
-
-    private void initializeOptimaizeLanguageDetector() throws IOException {
-        List<LanguageProfile> languageProfiles = new ArrayList<>();
-        languageProfiles.add(new LanguageProfileReader().readBuiltIn(LdLocale.fromString("tr")));
-        languageProfiles.add(new LanguageProfileReader().readBuiltIn(LdLocale.fromString("en")));
-        languageProfiles.add(new LanguageProfileReader().readBuiltIn(LdLocale.fromString("de")));
-        languageProfiles.add(new LanguageProfileReader().readBuiltIn(LdLocale.fromString("es")));
-        languageProfiles.add(new LanguageProfileReader().readBuiltIn(LdLocale.fromString("fr")));
-        languageProfiles.add(new LanguageProfileReader().readBuiltIn(LdLocale.fromString("ja")));
-        languageProfiles.add(new LanguageProfileReader().readBuiltIn(LdLocale.fromString("ko")));
-
-        languageDetector = LanguageDetectorBuilder.create(NgramExtractors.standard())
-                .withProfiles(languageProfiles)
-                .build();
-        logger.info("Optimaize language detector has been initialised");
-    }
 }
@@ -21,10 +21,10 @@ public class DateFilter implements StatusFilter {
     }
 
     @Override
-    public boolean passed(Status status) {
+    public RejectReason reject(Status status) {
         Date today = new Date();
         Date statusDate = status.getCreatedAt();
 
-        return simpleDateFormat.format(statusDate).equals(simpleDateFormat.format(today));
+        return simpleDateFormat.format(statusDate).equals(simpleDateFormat.format(today)) ? null : RejectReason.DATE;
     }
 }
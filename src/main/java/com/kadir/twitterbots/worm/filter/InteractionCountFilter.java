@@ -12,15 +12,21 @@ import twitter4j.Status;
 public class InteractionCountFilter implements StatusFilter {
     private final Logger logger = Logger.getLogger(this.getClass());
 
-    private static int minInteractionCount = 1000;
+    private static final int DEFAULT_MIN_INTERACTION_COUNT = 1000;
+    private static int minInteractionCount = DEFAULT_MIN_INTERACTION_COUNT;
 
     public InteractionCountFilter() {
         logger.info(this.getClass().getSimpleName() + " created");
     }
 
     @Override
-    public boolean passed(Status status) {
-        return StatusUtil.calculateInteractionCount(status) > minInteractionCount;
+    public RejectReason reject(Status status) {
+        return StatusUtil.calculateInteractionCount(status) > minInteractionCount ? null : RejectReason.INTERACTION_COUNT;
+    }
+
+    @Override
+    public void startNewDay() {
+        setMinInteractionCount(DEFAULT_MIN_INTERACTION_COUNT);
     }
 
     public static void setMinInteractionCount(int interactionCount) {
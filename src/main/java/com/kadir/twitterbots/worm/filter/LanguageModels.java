@@ -0,0 +1,107 @@
+package com.kadir.twitterbots.worm.filter;
+
+import com.kadir.twitterbots.worm.exceptions.LanguageIdentifierInitialisingException;
+import com.optimaize.langdetect.LanguageDetector;
+import com.optimaize.langdetect.LanguageDetectorBuilder;
+import com.optimaize.langdetect.i18n.LdLocale;
+import com.optimaize.langdetect.ngram.NgramExtractors;
+import com.optimaize.langdetect.profiles.LanguageProfile;
+import com.optimaize.langdetect.profiles.LanguageProfileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zemberek.langid.LanguageIdentifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Language identifiers used by {@link ContentBasedFilter}. Loading them is the slowest part of startup, so it is done
+ * once and independently of the rest of the filter.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 18:05
+ */
+public class LanguageModels {
+    private static final Logger logger = LoggerFactory.getLogger(LanguageModels.class);
+    private static final List<String> OPTIMAIZE_LANGUAGES = Arrays.asList("tr", "en", "de", "es", "fr", "ja", "ko");
+
+    private final LanguageIdentifier languageIdentifier;
+    private final LanguageDetector languageDetector;
+
+    private LanguageModels(LanguageIdentifier languageIdentifier, LanguageDetector languageDetector) {
+        this.languageIdentifier = languageIdentifier;
+        this.languageDetector = languageDetector;
+    }
+
+    public static LanguageModels load() {
+        try {
+            return new LanguageModels(initializeZemberekLanguageIdentifier(), initializeOptimaizeLanguageDetector());
+        } catch (IOException e) {
+            logger.error("Error occurred while initialising language identifiers.", e);
+            throw new LanguageIdentifierInitialisingException(e);
+        }
+    }
+
+    public LanguageIdentifier getLanguageIdentifier() {
+        return languageIdentifier;
+    }
+
+    public LanguageDetector getLanguageDetector() {
+        return languageDetector;
+    }
+
+    private static LanguageIdentifier initializeZemberekLanguageIdentifier() throws IOException {
+        LanguageIdentifier languageIdentifier = LanguageIdentifier.fromInternalModels();
+        logger.info("Zemberek language identifier has been initialised");
+        return languageIdentifier;
+    }
+
+    private static LanguageDetector initializeOptimaizeLanguageDetector() throws IOException {
+        LanguageDetector languageDetector = LanguageDetectorBuilder.create(NgramExtractors.standard())
+                .withProfiles(loadLanguageProfiles())
+                .build();
+        logger.info("Optimaize language detector has been initialised");
+        return languageDetector;
+    }
+
+    /**
+     * Profiles are read from the binary snapshot when it matches the built-in profiles, otherwise they are parsed from
+     * the built-in profiles and the snapshot is written for the next start.
+     */
+    private static List<LanguageProfile> loadLanguageProfiles() throws IOException {
+        String snapshotFile = System.getProperty("languageProfileSnapshotFile", "language-profiles.bin");
+        if (snapshotFile.trim().isEmpty()) {
+            return readBuiltInLanguageProfiles();
+        }
+
+        Path snapshotPath = Paths.get(snapshotFile);
+        long fingerprint = LanguageProfileSnapshot.fingerprint(OPTIMAIZE_LANGUAGES);
+        List<LanguageProfile> languageProfiles = LanguageProfileSnapshot.read(snapshotPath, fingerprint);
+        if (!languageProfiles.isEmpty()) {
+            logger.info("load language profiles from snapshot: {}", snapshotPath);
+            return languageProfiles;
+        }
+
+        languageProfiles = readBuiltInLanguageProfiles();
+        try {
+            LanguageProfileSnapshot.write(snapshotPath, fingerprint, languageProfiles);
+            logger.info("write language profile snapshot: {}", snapshotPath);
+        } catch (IOException e) {
+            logger.warn("language profile snapshot could not be written: {}", snapshotPath, e);
+        }
+        return languageProfiles;
+    }
+
+    private static List<LanguageProfile> readBuiltInLanguageProfiles() throws IOException {
+        List<LanguageProfile> languageProfiles = new ArrayList<>();
+        for (String language : OPTIMAIZE_LANGUAGES) {
+            languageProfiles.add(new LanguageProfileReader().readBuiltIn(LdLocale.fromString(language)));
+        }
+        return languageProfiles;
+    }
+}
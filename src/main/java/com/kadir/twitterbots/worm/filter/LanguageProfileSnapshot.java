@@ -0,0 +1,315 @@
+package com.kadir.twitterbots.worm.filter;
+
+import com.optimaize.langdetect.i18n.LdLocale;
+import com.optimaize.langdetect.profiles.LanguageProfile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary copy of the n-gram tables of built-in Optimaize language profiles. Reading the bundled text profiles
+ * means parsing a large json document per language; the snapshot is memory-mapped instead and grams are decoded only
+ * while the detector is built.
+ * <p>
+ * Layout: magic, format version, fingerprint of the source profiles, crc32 of the body, then the body: profile count
+ * and for every profile its locale and one section per gram length (length, gram count, occurrences, min and max
+ * count, then grams as char count, utf-16 chars and frequency).
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 19:10
+ */
+final class LanguageProfileSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(LanguageProfileSnapshot.class);
+
+    private static final int MAGIC = 0x574C5053;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8;
+
+    private LanguageProfileSnapshot() {
+    }
+
+    /**
+     * Fingerprint of the built-in profiles of the given languages, changes when the bundled profiles change.
+     */
+    static long fingerprint(List<String> languages) throws IOException {
+        CRC32 crc32 = new CRC32();
+        for (String language : languages) {
+            URL resource = LanguageProfile.class.getClassLoader().getResource("languages/" + language);
+            if (resource == null) {
+                throw new IOException("built-in language profile not found: " + language);
+            }
+            crc32.update((language + ":" + resource.openConnection().getContentLengthLong() + ";").getBytes(StandardCharsets.UTF_8));
+        }
+        return crc32.getValue();
+    }
+
+    /**
+     * @return profiles in the snapshot, or an empty list if the file is missing, corrupt or built from other profiles
+     */
+    static List<LanguageProfile> read(Path path, long fingerprint) {
+        if (!Files.isRegularFile(path)) {
+            logger.info("language profile snapshot not found: {}", path);
+            return Collections.emptyList();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != fingerprint) {
+                logger.info("language profile snapshot is stale: {}", path);
+                return Collections.emptyList();
+            }
+
+            long checksum = buffer.getLong();
+            ByteBuffer body = buffer.slice();
+            if (checksum != checksum(body.duplicate())) {
+                logger.warn("language profile snapshot is corrupt: {}", path);
+                return Collections.emptyList();
+            }
+
+            return readProfiles(body);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("language profile snapshot could not be read: {}", path, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Writes into a temporary file first, so a crash never leaves a partial snapshot behind.
+     */
+    static void write(Path path, long fingerprint, List<LanguageProfile> profiles) throws IOException {
+        Path absolutePath = path.toAbsolutePath();
+        Path temporaryFile = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporaryFile)) {
+                output.write(new byte[HEADER_SIZE]);
+                writeProfiles(new DataOutputStream(new BufferedOutputStream(output)), profiles);
+            }
+
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long checksum = checksum(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, channel.size() - HEADER_SIZE));
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(fingerprint).putLong(checksum).flip();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+
+            Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static void writeProfiles(DataOutputStream output, List<LanguageProfile> profiles) throws IOException {
+        output.writeInt(profiles.size());
+        for (LanguageProfile profile : profiles) {
+            output.writeUTF(profile.getLocale().toString());
+            output.writeInt(profile.getGramLengths().size());
+            for (int gramLength : profile.getGramLengths()) {
+                output.writeInt(gramLength);
+                output.writeInt(profile.getNumGrams(gramLength));
+                output.writeLong(profile.getNumGramOccurrences(gramLength));
+                output.writeLong(profile.getMinGramCount(gramLength));
+                output.writeLong(profile.getMaxGramCount(gramLength));
+                for (Map.Entry<String, Integer> gram : profile.iterateGrams(gramLength)) {
+                    output.writeByte(gram.getKey().length());
+                    output.writeChars(gram.getKey());
+                    output.writeInt(gram.getValue());
+                }
+            }
+        }
+        output.flush();
+    }
+
+    private static List<LanguageProfile> readProfiles(ByteBuffer body) {
+        int profileCount = body.getInt();
+        List<LanguageProfile> profiles = new ArrayList<>(profileCount);
+        for (int i = 0; i < profileCount; i++) {
+            LdLocale locale = LdLocale.fromString(readUtf(body));
+            int sectionCount = body.getInt();
+            Map<Integer, Section> sections = new TreeMap<>();
+            for (int j = 0; j < sectionCount; j++) {
+                Section section = new Section(body);
+                sections.put(section.gramLength, section);
+            }
+            profiles.add(new MappedLanguageProfile(locale, sections));
+        }
+        return profiles;
+    }
+
+    private static String readUtf(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long checksum(ByteBuffer buffer) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(buffer);
+        return crc32.getValue();
+    }
+
+    /**
+     * Grams of one length, decoded from the mapped file on every iteration.
+     */
+    private static class Section implements Iterable<Map.Entry<String, Integer>> {
+        private final int gramLength;
+        private final int gramCount;
+        private final long occurrences;
+        private final long minCount;
+        private final long maxCount;
+        private final ByteBuffer grams;
+
+        Section(ByteBuffer body) {
+            gramLength = body.getInt();
+            gramCount = body.getInt();
+            occurrences = body.getLong();
+            minCount = body.getLong();
+            maxCount = body.getLong();
+            int start = body.position();
+            for (int i = 0; i < gramCount; i++) {
+                int charCount = body.get() & 0xFF;
+                body.position(body.position() + charCount * 2 + 4);
+            }
+            ByteBuffer section = body.duplicate();
+            section.position(start);
+            section.limit(body.position());
+            grams = section.slice();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Integer>> iterator() {
+            ByteBuffer buffer = grams.duplicate();
+            return new Iterator<Map.Entry<String, Integer>>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < gramCount;
+                }
+
+                @Override
+                public Map.Entry<String, Integer> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    index++;
+                    char[] chars = new char[buffer.get() & 0xFF];
+                    for (int i = 0; i < chars.length; i++) {
+                        chars[i] = buffer.getChar();
+                    }
+                    return new AbstractMap.SimpleImmutableEntry<>(new String(chars), buffer.getInt());
+                }
+            };
+        }
+    }
+
+    private static class MappedLanguageProfile implements LanguageProfile {
+        private final LdLocale locale;
+        private final Map<Integer, Section> sections;
+
+        MappedLanguageProfile(LdLocale locale, Map<Integer, Section> sections) {
+            this.locale = locale;
+            this.sections = sections;
+        }
+
+        @Override
+        public LdLocale getLocale() {
+            return locale;
+        }
+
+        @Override
+        public List<Integer> getGramLengths() {
+            return new ArrayList<>(sections.keySet());
+        }
+
+        @Override
+        public int getFrequency(String gram) {
+            Section section = sections.get(gram.length());
+            if (section != null) {
+                for (Map.Entry<String, Integer> entry : section) {
+                    if (entry.getKey().equals(gram)) {
+                        return entry.getValue();
+                    }
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public int getNumGrams(int gramLength) {
+            Section section = sections.get(gramLength);
+            return section == null ? 0 : section.gramCount;
+        }
+
+        @Override
+        public int getNumGrams() {
+            int numGrams = 0;
+            for (Section section : sections.values()) {
+                numGrams += section.gramCount;
+            }
+            return numGrams;
+        }
+
+        @Override
+        public long getNumGramOccurrences(int gramLength) {
+            Section section = sections.get(gramLength);
+            return section == null ? 0 : section.occurrences;
+        }
+
+        @Override
+        public long getMinGramCount(int gramLength) {
+            Section section = sections.get(gramLength);
+            return section == null ? 0 : section.minCount;
+        }
+
+        @Override
+        public long getMaxGramCount(int gramLength) {
+            Section section = sections.get(gramLength);
+            return section == null ? 0 : section.maxCount;
+        }
+
+        @Override
+        public Iterable<Map.Entry<String, Integer>> iterateGrams() {
+            List<Map.Entry<String, Integer>> grams = new ArrayList<>(getNumGrams());
+            for (Section section : sections.values()) {
+                for (Map.Entry<String, Integer> gram : section) {
+                    grams.add(gram);
+                }
+            }
+            return grams;
+        }
+
+        @Override
+        public Iterable<Map.Entry<String, Integer>> iterateGrams(int gramLength) {
+            Section section = sections.get(gramLength);
+            return section == null ? Collections.<Map.Entry<String, Integer>>emptyList() : section;
+        }
+
+        @Override
+        public String toString() {
+            return "MappedLanguageProfile{locale=" + locale + ", grams=" + getNumGrams() + "}";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.kadir.twitterbots.worm.filter;
+
+import com.kadir.twitterbots.worm.dao.StatusRepository;
+import com.kadir.twitterbots.worm.util.QuoteDay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.Status;
+
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+
+/**
+ * Statuses and users quoted within the last quoteHistoryDays, so a status or any status of a user quoted in that
+ * horizon is not picked again. Ids are loaded once a day from a streamed query and kept in {@link BloomLongSet}s, the
+ * checks on the fetch path never touch the database. Posted quotes are added as they are marked in the database.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class QuoteHistory {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final StatusRepository statusRepository;
+    private final int historyDays;
+    private volatile BloomLongSet quotedStatusIds = BloomLongSet.EMPTY;
+    private volatile BloomLongSet quotedUserIds = BloomLongSet.EMPTY;
+
+    public QuoteHistory(StatusRepository statusRepository) {
+        this.statusRepository = statusRepository;
+        this.historyDays = Integer.parseInt(System.getProperty("quoteHistoryDays", "30"));
+        logger.debug("Set quoteHistoryDays:{}", historyDays);
+        load();
+    }
+
+    /**
+     * Rebuilds the history from the statuses found within the horizon, ids older than the horizon drop out.
+     */
+    public synchronized void load() {
+        LocalDate since = QuoteDay.today().minusDays(historyDays);
+        LongStream.Builder statusIds = LongStream.builder();
+        LongStream.Builder userIds = LongStream.builder();
+        int count = statusRepository.forEachQuotedStatusSince(since, customStatus -> {
+            statusIds.add(customStatus.getStatusId());
+            userIds.add(customStatus.getUserId());
+        });
+        quotedStatusIds = BloomLongSet.of(statusIds.build().toArray());
+        quotedUserIds = BloomLongSet.of(userIds.build().toArray());
+        logger.info("load statuses quoted since {}. statuses: {} users: {}", since, count, quotedUserIds.size());
+    }
+
+    /**
+     * @return true if the status or another status of its user is quoted within the horizon
+     */
+    public boolean isQuoted(Status status) {
+        return quotedStatusIds.contains(status.getId()) || quotedUserIds.contains(status.getUser().getId());
+    }
+
+    /**
+     * @param userId null if user of the status is not known, only the status is added then
+     */
+    public synchronized void addQuoted(long statusId, Long userId) {
+        quotedStatusIds = quotedStatusIds.with(statusId);
+        if (userId != null) {
+            quotedUserIds = quotedUserIds.with(userId);
+        }
+    }
+
+    public int size() {
+        return quotedStatusIds.size();
+    }
+}
@@ -0,0 +1,41 @@
+package com.kadir.twitterbots.worm.filter;
+
+import com.kadir.twitterbots.worm.metrics.MetricsRegistry;
+
+/**
+ * Why a {@link StatusFilter} rejects a status. Every reason has its own worm_filter_rejects_total counter labelled by
+ * filter and reason, resolved once so counting a reject does not format labels.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public enum RejectReason {
+    TEXT_LENGTH(ContentBasedFilter.class, "text_length"),
+    KEYWORD(ContentBasedFilter.class, "keyword"),
+    MENTION(ContentBasedFilter.class, "mention"),
+    LANGUAGE(ContentBasedFilter.class, "language"),
+    DATE(DateFilter.class, "date"),
+    INTERACTION_COUNT(InteractionCountFilter.class, "interaction_count"),
+    VERIFIED(UserBasedFilter.class, "verified"),
+    FOLLOWER_RANGE(UserBasedFilter.class, "follower_range"),
+    IGNORED(UserBasedFilter.class, "ignored"),
+    PARODY(UserBasedFilter.class, "parody"),
+    QUOTED(QuoteHistory.class, "quoted");
+
+    private final String label;
+    private final MetricsRegistry.Counter rejects;
+
+    RejectReason(Class<?> filterClass, String label) {
+        this.label = label;
+        this.rejects = MetricsRegistry.counter("worm_filter_rejects_total", "filter", filterClass.getSimpleName(), "reason", label);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void countReject() {
+        rejects.increment(1);
+    }
+}
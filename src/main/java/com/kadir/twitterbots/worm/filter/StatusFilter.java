@@ -8,5 +8,18 @@ import twitter4j.Status;
  * Time: 16:00
  */
 public interface StatusFilter {
-    boolean passed(Status status);
+    /**
+     * @return why the status is rejected, null if it passed
+     */
+    RejectReason reject(Status status);
+
+    default boolean passed(Status status) {
+        return reject(status) == null;
+    }
+
+    /**
+     * Called when the quote day rolls over, to refresh what depends on the day.
+     */
+    default void startNewDay() {
+    }
 }
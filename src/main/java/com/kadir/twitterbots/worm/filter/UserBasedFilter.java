@@ -1,12 +1,15 @@
 package com.kadir.twitterbots.worm.filter;
 
-import com.kadir.twitterbots.ratelimithandler.handler.RateLimitHandler;
 import com.kadir.twitterbots.ratelimithandler.process.ApiProcessType;
-import com.kadir.twitterbots.worm.dao.UserDao;
+import com.kadir.twitterbots.worm.dao.IgnoredUserRepository;
+import com.kadir.twitterbots.worm.dao.UserWriteBehindQueue;
 import com.kadir.twitterbots.worm.entity.IgnoredUser;
 import com.kadir.twitterbots.worm.entity.TaskPriority;
 import com.kadir.twitterbots.worm.scheduler.BaseScheduledRunnable;
+import com.kadir.twitterbots.worm.scheduler.RateLimitAwareExecutor;
 import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.scheduler.TaskScope;
+import com.kadir.twitterbots.worm.scheduler.WorkerExecutors;
 import com.kadir.twitterbots.worm.util.DataUtil;
 import com.kadir.twitterbots.worm.util.WormConstants;
 import org.slf4j.Logger;
@@ -17,10 +20,10 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static com.kadir.twitterbots.worm.util.WormConstants.DEFAULT_DELAY_FOR_SCHEDULED_TASKS;
@@ -33,20 +36,25 @@ import static com.kadir.twitterbots.worm.util.WormConstants.DEFAULT_INITIAL_DELA
  */
 public class UserBasedFilter extends BaseScheduledRunnable implements StatusFilter {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private static final int CLEAN_UP_BATCH_SIZE = 100;
 
     private int minFollowingCount;
     private int maxFollowingCount;
     private int maxFollowersCount;
-    private UserDao userDao = new UserDao();
-    private Set<Long> ignoredUsersSet = new HashSet<>();
-    private Set<Long> yesterdayQuotedUsersSet = new HashSet<>();
-    private boolean isCancelled = false;
+    private final IgnoredUserRepository ignoredUserRepository;
+    private final UserWriteBehindQueue userWriteQueue;
+    private final RateLimitAwareExecutor rateLimitExecutor;
+    private volatile Set<Long> ignoredUsersSet = ConcurrentHashMap.newKeySet();
+    private volatile boolean isCancelled = false;
+    private volatile boolean isCleanUpContinuing = false;
     private Twitter twitter;
 
-    public UserBasedFilter(Twitter twitter) {
+    public UserBasedFilter(Twitter twitter, IgnoredUserRepository ignoredUserRepository) {
         super(TaskPriority.LOW);
-        executorService = Executors.newScheduledThreadPool(1);
         this.twitter = twitter;
+        this.ignoredUserRepository = ignoredUserRepository;
+        this.userWriteQueue = new UserWriteBehindQueue(ignoredUserRepository);
+        this.rateLimitExecutor = new RateLimitAwareExecutor("UserBasedFilterContinuation", TaskPriority.LOW, twitter);
         logger.debug("{} created", this.getClass().getSimpleName());
         this.minFollowingCount = Integer.parseInt(System.getProperty("minFollowingCount", "20"));
         logger.debug("Set minFollowingCount:{}", minFollowingCount);
@@ -54,15 +62,13 @@ public class UserBasedFilter extends BaseScheduledRunnable implements StatusFilt
         logger.debug("Set maxFollowingCount:{}", maxFollowingCount);
         this.maxFollowersCount = Integer.parseInt(System.getProperty("maxFollowersCount", "200000"));
         logger.debug("Set maxFollowersCount:{}", maxFollowersCount);
-        loadYesterdayQuotedUsers();
         loadIgnoredUsers();
     }
 
     @Override
     public void schedule() {
-        scheduledFuture = executorService.scheduleWithFixedDelay(this, DEFAULT_INITIAL_DELAY_FOR_SCHEDULED_TASKS, DEFAULT_DELAY_FOR_SCHEDULED_TASKS, TimeUnit.MINUTES);
+        scheduledTask = TaskScheduler.scheduleWithFixedDelay(this, DEFAULT_INITIAL_DELAY_FOR_SCHEDULED_TASKS, DEFAULT_DELAY_FOR_SCHEDULED_TASKS, TimeUnit.MINUTES);
         logger.info("add scheduler to run with fixed delay. initial delay:{} delay:{}", DEFAULT_INITIAL_DELAY_FOR_SCHEDULED_TASKS, DEFAULT_DELAY_FOR_SCHEDULED_TASKS);
-        TaskScheduler.addScheduledTask(this);
     }
 
 
@@ -80,7 +86,12 @@ public class UserBasedFilter extends BaseScheduledRunnable implements StatusFilt
     @Override
     public void run() {
         logger.info("run scheduled task: {}", this.getClass().getSimpleName());
-        cleanUpIgnoredUsers();
+        if (isCleanUpContinuing) {
+            logger.debug("clean up of ignored users waits for show user rate limit reset.");
+        } else {
+            cleanUpIgnoredUsers();
+        }
+        userWriteQueue.flush();
         loadIgnoredUsers();
         addBlockedUsersIntoIgnoredUsers();
         logger.info("finish scheduled task: {} wait {} mins to next run", this.getClass().getSimpleName(), DEFAULT_DELAY_FOR_SCHEDULED_TASKS);
@@ -89,14 +100,33 @@ public class UserBasedFilter extends BaseScheduledRunnable implements StatusFilt
     @Override
     public void cancel() {
         isCancelled = true;
+        rateLimitExecutor.cancel();
         super.cancel();
+        userWriteQueue.shutdown();
     }
 
     @Override
-    public boolean passed(Status status) {
+    public void cancelNow() {
+        isCancelled = true;
+        rateLimitExecutor.cancel();
+        super.cancelNow();
+        userWriteQueue.shutdown();
+    }
+
+    @Override
+    public RejectReason reject(Status status) {
         User user = status.getUser();
 
-        return (!user.isVerified() && isUserFollowingAndFollowerNumbersInRange(user) && !isUserQuotedYesterday(status.getUser()) && !ignoredUsersSet.contains(user.getId()) && !wouldUserBeParodyAccount(user));
+        if (user.isVerified()) {
+            return RejectReason.VERIFIED;
+        } else if (!isUserFollowingAndFollowerNumbersInRange(user)) {
+            return RejectReason.FOLLOWER_RANGE;
+        } else if (ignoredUsersSet.contains(user.getId())) {
+            return RejectReason.IGNORED;
+        } else if (wouldUserBeParodyAccount(user)) {
+            return RejectReason.PARODY;
+        }
+        return null;
     }
 
     private boolean wouldUserBeParodyAccount(User user) {
@@ -104,7 +134,7 @@ public class UserBasedFilter extends BaseScheduledRunnable implements StatusFilt
         if (user.getDescription().toLowerCase().contains("parody") || user.getLocation().toLowerCase().contains("parody") ||
                 user.getDescription().toLowerCase().contains("parodi") || user.getLocation().toLowerCase().contains("parodi")) {
             if (!ignoredUsersSet.contains(user.getId())) {
-                userDao.insertIgnoredUser(user);
+                userWriteQueue.insertIgnoredUser(user);
                 ignoredUsersSet.add(user.getId());
                 logger.info("add into ignored users as it seems like parody account: {}", user.getScreenName());
             }
@@ -113,72 +143,124 @@ public class UserBasedFilter extends BaseScheduledRunnable implements StatusFilt
         return wouldBe;
     }
 
-    private boolean isUserQuotedYesterday(User user) {
-        return yesterdayQuotedUsersSet.contains(user.getId());
-    }
-
     private boolean isUserFollowingAndFollowerNumbersInRange(User user) {
         int friendsCount = user.getFriendsCount();
         int followersCount = user.getFollowersCount();
         return (friendsCount > minFollowingCount && friendsCount < maxFollowingCount && maxFollowersCount > followersCount);
     }
 
-    private void loadYesterdayQuotedUsers() {
-        yesterdayQuotedUsersSet = userDao.getYesterdaysQuotedUsers();
-        logger.info("load yesterday's quoted users from database. size: {}", yesterdayQuotedUsersSet.size());
-    }
-
     public void loadIgnoredUsers() {
-        ignoredUsersSet = userDao.getIgnoredUserIds();
+        Set<Long> loadedIgnoredUsers = ConcurrentHashMap.newKeySet();
+        ignoredUserRepository.forEachIgnoredUserId(loadedIgnoredUsers::add);
+        ignoredUsersSet = loadedIgnoredUsers;
         logger.info("load ignored users from database. size: {}", ignoredUsersSet.size());
     }
 
+    /**
+     * Blocked users that could not be looked up because show user budget is exhausted are picked up by the next run.
+     */
     private void addBlockedUsersIntoIgnoredUsers() {
+        if (!rateLimitExecutor.tryAcquire(ApiProcessType.GET_BLOCKS_IDS)) {
+            rateLimitExecutor.execute(ApiProcessType.GET_BLOCKS_IDS, this::addBlockedUsersIntoIgnoredUsers);
+            return;
+        }
+
         try {
             IDs blockedIds = twitter.getBlocksIDs();
-            RateLimitHandler.handle(twitter.getId(), blockedIds.getRateLimitStatus(), ApiProcessType.GET_BLOCKS_IDS);
+            rateLimitExecutor.update(ApiProcessType.GET_BLOCKS_IDS, blockedIds.getRateLimitStatus());
             long[] blockedIdsArr = blockedIds.getIDs();
 
-            for (long userId : blockedIdsArr) {
-                if (!ignoredUsersSet.contains(userId)) {
-                    addUserIntoIgnoredUsers(userId);
+            try (TaskScope<User> scope = new TaskScope<>(WorkerExecutors.ioExecutor())) {
+                for (long userId : blockedIdsArr) {
+                    if (!ignoredUsersSet.contains(userId) && rateLimitExecutor.tryAcquire(ApiProcessType.SHOW_USER)) {
+                        scope.fork(() -> showUser(userId));
+                    }
+                }
+
+                for (User user : scope.join()) {
+                    addUserIntoIgnoredUsers(user);
                 }
             }
         } catch (TwitterException e) {
             logger.error(e.getErrorMessage());
+        } catch (ExecutionException e) {
+            logger.error("Error occurred while getting blocked users.", e);
+        } catch (InterruptedException e) {
+            logger.error("Thread interrupted.", e);
+            Thread.currentThread().interrupt();
         }
     }
 
-    private void addUserIntoIgnoredUsers(Long userId) {
+    private User showUser(long userId) {
+        User user = null;
         try {
-            User user = twitter.showUser(userId);
-            RateLimitHandler.handle(twitter.getId(), user.getRateLimitStatus(), ApiProcessType.SHOW_USER);
-            if (!user.isVerified()) {
-                userDao.insertIgnoredUser(user);
-                ignoredUsersSet.add(userId);
-                logger.info("add user into ignored users: {} - {}", user.getId(), user.getScreenName());
-            }
+            user = twitter.showUser(userId);
+            rateLimitExecutor.update(ApiProcessType.SHOW_USER, user.getRateLimitStatus());
         } catch (TwitterException e) {
             logger.error(e.getErrorMessage());
         }
+        return user;
+    }
 
+    private void addUserIntoIgnoredUsers(User user) {
+        if (user != null && !user.isVerified()) {
+            userWriteQueue.insertIgnoredUser(user);
+            ignoredUsersSet.add(user.getId());
+            logger.info("add user into ignored users: {} - {}", user.getId(), user.getScreenName());
+        }
     }
 
+    /**
+     * Stops at the first user show user budget can not be spent on and continues once it is available again. Checks
+     * written so far are flushed first, so the continuation reads only users that are still due. Users are read in
+     * batches, so no query is left open while their users are looked up.
+     */
     private void cleanUpIgnoredUsers() {
-        Set<IgnoredUser> ignoredUsers = userDao.getIgnoredUsers();
-        Iterator<IgnoredUser> iterator = ignoredUsers.iterator();
-        while (iterator.hasNext() && !isCancelled) {
-            IgnoredUser ignoredUser = iterator.next();
+        isCleanUpContinuing = false;
+        boolean isCompleted = true;
+        long lastUserId = Long.MIN_VALUE;
+        while (isCompleted && !isCancelled) {
+            List<IgnoredUser> batch = ignoredUserRepository.getIgnoredUsersToCheck(lastUserId, CLEAN_UP_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            isCompleted = cleanUpIgnoredUsers(batch);
+            lastUserId = batch.get(batch.size() - 1).getUserId();
+        }
+
+        if (isCompleted) {
+            logger.info("finish clean up ignored users task");
+        } else {
+            userWriteQueue.flush();
+            isCleanUpContinuing = true;
+            rateLimitExecutor.execute(ApiProcessType.SHOW_USER, this::cleanUpIgnoredUsers);
+            logger.info("continue clean up ignored users task when show user budget is available");
+        }
+    }
+
+    /**
+     * The user that could not be checked because show user budget is exhausted keeps its last check date, so the
+     * continuation starts with it.
+     *
+     * @return false if show user budget is exhausted before every user is checked
+     */
+    private boolean cleanUpIgnoredUsers(List<IgnoredUser> batch) {
+        for (IgnoredUser ignoredUser : batch) {
+            if (isCancelled) {
+                break;
+            }
             ignoredUser.setLastCheck(new Date());
             try {
                 if (wouldBeRemoved(ignoredUser)) {
-                    userDao.deleteIgnoredUser(ignoredUser);
+                    ignoredUserRepository.deleteIgnoredUser(ignoredUser);
                     logger.info("Ignored user is deleted due to passive period. {} - {}", ignoredUser.getUserId(), ignoredUser.getScreenName());
-                } else {
+                } else if (rateLimitExecutor.tryAcquire(ApiProcessType.SHOW_USER)) {
                     User user = twitter.showUser(ignoredUser.getUserId());
-                    RateLimitHandler.handle(twitter.getId(), user.getRateLimitStatus(), ApiProcessType.SHOW_USER);
+                    rateLimitExecutor.update(ApiProcessType.SHOW_USER, user.getRateLimitStatus());
 
                     deleteOrUpdateIgnoredUser(ignoredUser, true, user.isVerified());
+                } else {
+                    return false;
                 }
             } catch (TwitterException e) {
                 if ((e.getErrorCode() == 50 || e.getErrorCode() == 63)) {
@@ -188,26 +270,26 @@ public class UserBasedFilter extends BaseScheduledRunnable implements StatusFilt
                 }
             }
         }
-        logger.info("finish clean up ignored users task");
+        return true;
     }
 
     private void deleteOrUpdateIgnoredUser(IgnoredUser ignoredUser, boolean userExist, boolean isVerified) {
         if (userExist) {
             if (isVerified) {
-                userDao.deleteIgnoredUser(ignoredUser);
+                ignoredUserRepository.deleteIgnoredUser(ignoredUser);
                 logger.info("Ignored user is deleted due to verification. {} - {}", ignoredUser.getUserId(), ignoredUser.getScreenName());
             } else if (!DataUtil.isNullOrEmpty(ignoredUser.getPassiveSince())) {
-                userDao.setUserActive(ignoredUser);
+                userWriteQueue.setUserActive(ignoredUser);
                 logger.info("Ignored user updated to active. {} - {}", ignoredUser.getUserId(), ignoredUser.getScreenName());
             } else {
-                userDao.setLastCheck(ignoredUser);
+                userWriteQueue.setLastCheck(ignoredUser);
             }
         } else if (DataUtil.isNullOrEmpty(ignoredUser.getPassiveSince())) {
             ignoredUser.setPassiveSince(new Date());
-            userDao.updateIgnoredUserToPassive(ignoredUser);
+            userWriteQueue.updateIgnoredUserToPassive(ignoredUser);
             logger.info("User not found and updated to passive. userId: {} screen name: {}", ignoredUser.getUserId(), ignoredUser.getScreenName());
         } else {
-            userDao.setLastCheck(ignoredUser);
+            userWriteQueue.setLastCheck(ignoredUser);
         }
     }
 
@@ -0,0 +1,218 @@
+package com.kadir.twitterbots.worm.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Counters and gauges of the whole process, rendered in Prometheus text format by {@link #scrape()}. Instrumented
+ * code updates counters and gauges as things happen; values that already exist elsewhere, such as api budgets or task
+ * statistics, are read by a {@link Collector} only when scraped.
+ * <p>
+ * Labels are given as name and value pairs: {@code MetricsRegistry.increment("worm_filter_rejects_total", 1, "filter", "DateFilter")}
+ * <p>
+ * Counters updated on the hot path are resolved once with {@link #counter(String, String...)}, so the label key is
+ * not formatted and looked up on every update.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 21:50
+ */
+public class MetricsRegistry {
+    private static final Map<String, Family> families = new ConcurrentHashMap<>();
+    private static final Map<String, String> helps = new ConcurrentHashMap<>();
+    private static final List<Collector> collectors = new CopyOnWriteArrayList<>();
+
+    private MetricsRegistry() {
+    }
+
+    public static void increment(String name, double amount, String... labels) {
+        getFamily(name, Type.COUNTER).getValue(labels).add(amount);
+    }
+
+    /**
+     * @return a handle to the counter with the given labels, valid for the life of the process
+     */
+    public static Counter counter(String name, String... labels) {
+        return new Counter(getFamily(name, Type.COUNTER).getValue(labels));
+    }
+
+    public static void set(String name, double value, String... labels) {
+        getFamily(name, Type.GAUGE).getValue(labels).set(value);
+    }
+
+    /**
+     * Sets help text of a metric shown in scrape output.
+     */
+    public static void describe(String name, String help) {
+        helps.put(name, help);
+    }
+
+    public static void register(Collector collector) {
+        collectors.add(collector);
+    }
+
+    public static String scrape() {
+        Map<String, Family> snapshot = new TreeMap<>(families);
+        Sink sink = new Sink(snapshot);
+        for (Collector collector : collectors) {
+            collector.collect(sink);
+        }
+
+        StringBuilder builder = new StringBuilder(4096);
+        for (Family family : snapshot.values()) {
+            family.write(builder);
+        }
+        return builder.toString();
+    }
+
+    private static Family getFamily(String name, Type type) {
+        Family family = families.get(name);
+        if (family == null) {
+            family = families.computeIfAbsent(name, key -> new Family(name, type, null));
+        }
+        if (family.type != type) {
+            throw new IllegalArgumentException(name + " is a " + family.type.text);
+        }
+        return family;
+    }
+
+    private static String formatLabels(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("labels must be given as name and value pairs");
+        } else if (labels.length == 0) {
+            return "";
+        }
+
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(labels[i]).append("=\"");
+            String value = labels[i + 1] == null ? "" : labels[i + 1];
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                if (c == '\\' || c == '"') {
+                    builder.append('\\').append(c);
+                } else if (c == '\n') {
+                    builder.append("\\n");
+                } else {
+                    builder.append(c);
+                }
+            }
+            builder.append('"');
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Reads metrics at scrape time.
+     */
+    @FunctionalInterface
+    public interface Collector {
+        void collect(Sink sink);
+    }
+
+    public static final class Counter {
+        private final Value value;
+
+        private Counter(Value value) {
+            this.value = value;
+        }
+
+        public void increment(double amount) {
+            value.add(amount);
+        }
+    }
+
+    public static class Sink {
+        private final Map<String, Family> snapshot;
+
+        private Sink(Map<String, Family> snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        public void gauge(String name, String help, double value, String... labels) {
+            add(name, Type.GAUGE, help, value, labels);
+        }
+
+        public void counter(String name, String help, double value, String... labels) {
+            add(name, Type.COUNTER, help, value, labels);
+        }
+
+        private void add(String name, Type type, String help, double value, String... labels) {
+            snapshot.computeIfAbsent(name, key -> new Family(name, type, help)).getValue(labels).set(value);
+        }
+    }
+
+    private enum Type {
+        COUNTER("counter"), GAUGE("gauge");
+
+        private final String text;
+
+        Type(String text) {
+            this.text = text;
+        }
+    }
+
+    private static class Family {
+        private final String name;
+        private final Type type;
+        private final String help;
+        private final Map<String, Value> values = new ConcurrentHashMap<>();
+
+        Family(String name, Type type, String help) {
+            this.name = name;
+            this.type = type;
+            this.help = help;
+        }
+
+        Value getValue(String... labels) {
+            String formattedLabels = formatLabels(labels);
+            Value value = values.get(formattedLabels);
+            return value != null ? value : values.computeIfAbsent(formattedLabels, key -> new Value());
+        }
+
+        void write(StringBuilder builder) {
+            String text = help != null ? help : helps.get(name);
+            if (text != null) {
+                builder.append("# HELP ").append(name).append(' ').append(text).append('\n');
+            }
+            builder.append("# TYPE ").append(name).append(' ').append(type.text).append('\n');
+            List<String> labels = new ArrayList<>(values.keySet());
+            labels.sort(null);
+            for (String label : labels) {
+                builder.append(name).append(label).append(' ').append(format(values.get(label).get())).append('\n');
+            }
+        }
+
+        private static String format(double value) {
+            if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+                return Long.toString((long) value);
+            }
+            return Double.toString(value);
+        }
+    }
+
+    private static class Value {
+        private final DoubleAdder adder = new DoubleAdder();
+
+        void add(double amount) {
+            adder.add(amount);
+        }
+
+        synchronized void set(double value) {
+            adder.reset();
+            adder.add(value);
+        }
+
+        double get() {
+            return adder.sum();
+        }
+    }
+}
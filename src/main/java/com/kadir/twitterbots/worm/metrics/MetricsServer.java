@@ -0,0 +1,76 @@
+package com.kadir.twitterbots.worm.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves {@link MetricsRegistry#scrape()} at {@code /metrics} when metricsEnabled property is true. It binds to
+ * metricsHost, loopback by default, since it is meant for a local scraper.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 22:10
+ */
+public class MetricsServer {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsServer.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static HttpServer server;
+
+    private MetricsServer() {
+    }
+
+    public static synchronized void startIfEnabled() {
+        if (!Boolean.parseBoolean(System.getProperty("metricsEnabled", "false")) || server != null) {
+            return;
+        }
+
+        String host = System.getProperty("metricsHost", "127.0.0.1");
+        int port = Integer.parseInt(System.getProperty("metricsPort", "9464"));
+        try {
+            StandardCollectors.registerAll();
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+            server.createContext("/metrics", MetricsServer::handle);
+            server.start();
+            logger.info("serve metrics at http://{}:{}/metrics", host, port);
+        } catch (IOException e) {
+            logger.error("metrics endpoint could not be started at {}:{}", host, port, e);
+        }
+    }
+
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            logger.info("metrics endpoint stopped.");
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = MetricsRegistry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } catch (RuntimeException e) {
+            logger.error("metrics could not be scraped.", e);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.kadir.twitterbots.worm.metrics;
+
+import com.kadir.twitterbots.worm.scheduler.ApiBudget;
+import com.kadir.twitterbots.worm.scheduler.ApiBudgetPlanner;
+import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.scheduler.TaskStatistics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+
+/**
+ * Collectors of values tracked outside of the registry: api budgets, task statistics and jvm memory and gc.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 22:15
+ */
+class StandardCollectors {
+    private static boolean isRegistered = false;
+
+    private StandardCollectors() {
+    }
+
+    static synchronized void registerAll() {
+        if (!isRegistered) {
+            MetricsRegistry.register(StandardCollectors::collectApiBudgets);
+            MetricsRegistry.register(StandardCollectors::collectTaskStatistics);
+            MetricsRegistry.register(StandardCollectors::collectJvm);
+            isRegistered = true;
+        }
+    }
+
+    private static void collectApiBudgets(MetricsRegistry.Sink sink) {
+        for (Map.Entry<String, ApiBudget> entry : ApiBudgetPlanner.getBudgets().entrySet()) {
+            String[] key = entry.getKey().split("/", 2);
+            ApiBudget budget = entry.getValue();
+            String[] labels = {"account", key[0], "process_type", key[1]};
+            sink.gauge("worm_api_rate_limit_remaining", "remaining calls in the current rate limit window, -1 if unknown", budget.getRemaining(), labels);
+            sink.gauge("worm_api_rate_limit", "calls allowed in a rate limit window", budget.getLimit(), labels);
+            sink.gauge("worm_api_reserved", "calls reserved for priority tasks", budget.getReserved(), labels);
+            sink.gauge("worm_api_reset_timestamp_seconds", "end of the current rate limit window", budget.getResetAtMillis() / 1000d, labels);
+            sink.counter("worm_api_acquired_total", "calls granted by the budget planner", budget.getAcquiredCount(), labels);
+            sink.counter("worm_api_denied_total", "calls denied by the budget planner", budget.getDeniedCount(), labels);
+        }
+    }
+
+    private static void collectTaskStatistics(MetricsRegistry.Sink sink) {
+        for (Map.Entry<String, TaskStatistics> entry : TaskScheduler.getStatistics().entrySet()) {
+            TaskStatistics statistics = entry.getValue();
+            String[] labels = {"task", entry.getKey()};
+            sink.gauge("worm_task_last_lag_seconds", "delay between due time and start of the last run", statistics.getLastQueueDelayMillis() / 1000d, labels);
+            sink.gauge("worm_task_max_lag_seconds", "longest delay between due time and start of a run", statistics.getMaxQueueDelayMillis() / 1000d, labels);
+            sink.gauge("worm_task_last_run_seconds", "duration of the last run", statistics.getLastRunMillis() / 1000d, labels);
+            sink.counter("worm_task_runs_total", "runs of the task", statistics.getRunCount(), labels);
+            sink.counter("worm_task_overruns_total", "runs that took longer than the period of the task", statistics.getOverrunCount(), labels);
+            sink.counter("worm_task_run_seconds_total", "time spent running the task", statistics.getTotalRunMillis() / 1000d, labels);
+        }
+    }
+
+    private static void collectJvm(MetricsRegistry.Sink sink) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        sink.gauge("jvm_memory_used_bytes", "used memory", heap.getUsed(), "area", "heap");
+        sink.gauge("jvm_memory_used_bytes", "used memory", nonHeap.getUsed(), "area", "nonheap");
+        sink.gauge("jvm_memory_committed_bytes", "committed memory", heap.getCommitted(), "area", "heap");
+        sink.gauge("jvm_memory_committed_bytes", "committed memory", nonHeap.getCommitted(), "area", "nonheap");
+        sink.gauge("jvm_memory_max_bytes", "max memory, -1 if undefined", heap.getMax(), "area", "heap");
+        sink.gauge("jvm_memory_max_bytes", "max memory, -1 if undefined", nonHeap.getMax(), "area", "nonheap");
+
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String[] labels = {"gc", garbageCollector.getName()};
+            sink.counter("jvm_gc_collections_total", "collections of the collector", Math.max(0, garbageCollector.getCollectionCount()), labels);
+            sink.counter("jvm_gc_collection_seconds_total", "time spent in collections of the collector", Math.max(0, garbageCollector.getCollectionTime()) / 1000d, labels);
+        }
+
+        sink.gauge("jvm_threads_live", "live threads", ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+}
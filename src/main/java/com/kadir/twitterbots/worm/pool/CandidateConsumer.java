@@ -0,0 +1,13 @@
+package com.kadir.twitterbots.worm.pool;
+
+/**
+ * Receives the ranking fields of a candidate, so a pool can be scanned without decoding a {@link com.kadir.twitterbots.worm.entity.CustomStatus}.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+@FunctionalInterface
+public interface CandidateConsumer {
+    void accept(long statusId, int score, int creationEpochDay, long fetchedAtMillis);
+}
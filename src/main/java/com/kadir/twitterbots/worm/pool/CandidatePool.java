@@ -0,0 +1,44 @@
+package com.kadir.twitterbots.worm.pool;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+
+import java.util.Collection;
+
+/**
+ * Holds the statuses that are candidates for the daily quote. Mutations are expected from the fetch thread,
+ * readers on other threads must work on a {@link CandidatePoolSnapshot}.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 10:12
+ */
+public interface CandidatePool {
+
+    CustomStatus get(long statusId);
+
+    CustomStatus findByUserId(long userId);
+
+    void put(CustomStatus customStatus);
+
+    void putAll(Collection<CustomStatus> customStatuses);
+
+    CustomStatus updateScore(long statusId, int score);
+
+    CustomStatus remove(long statusId);
+
+    /**
+     * Drops the text of a status once it is persisted.
+     */
+    void releaseStatusText(long statusId);
+
+    void clear();
+
+    int size();
+
+    CandidatePoolSnapshot snapshot();
+
+    /**
+     * Visits every candidate of the current pool, without taking a snapshot. The consumer must not mutate the pool.
+     */
+    void forEachCandidate(CandidateConsumer consumer);
+}
@@ -0,0 +1,336 @@
+package com.kadir.twitterbots.worm.pool;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append only, memory-mapped log of candidate pool mutations of one quote day. Records reach the page cache as soon as
+ * they are appended, so they survive a crash of the process; {@link #force()} writes them to disk.
+ * <p>
+ * Layout: magic, format version and epoch day of the quote day, then records until a zero length: body length, crc32
+ * of the body, and the body: record type and its fields. Length is written last, so a record torn by a crash fails
+ * its checksum or is not there at all and replay stops before it.
+ * <p>
+ * Compaction writes the current candidates as put records into a temporary file and moves it over the journal.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+final class CandidatePoolJournal {
+    private static final Logger logger = LoggerFactory.getLogger(CandidatePoolJournal.class);
+
+    private static final int MAGIC = 0x574A524E;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 4;
+    private static final int RECORD_HEADER_SIZE = 4 + 4;
+    private static final int NO_LENGTH = -1;
+
+    private static final byte PUT = 1;
+    private static final byte UPDATE_SCORE = 2;
+    private static final byte REMOVE = 3;
+    private static final byte RELEASE_STATUS_TEXT = 4;
+
+    private final Path path;
+    private final int minCapacity;
+    private final CRC32 crc32 = new CRC32();
+    private MappedByteBuffer buffer;
+    private int epochDay;
+    private int position;
+
+    private CandidatePoolJournal(Path path, int minCapacity) {
+        this.path = path;
+        this.minCapacity = minCapacity;
+    }
+
+    /**
+     * Opens the journal and replays it into the map if it belongs to the given quote day, otherwise starts an empty one.
+     */
+    static CandidatePoolJournal open(Path path, int minCapacity, int epochDay, Map<Long, CustomStatus> statusMap) throws IOException {
+        CandidatePoolJournal journal = new CandidatePoolJournal(path, minCapacity);
+        if (Files.isRegularFile(path) && Files.size(path) >= HEADER_SIZE) {
+            journal.map();
+            if (journal.buffer.getInt(0) == MAGIC && journal.buffer.getInt(4) == FORMAT_VERSION && journal.buffer.getInt(8) == epochDay) {
+                journal.epochDay = epochDay;
+                journal.replay(statusMap);
+                return journal;
+            }
+            logger.info("candidate pool journal belongs to another quote day, start a new one: {}", path);
+        }
+        journal.rewrite(epochDay, new ArrayList<>());
+        return journal;
+    }
+
+    private void map() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+    }
+
+    private void replay(Map<Long, CustomStatus> statusMap) {
+        int recordCount = 0;
+        position = HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - RECORD_HEADER_SIZE) {
+                break;
+            }
+
+            ByteBuffer body = slice(position + RECORD_HEADER_SIZE, length);
+            if (checksum(body.duplicate()) != buffer.getInt(position + 4)) {
+                logger.warn("candidate pool journal ends with a torn record at {}: {}", position, path);
+                break;
+            }
+            apply(body, statusMap);
+            position += RECORD_HEADER_SIZE + length;
+            recordCount++;
+        }
+
+        clearTail();
+        logger.info("replay candidate pool journal. records: {} candidates: {}", recordCount, statusMap.size());
+    }
+
+    /**
+     * A torn record can leave its body behind without a length, it is cleared so later records are not mixed with it.
+     */
+    private void clearTail() {
+        byte[] zeros = new byte[Math.min(1 << 16, buffer.capacity() - position)];
+        ByteBuffer tail = buffer.duplicate();
+        tail.position(position);
+        while (tail.hasRemaining()) {
+            tail.put(zeros, 0, Math.min(zeros.length, tail.remaining()));
+        }
+    }
+
+    /**
+     * Statuses in the map are not shared yet, so they are updated in place.
+     */
+    private static void apply(ByteBuffer body, Map<Long, CustomStatus> statusMap) {
+        byte type = body.get();
+        if (type == PUT) {
+            CustomStatus customStatus = new CustomStatus(body.getLong(), body.getLong(), null);
+            customStatus.setId(body.getLong());
+            customStatus.setFetchedAtMillis(body.getLong());
+            customStatus.setScore(body.getInt());
+            customStatus.setFoundEpochDay(body.getInt());
+            customStatus.setStatusCreationEpochDay(body.getInt());
+            customStatus.setQuotedEpochDay(body.getInt());
+            customStatus.setQuoted(body.get() != 0);
+            customStatus.setScreenName(readString(body));
+            customStatus.setStatusText(readString(body));
+            statusMap.put(customStatus.getStatusId(), customStatus);
+        } else if (type == UPDATE_SCORE) {
+            CustomStatus customStatus = statusMap.get(body.getLong());
+            if (customStatus != null) {
+                customStatus.setScore(body.getInt());
+            }
+        } else if (type == REMOVE) {
+            statusMap.remove(body.getLong());
+        } else if (type == RELEASE_STATUS_TEXT) {
+            CustomStatus customStatus = statusMap.get(body.getLong());
+            if (customStatus != null) {
+                customStatus.releaseStatusText();
+            }
+        } else {
+            throw new IllegalStateException("unknown candidate pool journal record type: " + type);
+        }
+    }
+
+    /**
+     * @return false if the journal is full and needs compaction
+     */
+    boolean appendPut(CustomStatus customStatus) {
+        byte[] screenName = encode(customStatus.getScreenName());
+        byte[] statusText = encode(customStatus.getStatusText());
+        ByteBuffer body = startRecord(1 + 8 * 4 + 4 * 4 + 1 + stringLength(screenName) + stringLength(statusText));
+        if (body == null) {
+            return false;
+        }
+
+        body.put(PUT);
+        body.putLong(customStatus.getStatusId());
+        body.putLong(customStatus.getUserId());
+        body.putLong(customStatus.getId() == null ? 0 : customStatus.getId());
+        body.putLong(customStatus.getFetchedAtMillis());
+        body.putInt(customStatus.getScore());
+        body.putInt(customStatus.getFoundEpochDay());
+        body.putInt(customStatus.getStatusCreationEpochDay());
+        body.putInt(customStatus.getQuotedEpochDay());
+        body.put(customStatus.isQuoted() ? (byte) 1 : 0);
+        writeString(body, screenName);
+        writeString(body, statusText);
+        commitRecord(body);
+        return true;
+    }
+
+    boolean appendUpdateScore(long statusId, int score) {
+        ByteBuffer body = startRecord(1 + 8 + 4);
+        if (body == null) {
+            return false;
+        }
+
+        body.put(UPDATE_SCORE);
+        body.putLong(statusId);
+        body.putInt(score);
+        commitRecord(body);
+        return true;
+    }
+
+    boolean appendRemove(long statusId) {
+        return appendStatusIdRecord(REMOVE, statusId);
+    }
+
+    boolean appendReleaseStatusText(long statusId) {
+        return appendStatusIdRecord(RELEASE_STATUS_TEXT, statusId);
+    }
+
+    private boolean appendStatusIdRecord(byte type, long statusId) {
+        ByteBuffer body = startRecord(1 + 8);
+        if (body == null) {
+            return false;
+        }
+
+        body.put(type);
+        body.putLong(statusId);
+        commitRecord(body);
+        return true;
+    }
+
+    private ByteBuffer startRecord(int length) {
+        if (length > buffer.capacity() - position - RECORD_HEADER_SIZE) {
+            return null;
+        }
+        return slice(position + RECORD_HEADER_SIZE, length);
+    }
+
+    private void commitRecord(ByteBuffer body) {
+        body.flip();
+        int length = body.remaining();
+        buffer.putInt(position + 4, checksum(body));
+        buffer.putInt(position, length);
+        position += RECORD_HEADER_SIZE + length;
+    }
+
+    /**
+     * @return true once more than half of the journal is used
+     */
+    boolean needsCompaction() {
+        return position > buffer.capacity() / 2;
+    }
+
+    void compact(Collection<CustomStatus> customStatuses) throws IOException {
+        long start = System.currentTimeMillis();
+        int previousPosition = position;
+        rewrite(epochDay, customStatuses);
+        logger.info("compact candidate pool journal. candidates: {} bytes: {} -> {} took: {} ms", customStatuses.size(), previousPosition,
+                position, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Starts the journal of a new quote day.
+     */
+    void reset(int epochDay) throws IOException {
+        rewrite(epochDay, new ArrayList<>());
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Writes the put records of the statuses into a temporary file that is at most a quarter full, and moves it over
+     * the journal.
+     */
+    private void rewrite(int epochDay, Collection<CustomStatus> customStatuses) throws IOException {
+        List<CustomStatus> statuses = new ArrayList<>(customStatuses);
+        long liveBytes = HEADER_SIZE;
+        for (CustomStatus customStatus : statuses) {
+            liveBytes += RECORD_HEADER_SIZE + 1 + 8 * 4 + 4 * 4 + 1 + 8 + 4L * (customStatus.getStatusText() == null ? 0 : customStatus.getStatusText().length())
+                    + 4L * (customStatus.getScreenName() == null ? 0 : customStatus.getScreenName().length());
+        }
+        long capacity = minCapacity;
+        while (capacity < liveBytes * 4 && capacity < Integer.MAX_VALUE) {
+            capacity *= 2;
+        }
+        if (liveBytes > Integer.MAX_VALUE) {
+            throw new IOException("candidate pool journal can not hold " + liveBytes + " bytes");
+        }
+
+        Path absolutePath = path.toAbsolutePath();
+        Path temporaryFile = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(capacity, Integer.MAX_VALUE));
+            }
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putInt(8, epochDay);
+            this.epochDay = epochDay;
+            position = HEADER_SIZE;
+            for (CustomStatus customStatus : statuses) {
+                appendPut(customStatus);
+            }
+            buffer.force();
+
+            Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private ByteBuffer slice(int offset, int length) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.limit(offset + length);
+        slice.position(offset);
+        return slice.slice();
+    }
+
+    private int checksum(ByteBuffer body) {
+        crc32.reset();
+        crc32.update(body);
+        return (int) crc32.getValue();
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringLength(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+
+    private static void writeString(ByteBuffer body, byte[] value) {
+        if (value == null) {
+            body.putInt(NO_LENGTH);
+        } else {
+            body.putInt(value.length);
+            body.put(value);
+        }
+    }
+
+    private static String readString(ByteBuffer body) {
+        int length = body.getInt();
+        if (length == NO_LENGTH) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        body.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
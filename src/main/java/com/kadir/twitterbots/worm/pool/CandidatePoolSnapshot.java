@@ -0,0 +1,58 @@
+package com.kadir.twitterbots.worm.pool;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable view of a {@link CandidatePool} at a given version. Statuses in a snapshot are never modified by the
+ * pool, updates are published as new {@link CustomStatus} instances in a newer snapshot.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 10:14
+ */
+public final class CandidatePoolSnapshot {
+    private final long version;
+    private final Map<Long, CustomStatus> statusMap;
+
+    CandidatePoolSnapshot(long version, Map<Long, CustomStatus> statusMap) {
+        this.version = version;
+        this.statusMap = Collections.unmodifiableMap(statusMap);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public CustomStatus get(long statusId) {
+        return statusMap.get(statusId);
+    }
+
+    public boolean containsKey(long statusId) {
+        return statusMap.containsKey(statusId);
+    }
+
+    public Set<Long> getStatusIds() {
+        return statusMap.keySet();
+    }
+
+    public Collection<CustomStatus> getStatuses() {
+        return statusMap.values();
+    }
+
+    public Map<Long, CustomStatus> asMap() {
+        return statusMap;
+    }
+
+    public int size() {
+        return statusMap.size();
+    }
+
+    public boolean isEmpty() {
+        return statusMap.isEmpty();
+    }
+}
@@ -0,0 +1,42 @@
+package com.kadir.twitterbots.worm.pool;
+
+import java.nio.file.Paths;
+
+/**
+ * Where the candidate pool keeps its statuses, selected by candidatePoolStore.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public enum CandidatePoolStore {
+    /**
+     * statuses on the heap, copied on every write. Fits the default pool of statusLimitToKeep=30
+     */
+    HEAP {
+        @Override
+        public CandidatePool create() {
+            return new CopyOnWriteCandidatePool();
+        }
+    },
+    /**
+     * statuses in direct buffers, for pools of hundreds of thousands of statuses. Sized by candidatePoolCapacity
+     */
+    OFF_HEAP {
+        @Override
+        public CandidatePool create() {
+            return new OffHeapCandidatePool(Integer.parseInt(System.getProperty("candidatePoolCapacity", "1024")));
+        }
+    };
+
+    public abstract CandidatePool create();
+
+    /**
+     * @return pool of candidatePoolStore, journaled into candidateJournalFile unless it is empty
+     */
+    public static CandidatePool fromSystemProperties() {
+        CandidatePool candidatePool = valueOf(System.getProperty("candidatePoolStore", HEAP.name()).toUpperCase()).create();
+        String journalFile = System.getProperty("candidateJournalFile", "candidate-pool.journal").trim();
+        return journalFile.isEmpty() ? candidatePool : JournaledCandidatePool.open(candidatePool, Paths.get(journalFile));
+    }
+}
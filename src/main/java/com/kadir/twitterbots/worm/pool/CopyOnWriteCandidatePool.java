@@ -0,0 +1,121 @@
+package com.kadir.twitterbots.worm.pool;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link CandidatePool} that publishes a new immutable map on every mutation. Writers are serialised on the pool,
+ * readers only do a volatile read so a flush never blocks ingestion. Pool sizes are small (statusLimitToKeep) so
+ * copying on write is cheaper than coordinating readers.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 10:20
+ */
+public class CopyOnWriteCandidatePool implements CandidatePool {
+    private volatile CandidatePoolSnapshot current = new CandidatePoolSnapshot(0, new HashMap<>());
+
+    @Override
+    public CustomStatus get(long statusId) {
+        return current.get(statusId);
+    }
+
+    @Override
+    public CustomStatus findByUserId(long userId) {
+        for (CustomStatus customStatus : current.getStatuses()) {
+            if (customStatus.getUserId() == userId) {
+                return customStatus;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void put(CustomStatus customStatus) {
+        Map<Long, CustomStatus> statusMap = copy();
+        statusMap.put(customStatus.getStatusId(), customStatus);
+        publish(statusMap);
+    }
+
+    @Override
+    public synchronized void putAll(Collection<CustomStatus> customStatuses) {
+        Map<Long, CustomStatus> statusMap = copy();
+        for (CustomStatus customStatus : customStatuses) {
+            statusMap.put(customStatus.getStatusId(), customStatus);
+        }
+        publish(statusMap);
+    }
+
+    @Override
+    public synchronized CustomStatus updateScore(long statusId, int score) {
+        CustomStatus existing = current.get(statusId);
+        if (existing == null) {
+            return null;
+        }
+
+        CustomStatus updated = new CustomStatus(existing);
+        updated.setScore(score);
+        Map<Long, CustomStatus> statusMap = copy();
+        statusMap.put(statusId, updated);
+        publish(statusMap);
+        return updated;
+    }
+
+    @Override
+    public synchronized CustomStatus remove(long statusId) {
+        if (!current.containsKey(statusId)) {
+            return null;
+        }
+
+        Map<Long, CustomStatus> statusMap = copy();
+        CustomStatus removed = statusMap.remove(statusId);
+        publish(statusMap);
+        return removed;
+    }
+
+    /**
+     * Text is released in place, only persistence reads it and the same instance is shared by every snapshot since
+     * its last update.
+     */
+    @Override
+    public void releaseStatusText(long statusId) {
+        CustomStatus customStatus = current.get(statusId);
+        if (customStatus != null) {
+            customStatus.releaseStatusText();
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        publish(new HashMap<>());
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    @Override
+    public CandidatePoolSnapshot snapshot() {
+        return current;
+    }
+
+    @Override
+    public void forEachCandidate(CandidateConsumer consumer) {
+        for (CustomStatus customStatus : current.getStatuses()) {
+            consumer.accept(customStatus.getStatusId(), customStatus.getScore(), customStatus.getStatusCreationEpochDay(),
+                    customStatus.getFetchedAtMillis());
+        }
+    }
+
+    private Map<Long, CustomStatus> copy() {
+        return new HashMap<>(current.asMap());
+    }
+
+    private void publish(Map<Long, CustomStatus> statusMap) {
+        current = new CandidatePoolSnapshot(current.getVersion() + 1, statusMap);
+    }
+}
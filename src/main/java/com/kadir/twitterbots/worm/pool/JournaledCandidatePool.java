@@ -0,0 +1,196 @@
+package com.kadir.twitterbots.worm.pool;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+import com.kadir.twitterbots.worm.entity.TaskPriority;
+import com.kadir.twitterbots.worm.scheduler.ScheduledTask;
+import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.util.QuoteDay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CandidatePool} that records every mutation in a {@link CandidatePoolJournal} after applying it, so candidates
+ * fetched since the last database flush are restored from the journal on restart without querying the database.
+ * Database stays the system of record, the journal only covers the current quote day and is started over when the
+ * pool is cleared for a new day.
+ * <p>
+ * The journal is forced to disk and compacted once half full every candidateJournalSyncSeconds, and once more when the
+ * JVM shuts down. If writing the journal fails it is abandoned and deleted, so a restart does not replay the part of
+ * the day it holds, and the pool works in memory only. Restored candidates may still miss statuses saved to database,
+ * so the owner of the pool merges today's statuses of database into it.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class JournaledCandidatePool implements CandidatePool {
+    private static final Logger logger = LoggerFactory.getLogger(JournaledCandidatePool.class);
+    private static final String TASK_NAME = "CandidatePoolJournalSync";
+
+    private final CandidatePool delegate;
+    private final Path path;
+    private final ScheduledTask syncTask;
+    private CandidatePoolJournal journal;
+
+    private JournaledCandidatePool(CandidatePool delegate, Path path, CandidatePoolJournal journal) {
+        this.delegate = delegate;
+        this.path = path;
+        this.journal = journal;
+
+        int syncSeconds = Integer.parseInt(System.getProperty("candidateJournalSyncSeconds", "5"));
+        logger.debug("Set candidateJournalSyncSeconds:{}", syncSeconds);
+        syncTask = TaskScheduler.scheduleWithFixedDelay(TASK_NAME, TaskPriority.HIGH, this::sync, syncSeconds, syncSeconds, TimeUnit.SECONDS);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::sync, "candidate-pool-journal-sync"));
+    }
+
+    /**
+     * Replays the journal at path into the pool before wrapping it.
+     *
+     * @return the pool itself if the journal can not be opened
+     */
+    public static CandidatePool open(CandidatePool delegate, Path path) {
+        int minCapacity = Integer.parseInt(System.getProperty("candidateJournalSizeMb", "16")) << 20;
+        long start = System.currentTimeMillis();
+        try {
+            Map<Long, CustomStatus> restoredStatuses = new LinkedHashMap<>();
+            CandidatePoolJournal journal = CandidatePoolJournal.open(path, minCapacity, (int) QuoteDay.today().toEpochDay(), restoredStatuses);
+            delegate.putAll(restoredStatuses.values());
+            logger.info("open candidate pool journal: {} candidates: {} took: {} ms", path, delegate.size(), System.currentTimeMillis() - start);
+            return new JournaledCandidatePool(delegate, path, journal);
+        } catch (IOException | RuntimeException e) {
+            logger.error("candidate pool journal could not be opened, candidates are kept in memory only: {}", path, e);
+            delegate.clear();
+            delete(path);
+            return delegate;
+        }
+    }
+
+    @Override
+    public CustomStatus get(long statusId) {
+        return delegate.get(statusId);
+    }
+
+    @Override
+    public CustomStatus findByUserId(long userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public synchronized void put(CustomStatus customStatus) {
+        delegate.put(customStatus);
+        if (journal != null && !journal.appendPut(customStatus)) {
+            compact();
+        }
+    }
+
+    @Override
+    public synchronized void putAll(Collection<CustomStatus> customStatuses) {
+        delegate.putAll(customStatuses);
+        for (CustomStatus customStatus : customStatuses) {
+            if (journal != null && !journal.appendPut(customStatus)) {
+                compact();
+            }
+        }
+    }
+
+    @Override
+    public synchronized CustomStatus updateScore(long statusId, int score) {
+        CustomStatus updated = delegate.updateScore(statusId, score);
+        if (updated != null && journal != null && !journal.appendUpdateScore(statusId, score)) {
+            compact();
+        }
+        return updated;
+    }
+
+    @Override
+    public synchronized CustomStatus remove(long statusId) {
+        CustomStatus removed = delegate.remove(statusId);
+        if (removed != null && journal != null && !journal.appendRemove(statusId)) {
+            compact();
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized void releaseStatusText(long statusId) {
+        delegate.releaseStatusText(statusId);
+        if (journal != null && !journal.appendReleaseStatusText(statusId)) {
+            compact();
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        delegate.clear();
+        if (journal != null) {
+            try {
+                journal.reset((int) QuoteDay.today().toEpochDay());
+            } catch (IOException e) {
+                abandon(e);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public CandidatePoolSnapshot snapshot() {
+        return delegate.snapshot();
+    }
+
+    @Override
+    public void forEachCandidate(CandidateConsumer consumer) {
+        delegate.forEachCandidate(consumer);
+    }
+
+    /**
+     * Forces the journal to disk, compacting it first once half full.
+     */
+    public synchronized void sync() {
+        if (journal == null) {
+            return;
+        }
+
+        if (journal.needsCompaction()) {
+            compact();
+        }
+        if (journal != null) {
+            journal.force();
+        }
+    }
+
+    private void compact() {
+        try {
+            journal.compact(delegate.snapshot().getStatuses());
+        } catch (IOException | RuntimeException e) {
+            abandon(e);
+        }
+    }
+
+    private void abandon(Exception e) {
+        logger.error("candidate pool journal could not be written, candidates are kept in memory only: {}", path, e);
+        journal = null;
+        syncTask.cancel();
+        delete(path);
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.error("candidate pool journal could not be deleted, it must be removed before restart: {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.kadir.twitterbots.worm.pool;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link CandidatePool} that keeps candidates outside the heap, for pools of hundreds of thousands of statuses.
+ * Fields are fixed width columns of a row in a direct buffer, screen name and text are kept in a text arena and rows
+ * are found by off-heap indexes of status id and user id. Rows are kept dense, a removed row is replaced by the last
+ * one. Statuses of the same user are chained through their rows.
+ * <p>
+ * Every method is synchronized. {@link CustomStatus} instances are decoded on demand and are copies, a snapshot decodes
+ * every row once and is reused until the next mutation. {@link #forEachCandidate(CandidateConsumer)} reads the columns
+ * of rows in place, so ranking the pool on every admission does not decode it.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class OffHeapCandidatePool implements CandidatePool {
+    private static final int STATUS_ID = 0;
+    private static final int USER_ID = 8;
+    private static final int ID = 16;
+    private static final int FETCHED_AT = 24;
+    private static final int SCORE = 32;
+    private static final int FOUND_DAY = 36;
+    private static final int CREATION_DAY = 40;
+    private static final int QUOTED_DAY = 44;
+    private static final int TEXT_OFFSET = 48;
+    private static final int SCREEN_NAME_LENGTH = 52;
+    private static final int TEXT_LENGTH = 56;
+    private static final int FLAGS = 60;
+    private static final int NEXT_OF_USER = 64;
+    private static final int ROW_SIZE = 72;
+
+    private static final int QUOTED_FLAG = 1;
+    private static final int NONE = -1;
+    private static final int ARENA_BYTES_PER_ROW = 64;
+    private static final int MIN_DEAD_BYTES_TO_COMPACT = 1 << 16;
+
+    private final int initialCapacity;
+    private final OffHeapLongIntIndex statusIndex;
+    private final OffHeapLongIntIndex userIndex;
+    private ByteBuffer rows;
+    private OffHeapTextArena textArena;
+    private int rowCount;
+    private long version;
+    private CandidatePoolSnapshot snapshot;
+
+    public OffHeapCandidatePool(int initialCapacity) {
+        this.initialCapacity = Math.max(initialCapacity, 16);
+        this.statusIndex = new OffHeapLongIntIndex(this.initialCapacity);
+        this.userIndex = new OffHeapLongIntIndex(this.initialCapacity);
+        this.rows = ByteBuffer.allocateDirect(this.initialCapacity * ROW_SIZE);
+        this.textArena = new OffHeapTextArena(this.initialCapacity * ARENA_BYTES_PER_ROW);
+    }
+
+    @Override
+    public synchronized CustomStatus get(long statusId) {
+        int row = statusIndex.get(statusId);
+        return row == NONE ? null : decode(row);
+    }
+
+    @Override
+    public synchronized CustomStatus findByUserId(long userId) {
+        int row = userIndex.get(userId);
+        return row == NONE ? null : decode(row);
+    }
+
+    @Override
+    public synchronized void put(CustomStatus customStatus) {
+        int existingRow = statusIndex.get(customStatus.getStatusId());
+        if (existingRow != NONE) {
+            removeRow(existingRow);
+        }
+
+        byte[] screenName = encode(customStatus.getScreenName());
+        byte[] statusText = encode(customStatus.getStatusText());
+        compactTextArenaIfNeeded();
+        ensureRowCapacity();
+
+        int row = rowCount++;
+        int base = row * ROW_SIZE;
+        rows.putLong(base + STATUS_ID, customStatus.getStatusId());
+        rows.putLong(base + USER_ID, customStatus.getUserId());
+        rows.putLong(base + ID, customStatus.getId() == null ? 0 : customStatus.getId());
+        rows.putLong(base + FETCHED_AT, customStatus.getFetchedAtMillis());
+        rows.putInt(base + SCORE, customStatus.getScore());
+        rows.putInt(base + FOUND_DAY, customStatus.getFoundEpochDay());
+        rows.putInt(base + CREATION_DAY, customStatus.getStatusCreationEpochDay());
+        rows.putInt(base + QUOTED_DAY, customStatus.getQuotedEpochDay());
+        rows.putInt(base + TEXT_OFFSET, textArena.append(screenName, statusText));
+        rows.putInt(base + SCREEN_NAME_LENGTH, screenName == null ? NONE : screenName.length);
+        rows.putInt(base + TEXT_LENGTH, statusText == null ? NONE : statusText.length);
+        rows.putInt(base + FLAGS, customStatus.isQuoted() ? QUOTED_FLAG : 0);
+        rows.putInt(base + NEXT_OF_USER, userIndex.get(customStatus.getUserId()));
+
+        statusIndex.put(customStatus.getStatusId(), row);
+        userIndex.put(customStatus.getUserId(), row);
+        changed();
+    }
+
+    @Override
+    public synchronized void putAll(Collection<CustomStatus> customStatuses) {
+        for (CustomStatus customStatus : customStatuses) {
+            put(customStatus);
+        }
+    }
+
+    @Override
+    public synchronized CustomStatus updateScore(long statusId, int score) {
+        int row = statusIndex.get(statusId);
+        if (row == NONE) {
+            return null;
+        }
+
+        rows.putInt(row * ROW_SIZE + SCORE, score);
+        changed();
+        return decode(row);
+    }
+
+    @Override
+    public synchronized CustomStatus remove(long statusId) {
+        int row = statusIndex.get(statusId);
+        if (row == NONE) {
+            return null;
+        }
+
+        CustomStatus removed = decode(row);
+        removeRow(row);
+        changed();
+        return removed;
+    }
+
+    @Override
+    public synchronized void releaseStatusText(long statusId) {
+        int row = statusIndex.get(statusId);
+        if (row == NONE || rows.getInt(row * ROW_SIZE + TEXT_LENGTH) == NONE) {
+            return;
+        }
+
+        textArena.release(rows.getInt(row * ROW_SIZE + TEXT_LENGTH));
+        rows.putInt(row * ROW_SIZE + TEXT_LENGTH, NONE);
+        changed();
+    }
+
+    @Override
+    public synchronized void clear() {
+        rowCount = 0;
+        statusIndex.clear(initialCapacity);
+        userIndex.clear(initialCapacity);
+        rows = ByteBuffer.allocateDirect(initialCapacity * ROW_SIZE);
+        textArena = new OffHeapTextArena(initialCapacity * ARENA_BYTES_PER_ROW);
+        changed();
+    }
+
+    @Override
+    public synchronized int size() {
+        return rowCount;
+    }
+
+    @Override
+    public synchronized CandidatePoolSnapshot snapshot() {
+        if (snapshot == null) {
+            Map<Long, CustomStatus> statusMap = new HashMap<>(rowCount * 4 / 3 + 1);
+            for (int row = 0; row < rowCount; row++) {
+                CustomStatus customStatus = decode(row);
+                statusMap.put(customStatus.getStatusId(), customStatus);
+            }
+            snapshot = new CandidatePoolSnapshot(version, statusMap);
+        }
+        return snapshot;
+    }
+
+    @Override
+    public synchronized void forEachCandidate(CandidateConsumer consumer) {
+        for (int row = 0; row < rowCount; row++) {
+            int base = row * ROW_SIZE;
+            consumer.accept(rows.getLong(base + STATUS_ID), rows.getInt(base + SCORE), rows.getInt(base + CREATION_DAY),
+                    rows.getLong(base + FETCHED_AT));
+        }
+    }
+
+    private CustomStatus decode(int row) {
+        int base = row * ROW_SIZE;
+        int textOffset = rows.getInt(base + TEXT_OFFSET);
+        int screenNameLength = rows.getInt(base + SCREEN_NAME_LENGTH);
+        int textLength = rows.getInt(base + TEXT_LENGTH);
+
+        CustomStatus customStatus = new CustomStatus(rows.getLong(base + STATUS_ID), rows.getLong(base + USER_ID),
+                decode(textOffset, screenNameLength));
+        customStatus.setId(rows.getLong(base + ID));
+        customStatus.setFetchedAtMillis(rows.getLong(base + FETCHED_AT));
+        customStatus.setScore(rows.getInt(base + SCORE));
+        customStatus.setFoundEpochDay(rows.getInt(base + FOUND_DAY));
+        customStatus.setStatusCreationEpochDay(rows.getInt(base + CREATION_DAY));
+        customStatus.setQuotedEpochDay(rows.getInt(base + QUOTED_DAY));
+        customStatus.setQuoted((rows.getInt(base + FLAGS) & QUOTED_FLAG) != 0);
+        customStatus.setStatusText(decode(textOffset + Math.max(screenNameLength, 0), textLength));
+        return customStatus;
+    }
+
+    private String decode(int offset, int length) {
+        return length == NONE ? null : new String(textArena.read(offset, length), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void removeRow(int row) {
+        textArena.release(spanLength(row));
+        statusIndex.remove(rows.getLong(row * ROW_SIZE + STATUS_ID));
+        unlinkFromUser(row);
+
+        int lastRow = --rowCount;
+        if (row != lastRow) {
+            moveRow(lastRow, row);
+        }
+    }
+
+    private void unlinkFromUser(int row) {
+        long userId = rows.getLong(row * ROW_SIZE + USER_ID);
+        int next = rows.getInt(row * ROW_SIZE + NEXT_OF_USER);
+        int head = userIndex.get(userId);
+        if (head == row) {
+            if (next == NONE) {
+                userIndex.remove(userId);
+            } else {
+                userIndex.put(userId, next);
+            }
+        } else {
+            rows.putInt(previousOfUser(head, row) * ROW_SIZE + NEXT_OF_USER, next);
+        }
+    }
+
+    private void moveRow(int from, int to) {
+        for (int offset = 0; offset < ROW_SIZE; offset += Long.BYTES) {
+            rows.putLong(to * ROW_SIZE + offset, rows.getLong(from * ROW_SIZE + offset));
+        }
+
+        statusIndex.put(rows.getLong(to * ROW_SIZE + STATUS_ID), to);
+        long userId = rows.getLong(to * ROW_SIZE + USER_ID);
+        int head = userIndex.get(userId);
+        if (head == from) {
+            userIndex.put(userId, to);
+        } else {
+            rows.putInt(previousOfUser(head, from) * ROW_SIZE + NEXT_OF_USER, to);
+        }
+    }
+
+    private int previousOfUser(int head, int row) {
+        int previous = head;
+        while (rows.getInt(previous * ROW_SIZE + NEXT_OF_USER) != row) {
+            previous = rows.getInt(previous * ROW_SIZE + NEXT_OF_USER);
+        }
+        return previous;
+    }
+
+    private int spanLength(int row) {
+        return Math.max(rows.getInt(row * ROW_SIZE + SCREEN_NAME_LENGTH), 0) + Math.max(rows.getInt(row * ROW_SIZE + TEXT_LENGTH), 0);
+    }
+
+    private void ensureRowCapacity() {
+        if ((rowCount + 1L) * ROW_SIZE <= rows.capacity()) {
+            return;
+        }
+
+        long capacity = rows.capacity() * 2L;
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("candidate pool is full: " + rowCount);
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+        ByteBuffer source = rows.duplicate();
+        source.position(0);
+        source.limit(rowCount * ROW_SIZE);
+        grown.put(source);
+        rows = grown;
+    }
+
+    /**
+     * Copies live spans into a new arena once more than half of the arena is released text or removed rows.
+     */
+    private void compactTextArenaIfNeeded() {
+        int deadBytes = textArena.getDeadBytes();
+        if (deadBytes < MIN_DEAD_BYTES_TO_COMPACT || deadBytes * 2L < textArena.getUsed()) {
+            return;
+        }
+
+        OffHeapTextArena compacted = new OffHeapTextArena((int) Math.max(initialCapacity * ARENA_BYTES_PER_ROW, Math.min(Integer.MAX_VALUE, (textArena.getUsed() - deadBytes) * 2L)));
+        for (int row = 0; row < rowCount; row++) {
+            int length = spanLength(row);
+            int offset = rows.getInt(row * ROW_SIZE + TEXT_OFFSET);
+            rows.putInt(row * ROW_SIZE + TEXT_OFFSET, length == 0 ? 0 : compacted.copyFrom(textArena, offset, length));
+        }
+        textArena = compacted;
+    }
+
+    private void changed() {
+        version++;
+        snapshot = null;
+    }
+}
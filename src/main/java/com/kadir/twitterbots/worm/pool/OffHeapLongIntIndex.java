@@ -0,0 +1,131 @@
+package com.kadir.twitterbots.worm.pool;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Open addressing map of long keys to int values with linear probing, kept in a direct buffer. Key 0 marks an empty
+ * slot, so it can not be used as a key. Removal shifts the following entries back instead of leaving tombstones.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+final class OffHeapLongIntIndex {
+    static final int NO_VALUE = -1;
+    private static final int SLOT_SIZE = 16;
+    private static final int VALUE = 8;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 26;
+
+    private ByteBuffer slots;
+    private int mask;
+    private int size;
+
+    OffHeapLongIntIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int home(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+
+    private int find(long key) {
+        int slot = home(key);
+        while (true) {
+            long slotKey = slots.getLong(slot * SLOT_SIZE);
+            if (slotKey == key) {
+                return slot;
+            } else if (slotKey == 0) {
+                return -1 - slot;
+            }
+            slot = slot + 1 & mask;
+        }
+    }
+
+    int get(long key) {
+        int slot = find(key);
+        return slot < 0 ? NO_VALUE : slots.getInt(slot * SLOT_SIZE + VALUE);
+    }
+
+    void put(long key, int value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("key 0 is reserved for empty slots");
+        }
+
+        int slot = find(key);
+        if (slot < 0) {
+            if ((size + 1) * 2L > mask + 1) {
+                resize();
+                slot = find(key);
+            }
+            slot = -1 - slot;
+            slots.putLong(slot * SLOT_SIZE, key);
+            size++;
+        }
+        slots.putInt(slot * SLOT_SIZE + VALUE, value);
+    }
+
+    void remove(long key) {
+        int hole = find(key);
+        if (hole < 0) {
+            return;
+        }
+
+        int slot = hole;
+        while (true) {
+            slot = slot + 1 & mask;
+            long slotKey = slots.getLong(slot * SLOT_SIZE);
+            if (slotKey == 0) {
+                break;
+            }
+            int home = home(slotKey);
+            boolean isHomeBetween = hole <= slot ? hole < home && home <= slot : hole < home || home <= slot;
+            if (!isHomeBetween) {
+                slots.putLong(hole * SLOT_SIZE, slotKey);
+                slots.putInt(hole * SLOT_SIZE + VALUE, slots.getInt(slot * SLOT_SIZE + VALUE));
+                hole = slot;
+            }
+        }
+        slots.putLong(hole * SLOT_SIZE, 0L);
+        size--;
+    }
+
+    void clear(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        if (mask + 1 >= MAX_CAPACITY) {
+            throw new IllegalStateException("index is full: " + size);
+        }
+
+        ByteBuffer oldSlots = slots;
+        int oldCapacity = mask + 1;
+        allocate(oldCapacity * 2);
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            long key = oldSlots.getLong(slot * SLOT_SIZE);
+            if (key != 0) {
+                put(key, oldSlots.getInt(slot * SLOT_SIZE + VALUE));
+            }
+        }
+    }
+}
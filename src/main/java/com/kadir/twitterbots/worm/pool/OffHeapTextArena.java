@@ -0,0 +1,93 @@
+package com.kadir.twitterbots.worm.pool;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Append only byte arena in a direct buffer. Released bytes are only counted, the owner copies live spans into a new
+ * arena once enough of it is dead.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+final class OffHeapTextArena {
+    private ByteBuffer bytes;
+    private int used;
+    private int deadBytes;
+
+    OffHeapTextArena(int capacity) {
+        bytes = ByteBuffer.allocateDirect(Math.max(capacity, 64));
+    }
+
+    /**
+     * @return offset of the first byte, second follows first
+     */
+    int append(byte[] first, byte[] second) {
+        int length = (first == null ? 0 : first.length) + (second == null ? 0 : second.length);
+        ensureCapacity(length);
+
+        int offset = used;
+        ByteBuffer target = bytes.duplicate();
+        target.position(offset);
+        if (first != null) {
+            target.put(first);
+        }
+        if (second != null) {
+            target.put(second);
+        }
+        used += length;
+        return offset;
+    }
+
+    int copyFrom(OffHeapTextArena source, int offset, int length) {
+        ensureCapacity(length);
+
+        ByteBuffer span = source.bytes.duplicate();
+        span.limit(offset + length);
+        span.position(offset);
+        ByteBuffer target = bytes.duplicate();
+        target.position(used);
+        target.put(span);
+
+        int copiedOffset = used;
+        used += length;
+        return copiedOffset;
+    }
+
+    byte[] read(int offset, int length) {
+        byte[] span = new byte[length];
+        ByteBuffer source = bytes.duplicate();
+        source.position(offset);
+        source.get(span);
+        return span;
+    }
+
+    void release(int length) {
+        deadBytes += length;
+    }
+
+    int getUsed() {
+        return used;
+    }
+
+    int getDeadBytes() {
+        return deadBytes;
+    }
+
+    private void ensureCapacity(int length) {
+        if (used + (long) length <= bytes.capacity()) {
+            return;
+        }
+
+        long capacity = Math.max(bytes.capacity() * 2L, used + (long) length);
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("text arena is full: " + used + " bytes");
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+        ByteBuffer source = bytes.duplicate();
+        source.position(0);
+        source.limit(used);
+        grown.put(source);
+        bytes = grown;
+    }
+}
@@ -0,0 +1,147 @@
+package com.kadir.twitterbots.worm.scheduler;
+
+import twitter4j.RateLimitStatus;
+
+/**
+ * Rate limit window of one api process type of one account. Instances returned by
+ * {@link ApiBudgetPlanner#getBudgets()} are copies and do not change afterwards.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 16:40
+ */
+public class ApiBudget {
+    static final long WINDOW_MILLIS = 15 * 60 * 1000L;
+    private static final int UNKNOWN = -1;
+    static final long UNKNOWN_GRANT_INTERVAL_MILLIS = 5_000L;
+
+    private int limit = UNKNOWN;
+    private int remaining = UNKNOWN;
+    private long resetAtMillis;
+    private int reserved;
+    private int planned;
+    private long acquiredCount;
+    private long deniedCount;
+    private long lastUnknownGrantMillis = Long.MIN_VALUE / 2;
+
+    ApiBudget() {
+    }
+
+    private ApiBudget(ApiBudget other) {
+        limit = other.limit;
+        remaining = other.remaining;
+        resetAtMillis = other.resetAtMillis;
+        reserved = other.reserved;
+        planned = other.planned;
+        acquiredCount = other.acquiredCount;
+        deniedCount = other.deniedCount;
+        lastUnknownGrantMillis = other.lastUnknownGrantMillis;
+    }
+
+    synchronized void update(RateLimitStatus rateLimitStatus) {
+        limit = rateLimitStatus.getLimit();
+        remaining = rateLimitStatus.getRemaining();
+        resetAtMillis = rateLimitStatus.getResetTimeInSeconds() * 1000L;
+    }
+
+    /**
+     * Calls of lower priority are spread over the window: they may spend the budget left after the reservation only as
+     * fast as the window elapses, plus a burst. Until the window is known, at startup and after every reset, they get
+     * one call per {@link #UNKNOWN_GRANT_INTERVAL_MILLIS}, whose rate limit status makes it known, so fan-outs can not
+     * spend the reservation before it is seen.
+     */
+    synchronized boolean tryAcquire(boolean isPaced, int reserved, int burstPercent, long now) {
+        resetIfWindowEnded(now);
+        this.reserved = reserved;
+        if (remaining == UNKNOWN) {
+            if (!isPaced || now - lastUnknownGrantMillis >= UNKNOWN_GRANT_INTERVAL_MILLIS) {
+                if (isPaced) {
+                    lastUnknownGrantMillis = now;
+                }
+                acquiredCount++;
+                return true;
+            }
+        } else if (remaining > 0 && (!isPaced || getMillisUntilPlanned(burstPercent, now) == 0)) {
+            remaining--;
+            acquiredCount++;
+            return true;
+        }
+        deniedCount++;
+        return false;
+    }
+
+    synchronized long getMillisUntilAvailable(boolean isPaced, int reserved, int burstPercent, long now) {
+        resetIfWindowEnded(now);
+        this.reserved = reserved;
+        if (remaining == UNKNOWN) {
+            return isPaced ? Math.max(0, lastUnknownGrantMillis + UNKNOWN_GRANT_INTERVAL_MILLIS - now) : 0;
+        } else if (remaining == 0) {
+            return resetAtMillis - now;
+        }
+        return isPaced ? getMillisUntilPlanned(burstPercent, now) : 0;
+    }
+
+    private long getMillisUntilPlanned(int burstPercent, long now) {
+        int spendable = Math.max(0, limit - reserved);
+        int burst = Math.max(1, spendable * burstPercent / 100);
+        long windowStart = resetAtMillis - WINDOW_MILLIS;
+        long elapsed = Math.min(WINDOW_MILLIS, Math.max(0, now - windowStart));
+        planned = (int) Math.min(spendable, burst + spendable * elapsed / WINDOW_MILLIS);
+
+        if (remaining <= reserved) {
+            return resetAtMillis - now;
+        } else if (getUsed() < planned) {
+            return 0;
+        }
+        long plannedAt = windowStart + (long) (getUsed() + 1 - burst) * WINDOW_MILLIS / Math.max(1, spendable);
+        return Math.max(1, Math.min(plannedAt, resetAtMillis) - now);
+    }
+
+    private void resetIfWindowEnded(long now) {
+        if (remaining != UNKNOWN && now >= resetAtMillis) {
+            remaining = UNKNOWN;
+        }
+    }
+
+    synchronized ApiBudget copy() {
+        return new ApiBudget(this);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+
+    public int getUsed() {
+        return remaining == UNKNOWN ? 0 : limit - remaining;
+    }
+
+    public int getReserved() {
+        return reserved;
+    }
+
+    public int getPlanned() {
+        return planned;
+    }
+
+    public long getResetAtMillis() {
+        return resetAtMillis;
+    }
+
+    public long getAcquiredCount() {
+        return acquiredCount;
+    }
+
+    public long getDeniedCount() {
+        return deniedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "limit: " + limit + " | remaining: " + remaining + " | reserved: " + reserved + " | planned: " + planned +
+                " | used: " + getUsed() + " | acquired: " + acquiredCount + " | denied: " + deniedCount;
+    }
+}
@@ -0,0 +1,130 @@
+package com.kadir.twitterbots.worm.scheduler;
+
+import com.kadir.twitterbots.ratelimithandler.process.ApiProcessType;
+import com.kadir.twitterbots.worm.entity.TaskPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.RateLimitStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Shares api quota of every account between all components calling it. Remaining calls and reset time are tracked per
+ * account and {@link ApiProcessType} from every {@link RateLimitStatus} seen. Budget reserved for priority work, such
+ * as the quote run, can only be spent by tasks with a priority higher than {@link TaskPriority#LOW}; low priority tasks
+ * get the rest of the window at a smoothed rate.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 16:35
+ */
+public class ApiBudgetPlanner {
+    private static final Logger logger = LoggerFactory.getLogger(ApiBudgetPlanner.class);
+
+    private static final Map<String, ApiBudget> budgets = new ConcurrentHashMap<>();
+    private static final CopyOnWriteArrayList<Reservation> reservations = new CopyOnWriteArrayList<>();
+    private static final int BURST_PERCENT = Integer.parseInt(System.getProperty("apiBudgetBurstPercent", "10"));
+
+    private ApiBudgetPlanner() {
+    }
+
+    public static void update(long accountId, ApiProcessType processType, RateLimitStatus rateLimitStatus) {
+        if (rateLimitStatus != null) {
+            getBudget(accountId, processType).update(rateLimitStatus);
+        }
+    }
+
+    public static boolean tryAcquire(long accountId, ApiProcessType processType, TaskPriority priority) {
+        return getBudget(accountId, processType).tryAcquire(isPaced(priority), getReserved(accountId, processType, priority),
+                BURST_PERCENT, System.currentTimeMillis());
+    }
+
+    public static long getMillisUntilAvailable(long accountId, ApiProcessType processType, TaskPriority priority) {
+        return getBudget(accountId, processType).getMillisUntilAvailable(isPaced(priority), getReserved(accountId, processType, priority),
+                BURST_PERCENT, System.currentTimeMillis());
+    }
+
+    /**
+     * Keeps calls of the account from low priority tasks every day from lead before the given time until hold after it.
+     */
+    public static void reserve(long accountId, ApiProcessType processType, int calls, LocalTime time, Duration lead, Duration hold) {
+        reservations.add(new Reservation(accountId, processType, calls, time, lead, hold));
+        logger.info("reserve {} {} calls of account {} from {} before to {} after {}", calls, processType, accountId, lead, hold, time);
+    }
+
+    /**
+     * @return planned and used budget of every account and process type seen so far
+     */
+    public static Map<String, ApiBudget> getBudgets() {
+        Map<String, ApiBudget> copies = new TreeMap<>();
+        for (Map.Entry<String, ApiBudget> entry : budgets.entrySet()) {
+            copies.put(entry.getKey(), entry.getValue().copy());
+        }
+        return copies;
+    }
+
+    public static void logStatistics() {
+        for (Map.Entry<String, ApiBudget> entry : getBudgets().entrySet()) {
+            logger.info("api budget. {} - {}", entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static boolean isPaced(TaskPriority priority) {
+        return priority.getLevel() <= TaskPriority.LOW.getLevel();
+    }
+
+    private static int getReserved(long accountId, ApiProcessType processType, TaskPriority priority) {
+        int reserved = 0;
+        if (isPaced(priority)) {
+            LocalDateTime now = LocalDateTime.now();
+            for (Reservation reservation : reservations) {
+                if (reservation.isActive(accountId, processType, now)) {
+                    reserved += reservation.calls;
+                }
+            }
+        }
+        return reserved;
+    }
+
+    private static ApiBudget getBudget(long accountId, ApiProcessType processType) {
+        return budgets.computeIfAbsent(accountId + "/" + processType, key -> new ApiBudget());
+    }
+
+    private static class Reservation {
+        private final long accountId;
+        private final ApiProcessType processType;
+        private final int calls;
+        private final LocalTime time;
+        private final Duration lead;
+        private final Duration hold;
+
+        Reservation(long accountId, ApiProcessType processType, int calls, LocalTime time, Duration lead, Duration hold) {
+            this.accountId = accountId;
+            this.processType = processType;
+            this.calls = calls;
+            this.time = time;
+            this.lead = lead;
+            this.hold = hold;
+        }
+
+        boolean isActive(long accountId, ApiProcessType processType, LocalDateTime now) {
+            if (this.accountId != accountId || this.processType != processType) {
+                return false;
+            }
+
+            for (LocalDateTime at : new LocalDateTime[]{now.toLocalDate().minusDays(1).atTime(time), now.toLocalDate().atTime(time),
+                    now.toLocalDate().plusDays(1).atTime(time)}) {
+                if (!now.isBefore(at.minus(lead)) && !now.isAfter(at.plus(hold))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
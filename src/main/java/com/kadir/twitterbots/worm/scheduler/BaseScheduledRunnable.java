@@ -4,9 +4,6 @@ import com.kadir.twitterbots.worm.entity.TaskPriority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -16,31 +13,34 @@ import java.util.concurrent.TimeUnit;
  */
 public abstract class BaseScheduledRunnable implements ScheduledRunnable {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private static final long CANCEL_TIMEOUT_SECONDS = 10L;
 
     protected TaskPriority priority;
-    protected ScheduledExecutorService executorService;
-    protected volatile ScheduledFuture<?> scheduledFuture;
+    protected volatile ScheduledTask scheduledTask;
 
     public BaseScheduledRunnable(TaskPriority priority) {
-        executorService = Executors.newScheduledThreadPool(1);
         this.priority = priority;
     }
 
     @Override
     public void cancel() {
-        executorService.shutdown();
-        try {
-            executorService.awaitTermination(10 * 1000L, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            logger.error("Thread interrupted.", e);
-            Thread.currentThread().interrupt();
+        if (scheduledTask != null) {
+            scheduledTask.cancel();
+            try {
+                scheduledTask.awaitIdle(CANCEL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                logger.error("Thread interrupted.", e);
+                Thread.currentThread().interrupt();
+            }
         }
         logger.info("shutdown scheduled task: {}", this.getClass().getSimpleName());
     }
 
     @Override
     public void cancelNow() {
-        executorService.shutdownNow();
+        if (scheduledTask != null) {
+            scheduledTask.cancelNow();
+        }
         logger.info("shutdown scheduled task: {}", this.getClass().getSimpleName());
     }
 
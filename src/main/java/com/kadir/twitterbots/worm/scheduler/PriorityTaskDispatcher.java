@@ -0,0 +1,149 @@
+package com.kadir.twitterbots.worm.scheduler;
+
+import com.kadir.twitterbots.worm.entity.TaskPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One timer thread decides when a task is due, a fixed pool of worker threads runs due tasks in priority order.
+ * {@link TaskPriority#LOW} tasks may only occupy {@code poolSize - reservedThreads} workers so that higher priority
+ * work always finds a free thread. In virtual thread mode every due task gets its own virtual thread instead, the
+ * low priority limit still applies.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 14:25
+ */
+class PriorityTaskDispatcher {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ScheduledThreadPoolExecutor timer;
+    private final ExecutorService workers;
+    private final AtomicInteger runningCount = new AtomicInteger();
+    private final int lowPriorityLimit;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Queue<DueTask> deferredLowPriorityTasks = new ArrayDeque<>();
+    private int lowPriorityInFlight = 0;
+
+    PriorityTaskDispatcher(int poolSize, int reservedThreads) {
+        this.lowPriorityLimit = Math.max(1, poolSize - reservedThreads);
+        timer = new ScheduledThreadPoolExecutor(1, WorkerExecutors.namedThreadFactory("worm-timer", false));
+        timer.setRemoveOnCancelPolicy(true);
+        if (WorkerExecutors.isVirtualThreadMode()) {
+            workers = WorkerExecutors.newExecutor("worm-worker", poolSize, false);
+        } else {
+            workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new PriorityBlockingQueue<>(), WorkerExecutors.namedThreadFactory("worm-worker", false));
+        }
+        logger.info("create task dispatcher. pool size: {} low priority limit: {} virtual threads: {}", poolSize, lowPriorityLimit, WorkerExecutors.isVirtualThreadMode());
+    }
+
+    void schedule(ScheduledTask task, long delayNanos) {
+        task.setDueAtNanos(System.nanoTime() + delayNanos);
+        task.setTimerFuture(timer.schedule(() -> dispatch(task), delayNanos, TimeUnit.NANOSECONDS));
+    }
+
+    void shutdown() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    boolean isShutdown() {
+        return workers.isShutdown();
+    }
+
+    int getRunningCount() {
+        return runningCount.get();
+    }
+
+    int getDeferredCount() {
+        synchronized (deferredLowPriorityTasks) {
+            return deferredLowPriorityTasks.size();
+        }
+    }
+
+    private void dispatch(ScheduledTask task) {
+        if (task.isCancelled()) {
+            return;
+        }
+
+        DueTask dueTask = new DueTask(task, sequence.incrementAndGet());
+        if (task.getPriority() == TaskPriority.LOW) {
+            synchronized (deferredLowPriorityTasks) {
+                if (lowPriorityInFlight >= lowPriorityLimit) {
+                    deferredLowPriorityTasks.add(dueTask);
+                    logger.debug("defer low priority task: {}", task.getName());
+                    return;
+                }
+                lowPriorityInFlight++;
+            }
+        }
+        workers.execute(dueTask);
+    }
+
+    private void afterRun(ScheduledTask task) {
+        if (task.getPriority() == TaskPriority.LOW) {
+            DueTask next;
+            synchronized (deferredLowPriorityTasks) {
+                next = deferredLowPriorityTasks.poll();
+                if (next == null) {
+                    lowPriorityInFlight--;
+                }
+            }
+            if (next != null) {
+                workers.execute(next);
+            }
+        }
+
+        if (task.isCancelled() || workers.isShutdown()) {
+            return;
+        }
+
+        if (task.getMode() == ScheduledTask.Mode.FIXED_DELAY) {
+            schedule(task, task.getPeriodNanos());
+        } else if (task.getMode() == ScheduledTask.Mode.FIXED_RATE) {
+            long nextDueAt = task.getDueAtNanos() + task.getPeriodNanos();
+            schedule(task, Math.max(0, nextDueAt - System.nanoTime()));
+        }
+    }
+
+    private class DueTask implements Runnable, Comparable<DueTask> {
+        private final ScheduledTask task;
+        private final long sequenceNumber;
+
+        DueTask(ScheduledTask task, long sequenceNumber) {
+            this.task = task;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public void run() {
+            long queueDelayNanos = Math.max(0, System.nanoTime() - task.getDueAtNanos());
+            runningCount.incrementAndGet();
+            try {
+                task.run(queueDelayNanos);
+            } catch (Exception e) {
+                logger.error("Scheduled task failed: " + task.getName(), e);
+            } finally {
+                runningCount.decrementAndGet();
+                afterRun(task);
+            }
+        }
+
+        @Override
+        public int compareTo(DueTask other) {
+            int byPriority = Integer.compare(other.task.getPriority().getLevel(), task.getPriority().getLevel());
+            return byPriority != 0 ? byPriority : Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.kadir.twitterbots.worm.scheduler;
+
+import com.kadir.twitterbots.ratelimithandler.process.ApiProcessType;
+import com.kadir.twitterbots.worm.entity.TaskPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.RateLimitStatus;
+import twitter4j.Twitter;
+import twitter4j.TwitterException;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs continuations of api calls without parking worker threads. Budgets of the account are taken from
+ * {@link ApiBudgetPlanner}; when the budget of a process type is not available its continuations are scheduled for the
+ * time it becomes available while other process types keep running.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 16:05
+ */
+public class RateLimitAwareExecutor {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final String name;
+    private final TaskPriority priority;
+    private final long accountId;
+    private final Set<Continuation> pendingContinuations = ConcurrentHashMap.newKeySet();
+    private volatile boolean isCancelled = false;
+
+    public RateLimitAwareExecutor(String name, TaskPriority priority, Twitter twitter) {
+        this.name = name;
+        this.priority = priority;
+        this.accountId = resolveAccountId(twitter);
+    }
+
+    /**
+     * Records remaining calls and reset time returned with the response of an api call.
+     */
+    public void update(ApiProcessType processType, RateLimitStatus rateLimitStatus) {
+        if (rateLimitStatus != null) {
+            ApiBudgetPlanner.update(accountId, processType, rateLimitStatus);
+            logger.debug("{} rate limit. remaining: {} reset in: {} seconds", processType, rateLimitStatus.getRemaining(), rateLimitStatus.getSecondsUntilReset());
+        }
+    }
+
+    /**
+     * Takes one call from the budget of the process type.
+     *
+     * @return false if no call is available to the priority of this executor right now
+     */
+    public boolean tryAcquire(ApiProcessType processType) {
+        return !isCancelled && ApiBudgetPlanner.tryAcquire(accountId, processType, priority);
+    }
+
+    public long getMillisUntilAvailable(ApiProcessType processType) {
+        return ApiBudgetPlanner.getMillisUntilAvailable(accountId, processType, priority);
+    }
+
+    public long getAccountId() {
+        return accountId;
+    }
+
+    public void execute(ApiProcessType processType, Runnable continuation) {
+        executeAfter(processType, 0, TimeUnit.MILLISECONDS, continuation);
+    }
+
+    /**
+     * Schedules the continuation after the given delay, or at the reset time if the budget of the process type is
+     * exhausted until then.
+     */
+    public void executeAfter(ApiProcessType processType, long delay, TimeUnit unit, Runnable continuation) {
+        if (isCancelled) {
+            return;
+        }
+
+        long delayMillis = Math.max(unit.toMillis(delay), getMillisUntilAvailable(processType));
+        if (delayMillis > unit.toMillis(delay)) {
+            logger.info("{} budget not available. continue {} in {} seconds", processType, name, TimeUnit.MILLISECONDS.toSeconds(delayMillis));
+        }
+
+        Continuation pending = new Continuation(continuation);
+        pendingContinuations.add(pending);
+        pending.task = TaskScheduler.schedule(name, priority, pending, delayMillis, TimeUnit.MILLISECONDS);
+        if (isCancelled) {
+            pending.task.cancelNow();
+        }
+    }
+
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+
+    /**
+     * Drops every pending continuation and interrupts the running ones.
+     */
+    public void cancel() {
+        isCancelled = true;
+        for (Continuation pending : pendingContinuations) {
+            if (pending.task != null) {
+                pending.task.cancelNow();
+            }
+        }
+        pendingContinuations.clear();
+    }
+
+    private long resolveAccountId(Twitter twitter) {
+        try {
+            return twitter.getId();
+        } catch (TwitterException e) {
+            logger.error("account id of {} could not be resolved.", name, e);
+            return -1;
+        }
+    }
+
+    private class Continuation implements Runnable {
+        private final Runnable runnable;
+        private volatile ScheduledTask task;
+
+        Continuation(Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            pendingContinuations.remove(this);
+            if (!isCancelled) {
+                runnable.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.kadir.twitterbots.worm.scheduler;
+
+import com.kadir.twitterbots.worm.entity.TaskPriority;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handle of a task registered in {@link TaskScheduler}. A task never runs concurrently with itself.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 14:10
+ */
+public class ScheduledTask {
+    enum Mode {
+        ONCE, FIXED_DELAY, FIXED_RATE
+    }
+
+    private final String name;
+    private final TaskPriority priority;
+    private final Runnable runnable;
+    private final Mode mode;
+    private final long periodNanos;
+    private final TaskStatistics statistics;
+    private final Object runLock = new Object();
+
+    private volatile boolean isCancelled = false;
+    private volatile ScheduledFuture<?> timerFuture;
+    private Thread runningThread;
+    private long dueAtNanos;
+
+    ScheduledTask(String name, TaskPriority priority, Runnable runnable, Mode mode, long period, TimeUnit unit, TaskStatistics statistics) {
+        this.name = name;
+        this.statistics = statistics;
+        this.priority = priority;
+        this.runnable = runnable;
+        this.mode = mode;
+        this.periodNanos = unit.toNanos(period);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public boolean isCancelled() {
+        return isCancelled;
+    }
+
+    /**
+     * Stops further runs. A run in progress is allowed to finish.
+     */
+    public void cancel() {
+        isCancelled = true;
+        ScheduledFuture<?> future = timerFuture;
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Stops further runs and interrupts a run in progress.
+     */
+    public void cancelNow() {
+        cancel();
+        synchronized (runLock) {
+            if (runningThread != null) {
+                runningThread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Waits until a run in progress finishes.
+     *
+     * @return false if the run is still in progress after the timeout
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (runLock) {
+            while (runningThread != null && runningThread != Thread.currentThread()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(runLock, remaining);
+            }
+        }
+        return true;
+    }
+
+    Mode getMode() {
+        return mode;
+    }
+
+    long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    long getDueAtNanos() {
+        return dueAtNanos;
+    }
+
+    void setDueAtNanos(long dueAtNanos) {
+        this.dueAtNanos = dueAtNanos;
+    }
+
+    void setTimerFuture(ScheduledFuture<?> timerFuture) {
+        this.timerFuture = timerFuture;
+    }
+
+    void run(long queueDelayNanos) {
+        synchronized (runLock) {
+            if (isCancelled) {
+                return;
+            }
+            runningThread = Thread.currentThread();
+        }
+
+        long start = System.nanoTime();
+        try {
+            runnable.run();
+        } finally {
+            long runNanos = System.nanoTime() - start;
+            statistics.record(queueDelayNanos, runNanos, mode != Mode.ONCE && runNanos > periodNanos);
+            synchronized (runLock) {
+                runningThread = null;
+                runLock.notifyAll();
+            }
+            Thread.interrupted();
+        }
+    }
+}
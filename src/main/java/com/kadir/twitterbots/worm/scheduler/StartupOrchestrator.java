@@ -0,0 +1,141 @@
+package com.kadir.twitterbots.worm.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs startup phases concurrently as soon as the phases they depend on are completed, then logs how long each phase
+ * took and signals readiness. Readiness is logged and, if readinessFile property is set, written into that file.
+ *
+ * <pre>
+ * StartupOrchestrator startup = new StartupOrchestrator(4);
+ * CompletableFuture&lt;Void&gt; database = startup.run("database", DatabaseInitialiser::initializeDatabase);
+ * CompletableFuture&lt;Twitter&gt; account = startup.supply("authentication", TweetFetcher::authenticate);
+ * startup.supply("tweetFetcher", () -&gt; new TweetFetcher(account.join(), tweetFilter, statusRepository), database, account);
+ * startup.awaitReady();
+ * </pre>
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 18:30
+ */
+public class StartupOrchestrator {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ExecutorService executorService;
+    private final long startNanos = System.nanoTime();
+    private final List<CompletableFuture<?>> phases = new ArrayList<>();
+    private final List<PhaseTiming> timings = new ArrayList<>();
+    private volatile boolean isReady = false;
+
+    public StartupOrchestrator(int threads) {
+        executorService = WorkerExecutors.newExecutor("worm-startup", threads, true);
+    }
+
+    public CompletableFuture<Void> run(String name, Runnable step, CompletableFuture<?>... dependencies) {
+        return supply(name, () -> {
+            step.run();
+            return null;
+        }, dependencies);
+    }
+
+    public <T> CompletableFuture<T> supply(String name, Supplier<T> step, CompletableFuture<?>... dependencies) {
+        CompletableFuture<T> phase = CompletableFuture.allOf(dependencies)
+                .thenApplyAsync(ignored -> runPhase(name, step), executorService);
+        phases.add(phase);
+        return phase;
+    }
+
+    /**
+     * Waits for every phase, logs the timing breakdown and signals readiness.
+     *
+     * @throws CompletionException with the failure of the first failed phase
+     */
+    public void awaitReady() {
+        try {
+            CompletableFuture.allOf(phases.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executorService.shutdown();
+            logTimings();
+        }
+
+        isReady = true;
+        long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        logger.info("Worm is ready. startup took {} ms", readyMillis);
+        writeReadinessFile(readyMillis);
+    }
+
+    public boolean isReady() {
+        return isReady;
+    }
+
+    private <T> T runPhase(String name, Supplier<T> step) {
+        long phaseStartNanos = System.nanoTime();
+        logger.info("start startup phase: {}", name);
+        boolean succeeded = false;
+        try {
+            T result = step.get();
+            succeeded = true;
+            return result;
+        } finally {
+            PhaseTiming timing = new PhaseTiming(name, phaseStartNanos - startNanos, System.nanoTime() - phaseStartNanos, succeeded);
+            synchronized (timings) {
+                timings.add(timing);
+            }
+            logger.info("finish startup phase: {} in {} ms", name, TimeUnit.NANOSECONDS.toMillis(timing.durationNanos));
+        }
+    }
+
+    private void logTimings() {
+        List<PhaseTiming> sortedTimings;
+        synchronized (timings) {
+            sortedTimings = new ArrayList<>(timings);
+        }
+        sortedTimings.sort(Comparator.comparingLong(timing -> timing.startOffsetNanos));
+
+        for (PhaseTiming timing : sortedTimings) {
+            logger.info("startup phase: {} | started at: +{} ms | took: {} ms | succeeded: {}", timing.name,
+                    TimeUnit.NANOSECONDS.toMillis(timing.startOffsetNanos), TimeUnit.NANOSECONDS.toMillis(timing.durationNanos), timing.succeeded);
+        }
+    }
+
+    private void writeReadinessFile(long readyMillis) {
+        String readinessFile = System.getProperty("readinessFile");
+        if (readinessFile != null && !readinessFile.trim().isEmpty()) {
+            String content = "ready at " + LocalDateTime.now() + " in " + readyMillis + " ms" + System.lineSeparator();
+            try {
+                Files.write(Paths.get(readinessFile), content.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                logger.error("readiness file could not be written: {}", readinessFile, e);
+            }
+        }
+    }
+
+    private static class PhaseTiming {
+        private final String name;
+        private final long startOffsetNanos;
+        private final long durationNanos;
+        private final boolean succeeded;
+
+        PhaseTiming(String name, long startOffsetNanos, long durationNanos, boolean succeeded) {
+            this.name = name;
+            this.startOffsetNanos = startOffsetNanos;
+            this.durationNanos = durationNanos;
+            this.succeeded = succeeded;
+        }
+    }
+}
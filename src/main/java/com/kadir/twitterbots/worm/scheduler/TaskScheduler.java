@@ -4,9 +4,11 @@ import com.kadir.twitterbots.worm.entity.TaskPriority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author akadir
@@ -16,34 +18,102 @@ import java.util.List;
 public class TaskScheduler {
     private static final Logger logger = LoggerFactory.getLogger(TaskScheduler.class);
 
-    private static List<ScheduledRunnable> scheduledTasks = new ArrayList<>();
+    private static final CopyOnWriteArrayList<ScheduledRunnable> scheduledTasks = new CopyOnWriteArrayList<>();
+    private static final Map<String, TaskStatistics> statisticsByName = new ConcurrentHashMap<>();
+    private static PriorityTaskDispatcher dispatcher;
 
     private TaskScheduler() {
     }
 
+    public static ScheduledTask scheduleWithFixedDelay(ScheduledRunnable scheduledRunnable, long initialDelay, long delay, TimeUnit unit) {
+        addScheduledTask(scheduledRunnable);
+        return scheduleWithFixedDelay(scheduledRunnable.getClass().getSimpleName(), scheduledRunnable.getPriority(), scheduledRunnable, initialDelay, delay, unit);
+    }
+
+    public static ScheduledTask scheduleAtFixedRate(ScheduledRunnable scheduledRunnable, long initialDelay, long period, TimeUnit unit) {
+        addScheduledTask(scheduledRunnable);
+        return schedule(scheduledRunnable.getClass().getSimpleName(), scheduledRunnable.getPriority(), scheduledRunnable,
+                ScheduledTask.Mode.FIXED_RATE, initialDelay, period, unit);
+    }
+
+    public static ScheduledTask scheduleWithFixedDelay(String name, TaskPriority priority, Runnable runnable, long initialDelay, long delay, TimeUnit unit) {
+        return schedule(name, priority, runnable, ScheduledTask.Mode.FIXED_DELAY, initialDelay, delay, unit);
+    }
+
+    public static ScheduledTask schedule(String name, TaskPriority priority, Runnable runnable, long delay, TimeUnit unit) {
+        return schedule(name, priority, runnable, ScheduledTask.Mode.ONCE, delay, 0, unit);
+    }
+
+    public static ScheduledTask execute(String name, TaskPriority priority, Runnable runnable) {
+        return schedule(name, priority, runnable, 0, TimeUnit.MILLISECONDS);
+    }
+
     public static void addScheduledTask(ScheduledRunnable scheduledRunnable) {
-        scheduledTasks.add(scheduledRunnable);
-        logger.debug("add scheduled task into list: {}", scheduledRunnable.getClass().getSimpleName());
+        if (scheduledTasks.addIfAbsent(scheduledRunnable)) {
+            logger.debug("add scheduled task into list: {}", scheduledRunnable.getClass().getSimpleName());
+        }
+    }
+
+    public static void removeScheduledTask(ScheduledRunnable scheduledRunnable) {
+        scheduledTasks.remove(scheduledRunnable);
     }
 
     public static void shutdownLowerPriorityTasks(ScheduledRunnable scheduledRunnable) {
         TaskPriority basePriority = scheduledRunnable.getPriority();
-        Iterator<ScheduledRunnable> iterator = scheduledTasks.iterator();
-        while (iterator.hasNext()) {
-            ScheduledRunnable task = iterator.next();
+        for (ScheduledRunnable task : scheduledTasks) {
             if (task.getPriority().getLevel() < basePriority.getLevel()) {
                 task.cancel();
-                iterator.remove();
+                scheduledTasks.remove(task);
             }
         }
     }
 
     public static void shutdownAllTasks() {
-        Iterator<ScheduledRunnable> iterator = scheduledTasks.iterator();
-        while (iterator.hasNext()) {
-            ScheduledRunnable task = iterator.next();
+        for (ScheduledRunnable task : scheduledTasks) {
             task.cancelNow();
-            iterator.remove();
+            scheduledTasks.remove(task);
+        }
+
+        synchronized (TaskScheduler.class) {
+            if (dispatcher != null) {
+                dispatcher.shutdown();
+                logger.info("shutdown task dispatcher.");
+            }
+            WorkerExecutors.shutdownIoExecutor();
+        }
+    }
+
+    /**
+     * @return statistics of every task scheduled so far, keyed by task name
+     */
+    public static Map<String, TaskStatistics> getStatistics() {
+        Map<String, TaskStatistics> statistics = new TreeMap<>();
+        for (Map.Entry<String, TaskStatistics> entry : statisticsByName.entrySet()) {
+            statistics.put(entry.getKey(), entry.getValue().copy());
+        }
+        return statistics;
+    }
+
+    public static void logStatistics() {
+        for (Map.Entry<String, TaskStatistics> entry : getStatistics().entrySet()) {
+            logger.info("task statistics. {} - {}", entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static ScheduledTask schedule(String name, TaskPriority priority, Runnable runnable, ScheduledTask.Mode mode,
+                                          long initialDelay, long period, TimeUnit unit) {
+        TaskStatistics statistics = statisticsByName.computeIfAbsent(name, key -> new TaskStatistics());
+        ScheduledTask task = new ScheduledTask(name, priority, runnable, mode, period, unit, statistics);
+        getDispatcher().schedule(task, unit.toNanos(initialDelay));
+        return task;
+    }
+
+    private static synchronized PriorityTaskDispatcher getDispatcher() {
+        if (dispatcher == null || dispatcher.isShutdown()) {
+            int poolSize = Integer.parseInt(System.getProperty("schedulerPoolSize", "5"));
+            int reservedThreads = Integer.parseInt(System.getProperty("schedulerReservedThreads", "2"));
+            dispatcher = new PriorityTaskDispatcher(poolSize, reservedThreads);
         }
+        return dispatcher;
     }
 }
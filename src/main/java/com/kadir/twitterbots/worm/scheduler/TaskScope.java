@@ -0,0 +1,73 @@
+package com.kadir.twitterbots.worm.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Structured fan-out: subtasks forked in a scope never outlive it. {@link #join()} waits for every subtask and
+ * cancels the remaining ones as soon as one fails, {@link #close()} cancels whatever is still running.
+ *
+ * <pre>
+ * try (TaskScope&lt;User&gt; scope = new TaskScope&lt;&gt;(WorkerExecutors.ioExecutor())) {
+ *     for (long id : ids) {
+ *         scope.fork(() -&gt; twitter.showUser(id));
+ *     }
+ *     List&lt;User&gt; users = scope.join();
+ * }
+ * </pre>
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 15:20
+ */
+public class TaskScope<T> implements AutoCloseable {
+    private final ExecutorCompletionService<T> completionService;
+    private final List<Future<T>> futures = new ArrayList<>();
+
+    public TaskScope(ExecutorService executorService) {
+        this.completionService = new ExecutorCompletionService<>(executorService);
+    }
+
+    public Future<T> fork(Callable<T> callable) {
+        Future<T> future = completionService.submit(callable);
+        futures.add(future);
+        return future;
+    }
+
+    /**
+     * @return results of the subtasks in the order they were forked
+     * @throws ExecutionException with the cause of the first failed subtask
+     */
+    public List<T> join() throws InterruptedException, ExecutionException {
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                completionService.take().get();
+            }
+        } catch (ExecutionException | InterruptedException e) {
+            cancelAll();
+            throw e;
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        for (Future<T> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.kadir.twitterbots.worm.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run time and queue delay figures of a scheduled task. Instances returned by {@link TaskScheduler#getStatistics()}
+ * are copies and do not change afterwards.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 14:02
+ */
+public class TaskStatistics {
+    private long runCount;
+    private long overrunCount;
+    private long totalRunNanos;
+    private long lastRunNanos;
+    private long maxRunNanos;
+    private long lastQueueDelayNanos;
+    private long maxQueueDelayNanos;
+
+    TaskStatistics() {
+    }
+
+    private TaskStatistics(TaskStatistics other) {
+        runCount = other.runCount;
+        overrunCount = other.overrunCount;
+        totalRunNanos = other.totalRunNanos;
+        lastRunNanos = other.lastRunNanos;
+        maxRunNanos = other.maxRunNanos;
+        lastQueueDelayNanos = other.lastQueueDelayNanos;
+        maxQueueDelayNanos = other.maxQueueDelayNanos;
+    }
+
+    synchronized void record(long queueDelayNanos, long runNanos, boolean overrun) {
+        runCount++;
+        totalRunNanos += runNanos;
+        lastRunNanos = runNanos;
+        maxRunNanos = Math.max(maxRunNanos, runNanos);
+        lastQueueDelayNanos = queueDelayNanos;
+        maxQueueDelayNanos = Math.max(maxQueueDelayNanos, queueDelayNanos);
+        if (overrun) {
+            overrunCount++;
+        }
+    }
+
+    synchronized TaskStatistics copy() {
+        return new TaskStatistics(this);
+    }
+
+    public long getRunCount() {
+        return runCount;
+    }
+
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    public long getTotalRunMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalRunNanos);
+    }
+
+    public long getLastRunMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastRunNanos);
+    }
+
+    public long getMaxRunMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxRunNanos);
+    }
+
+    public long getLastQueueDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastQueueDelayNanos);
+    }
+
+    public long getMaxQueueDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueDelayNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "runs: " + runCount + " | overruns: " + overrunCount + " | last run: " + getLastRunMillis() + " ms" +
+                " | max run: " + getMaxRunMillis() + " ms | last queue delay: " + getLastQueueDelayMillis() + " ms" +
+                " | max queue delay: " + getMaxQueueDelayMillis() + " ms";
+    }
+}
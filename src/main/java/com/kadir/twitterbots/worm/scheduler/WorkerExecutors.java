@@ -0,0 +1,103 @@
+package com.kadir.twitterbots.worm.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors that run blocking work. When {@code virtualThreads=true} and the runtime is Java 21 or
+ * later, every task gets its own virtual thread; otherwise a bounded pool of platform threads is used. Virtual
+ * threads are looked up reflectively so the sources still compile for Java 8.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 15:05
+ */
+public class WorkerExecutors {
+    private static final Logger logger = LoggerFactory.getLogger(WorkerExecutors.class);
+    private static final int VIRTUAL_THREADS_MIN_VERSION = 21;
+
+    private static ExecutorService ioExecutor;
+    private static Boolean virtualThreadMode;
+
+    private WorkerExecutors() {
+    }
+
+    public static synchronized boolean isVirtualThreadMode() {
+        if (virtualThreadMode == null) {
+            boolean requested = Boolean.parseBoolean(System.getProperty("virtualThreads", "false"));
+            virtualThreadMode = requested && getRuntimeVersion() >= VIRTUAL_THREADS_MIN_VERSION && getVirtualThreadFactoryMethod() != null;
+            if (requested && !virtualThreadMode) {
+                logger.warn("virtualThreads requested but runtime version {} does not support them. Platform threads are used.", getRuntimeVersion());
+            }
+            logger.info("Set virtualThreads:{}", virtualThreadMode);
+        }
+        return virtualThreadMode;
+    }
+
+    /**
+     * Shared executor for blocking Twitter and database calls that are fanned out from scheduled tasks.
+     */
+    public static synchronized ExecutorService ioExecutor() {
+        if (ioExecutor == null || ioExecutor.isShutdown()) {
+            int ioThreads = Integer.parseInt(System.getProperty("ioThreads", "4"));
+            ioExecutor = newExecutor("worm-io", ioThreads, true);
+        }
+        return ioExecutor;
+    }
+
+    public static synchronized void shutdownIoExecutor() {
+        if (ioExecutor != null) {
+            ioExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param platformThreads size of the pool when virtual threads are not in use
+     * @param daemon          whether platform threads should be daemon threads, virtual threads always are
+     */
+    static ExecutorService newExecutor(String name, int platformThreads, boolean daemon) {
+        if (isVirtualThreadMode()) {
+            try {
+                return (ExecutorService) getVirtualThreadFactoryMethod().invoke(null);
+            } catch (ReflectiveOperationException e) {
+                logger.error("Virtual thread executor could not be created, falling back to platform threads.", e);
+            }
+        }
+        return Executors.newFixedThreadPool(platformThreads, namedThreadFactory(name, daemon));
+    }
+
+    static ThreadFactory namedThreadFactory(String prefix, boolean daemon) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(daemon);
+            return thread;
+        };
+    }
+
+    static int getRuntimeVersion() {
+        String version = System.getProperty("java.specification.version", "1.8");
+        if (version.startsWith("1.")) {
+            version = version.substring(2);
+        }
+        try {
+            return Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            return 8;
+        }
+    }
+
+    private static Method getVirtualThreadFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.kadir.twitterbots.worm.score;
+
+/**
+ * Fixed size ring buffer of interaction count samples of one candidate, kept in primitive arrays so its memory does
+ * not grow with the number of samples. Velocity is taken over the whole buffer, so a larger buffer gives a steadier
+ * one. Acceleration (change of the smoothed velocity per minute) is updated on every sample instead.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 21:05
+ */
+public class ScoreHistory {
+    static final long MIN_SAMPLE_INTERVAL_MILLIS = 30 * 1000L;
+    private static final double MILLIS_PER_MINUTE = 60 * 1000d;
+    private static final double SMOOTHING = 0.5;
+
+    private final long[] timestamps;
+    private final int[] favorites;
+    private final int[] retweets;
+    private final long createdAt;
+    private int head = -1;
+    private int count = 0;
+    private double velocity;
+    private double acceleration;
+
+    public ScoreHistory(int capacity, long createdAt) {
+        this.timestamps = new long[capacity];
+        this.favorites = new int[capacity];
+        this.retweets = new int[capacity];
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Adds a sample. A sample taken sooner than {@link #MIN_SAMPLE_INTERVAL_MILLIS} after the last one replaces it, so
+     * statuses seen on consecutive search pages do not flush the buffer.
+     */
+    public synchronized void add(long timestamp, int favoriteCount, int retweetCount) {
+        if (count > 0 && timestamp - timestamps[head] < MIN_SAMPLE_INTERVAL_MILLIS) {
+            favorites[head] = favoriteCount;
+            retweets[head] = retweetCount;
+            return;
+        }
+
+        if (count > 0) {
+            double minutes = (timestamp - timestamps[head]) / MILLIS_PER_MINUTE;
+            double currentVelocity = (favoriteCount + retweetCount - favorites[head] - retweets[head]) / minutes;
+            if (count > 1) {
+                double smoothedVelocity = velocity + SMOOTHING * (currentVelocity - velocity);
+                acceleration = (smoothedVelocity - velocity) / minutes;
+                velocity = smoothedVelocity;
+            } else {
+                velocity = currentVelocity;
+            }
+        }
+
+        head = (head + 1) % timestamps.length;
+        timestamps[head] = timestamp;
+        favorites[head] = favoriteCount;
+        retweets[head] = retweetCount;
+        count = Math.min(count + 1, timestamps.length);
+    }
+
+    public synchronized double getAcceleration() {
+        return acceleration;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * @return interactions gained per minute between the oldest and the newest sample in the buffer
+     */
+    public synchronized double getWindowVelocity() {
+        if (count < 2) {
+            return 0;
+        }
+        int oldest = (head - count + 1 + timestamps.length) % timestamps.length;
+        double minutes = (timestamps[head] - timestamps[oldest]) / MILLIS_PER_MINUTE;
+        return (favorites[head] + retweets[head] - favorites[oldest] - retweets[oldest]) / minutes;
+    }
+}
@@ -0,0 +1,137 @@
+package com.kadir.twitterbots.worm.score;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+import com.kadir.twitterbots.worm.pool.CandidatePool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.Status;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a {@link ScoreHistory} of every candidate from the statuses fetched anyway, so candidates can be ranked by
+ * the configured {@link ScoringStrategy} without extra api calls. Histories live only as long as their candidates.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 21:25
+ */
+public class ScoreTracker {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Map<Long, ScoreHistory> histories = new ConcurrentHashMap<>();
+    private final int historySize;
+    private final ScoringStrategy scoringStrategy;
+
+    public ScoreTracker() {
+        this.historySize = Integer.parseInt(System.getProperty("scoreHistorySize", "8"));
+        this.scoringStrategy = ScoringStrategy.valueOf(System.getProperty("scoringStrategy", ScoringStrategy.RAW.name()).toUpperCase());
+        logger.debug("set scoreHistorySize:{} scoringStrategy:{}", historySize, scoringStrategy);
+    }
+
+    public void record(Status status) {
+        histories.computeIfAbsent(status.getId(), statusId -> new ScoreHistory(historySize, status.getCreatedAt().getTime()))
+                .add(System.currentTimeMillis(), status.getFavoriteCount(), status.getRetweetCount());
+    }
+
+    public ScoreHistory getHistory(long statusId) {
+        return histories.get(statusId);
+    }
+
+    public double rank(CustomStatus customStatus) {
+        return scoringStrategy.rank(customStatus.getScore(), histories.get(customStatus.getStatusId()),
+                customStatus.getStatusCreationEpochDay(), System.currentTimeMillis());
+    }
+
+    /**
+     * Sorts highest ranked candidate first. Ranks are computed once before sorting, since samples may be added while
+     * the list is sorted.
+     */
+    public void sortByRank(List<CustomStatus> customStatuses) {
+        long now = System.currentTimeMillis();
+        Map<Long, Double> ranks = new HashMap<>(customStatuses.size() * 2);
+        for (CustomStatus customStatus : customStatuses) {
+            ranks.put(customStatus.getStatusId(), scoringStrategy.rank(customStatus.getScore(), histories.get(customStatus.getStatusId()),
+                    customStatus.getStatusCreationEpochDay(), now));
+        }
+        customStatuses.sort(Comparator.comparingDouble((CustomStatus customStatus) -> ranks.get(customStatus.getStatusId())).reversed());
+    }
+
+    /**
+     * Finds the lowest ranked candidates of the pool in one scan, keeping only count of them in a max-heap of ranks.
+     * Ranks of DECAYED and VELOCITY change with time, so they are computed on every call instead of being indexed.
+     *
+     * @return status ids of at most count candidates, in no particular order
+     */
+    public long[] findLowestRanked(CandidatePool candidatePool, int count) {
+        long now = System.currentTimeMillis();
+        long[] statusIds = new long[count];
+        double[] ranks = new double[count];
+        int[] size = new int[1];
+        candidatePool.forEachCandidate((statusId, score, creationEpochDay, fetchedAtMillis) -> {
+            double rank = scoringStrategy.rank(score, histories.get(statusId), creationEpochDay, now);
+            if (size[0] < count) {
+                statusIds[size[0]] = statusId;
+                ranks[size[0]] = rank;
+                siftUp(statusIds, ranks, size[0]++);
+            } else if (count > 0 && rank < ranks[0]) {
+                statusIds[0] = statusId;
+                ranks[0] = rank;
+                siftDown(statusIds, ranks, size[0]);
+            }
+        });
+        return size[0] == count ? statusIds : Arrays.copyOf(statusIds, size[0]);
+    }
+
+    private static void siftUp(long[] statusIds, double[] ranks, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (ranks[parent] >= ranks[index]) {
+                return;
+            }
+            swap(statusIds, ranks, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] statusIds, double[] ranks, int size) {
+        int index = 0;
+        while (index * 2 + 1 < size) {
+            int child = index * 2 + 1;
+            if (child + 1 < size && ranks[child + 1] > ranks[child]) {
+                child++;
+            }
+            if (ranks[index] >= ranks[child]) {
+                return;
+            }
+            swap(statusIds, ranks, index, child);
+            index = child;
+        }
+    }
+
+    private static void swap(long[] statusIds, double[] ranks, int i, int j) {
+        long statusId = statusIds[i];
+        statusIds[i] = statusIds[j];
+        statusIds[j] = statusId;
+        double rank = ranks[i];
+        ranks[i] = ranks[j];
+        ranks[j] = rank;
+    }
+
+    public void remove(long statusId) {
+        histories.remove(statusId);
+    }
+
+    public void clear() {
+        histories.clear();
+    }
+
+    public ScoringStrategy getScoringStrategy() {
+        return scoringStrategy;
+    }
+}
@@ -0,0 +1,73 @@
+package com.kadir.twitterbots.worm.score;
+
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks candidates by their interaction count history, with the velocity over the samples of the history. A candidate
+ * with fewer than two samples has no velocity of its own, it is taken to have gained its count at a constant velocity
+ * since it was created, so new candidates and ones loaded from database rank alike. Creation time of a candidate
+ * without samples is taken as the start of its creation day.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 21:15
+ */
+public enum ScoringStrategy {
+    /**
+     * latest favorite and retweet count
+     */
+    RAW {
+        @Override
+        double rank(int score, long createdAt, double velocity, double acceleration, long now) {
+            return score;
+        }
+    },
+    /**
+     * count halved for every scoreDecayHalfLifeHours since the status was created
+     */
+    DECAYED {
+        @Override
+        double rank(int score, long createdAt, double velocity, double acceleration, long now) {
+            double ageHours = Math.max(0, now - createdAt) / (double) TimeUnit.HOURS.toMillis(1);
+            return score * Math.pow(0.5, ageHours / DECAY_HALF_LIFE_HOURS);
+        }
+    },
+    /**
+     * count expected scoreVelocityHorizonMinutes later, projected from current velocity and acceleration. Acceleration
+     * can at most double or cancel the velocity, since a few noisy samples should not outweigh the count itself.
+     */
+    VELOCITY {
+        @Override
+        double rank(int score, long createdAt, double velocity, double acceleration, long now) {
+            velocity = Math.max(0, velocity);
+            double projectedVelocity = Math.min(2 * velocity, Math.max(0, velocity + acceleration * VELOCITY_HORIZON_MINUTES / 2));
+            return score + projectedVelocity * VELOCITY_HORIZON_MINUTES;
+        }
+    };
+
+    private static final double DECAY_HALF_LIFE_HOURS = Double.parseDouble(System.getProperty("scoreDecayHalfLifeHours", "6"));
+    private static final double VELOCITY_HORIZON_MINUTES = Double.parseDouble(System.getProperty("scoreVelocityHorizonMinutes", "60"));
+
+    public double rank(int score, ScoreHistory history, int creationEpochDay, long now) {
+        if (history != null && history.size() > 1) {
+            return rank(score, history.getCreatedAt(), history.getWindowVelocity(), history.getAcceleration(), now);
+        }
+
+        long createdAt;
+        if (history != null) {
+            createdAt = history.getCreatedAt();
+        } else if (creationEpochDay != CustomStatus.NO_DATE) {
+            createdAt = LocalDate.ofEpochDay(creationEpochDay).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } else {
+            createdAt = now;
+        }
+        double ageMinutes = Math.max(0, now - createdAt) / (double) TimeUnit.MINUTES.toMillis(1);
+        return rank(score, createdAt, ageMinutes > 0 ? score / ageMinutes : 0, 0, now);
+    }
+
+    abstract double rank(int score, long createdAt, double velocity, double acceleration, long now);
+}
@@ -0,0 +1,78 @@
+package com.kadir.twitterbots.worm.search;
+
+import twitter4j.UserMentionEntity;
+
+/**
+ * Reusable {@link UserMentionEntity} of a search result.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+final class MentionProjection implements UserMentionEntity {
+    private static final long serialVersionUID = 1L;
+
+    private long id;
+    private String screenName;
+    private String name;
+    private int start;
+    private int end;
+
+    void reset() {
+        id = 0;
+        screenName = null;
+        name = null;
+        start = 0;
+        end = 0;
+    }
+
+    void setId(long id) {
+        this.id = id;
+    }
+
+    void setScreenName(String screenName) {
+        this.screenName = screenName;
+    }
+
+    void setName(String name) {
+        this.name = name;
+    }
+
+    void setStart(int start) {
+        this.start = start;
+    }
+
+    void setEnd(int end) {
+        this.end = end;
+    }
+
+    @Override
+    public String getText() {
+        return screenName;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getScreenName() {
+        return screenName;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public int getStart() {
+        return start;
+    }
+
+    @Override
+    public int getEnd() {
+        return end;
+    }
+}
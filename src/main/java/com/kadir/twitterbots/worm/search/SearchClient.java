@@ -0,0 +1,16 @@
+package com.kadir.twitterbots.worm.search;
+
+import twitter4j.Query;
+import twitter4j.TwitterException;
+
+/**
+ * Runs search/tweets requests of a {@link Query}. Statuses of a page may be reused by the client once the page is
+ * closed, so they are read before and not kept after it.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public interface SearchClient {
+    SearchPage search(Query query) throws TwitterException;
+}
@@ -0,0 +1,37 @@
+package com.kadir.twitterbots.worm.search;
+
+import twitter4j.Twitter;
+
+/**
+ * How search result pages are decoded, selected by searchClient.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public enum SearchClientType {
+    /**
+     * streams the response into reused statuses with only the fields worm reads
+     */
+    STREAMING {
+        @Override
+        public SearchClient create(Twitter twitter) {
+            return new StreamingSearchClient(twitter);
+        }
+    },
+    /**
+     * twitter4j search, every field of every status
+     */
+    TWITTER4J {
+        @Override
+        public SearchClient create(Twitter twitter) {
+            return new Twitter4jSearchClient(twitter);
+        }
+    };
+
+    public abstract SearchClient create(Twitter twitter);
+
+    public static SearchClient fromSystemProperties(Twitter twitter) {
+        return valueOf(System.getProperty("searchClient", STREAMING.name()).toUpperCase()).create(twitter);
+    }
+}
@@ -0,0 +1,56 @@
+package com.kadir.twitterbots.worm.search;
+
+import twitter4j.Query;
+import twitter4j.RateLimitStatus;
+import twitter4j.Status;
+
+import java.util.List;
+
+/**
+ * One page of search results. Closing it hands its statuses back to the client that decoded them.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public final class SearchPage implements AutoCloseable {
+    private final List<Status> statuses;
+    private final Query nextQuery;
+    private final double completedIn;
+    private final RateLimitStatus rateLimitStatus;
+    private final Runnable onClose;
+
+    SearchPage(List<Status> statuses, Query nextQuery, double completedIn, RateLimitStatus rateLimitStatus, Runnable onClose) {
+        this.statuses = statuses;
+        this.nextQuery = nextQuery;
+        this.completedIn = completedIn;
+        this.rateLimitStatus = rateLimitStatus;
+        this.onClose = onClose;
+    }
+
+    public List<Status> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * @return query of the next page, null on the last page
+     */
+    public Query nextQuery() {
+        return nextQuery;
+    }
+
+    public double getCompletedIn() {
+        return completedIn;
+    }
+
+    public RateLimitStatus getRateLimitStatus() {
+        return rateLimitStatus;
+    }
+
+    @Override
+    public void close() {
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+}
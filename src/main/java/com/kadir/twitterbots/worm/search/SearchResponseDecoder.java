@@ -0,0 +1,305 @@
+package com.kadir.twitterbots.worm.search;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import twitter4j.Status;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes a search/tweets response token by token into {@link StatusProjection}s, skipping every field worm does not
+ * read without building it. Projections, their users and mentions are taken from a pool that is refilled by every
+ * decode, so a decoder allocates only the strings of a page once its pool is warm.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+final class SearchResponseDecoder {
+    private static final String MONTHS = "JanFebMarAprMayJunJulAugSepOctNovDec";
+    private static final int CREATED_AT_LENGTH = "Wed Aug 27 13:08:45 +0000 2008".length();
+
+    private final List<StatusProjection> statusPool = new ArrayList<>();
+    private final List<Status> statuses = new ArrayList<>();
+    private int usedStatusCount;
+    private double completedIn;
+    private String nextResults;
+
+    void decode(JsonParser parser) throws IOException {
+        statuses.clear();
+        usedStatusCount = 0;
+        completedIn = 0;
+        nextResults = null;
+
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("statuses".equals(field) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        statuses.add(readStatus(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("search_metadata".equals(field) && token == JsonToken.START_OBJECT) {
+                readMetadata(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    List<Status> getStatuses() {
+        return statuses;
+    }
+
+    double getCompletedIn() {
+        return completedIn;
+    }
+
+    /**
+     * @return query string of the next page as search returned it, null on the last page
+     */
+    String getNextResults() {
+        return nextResults;
+    }
+
+    private StatusProjection readStatus(JsonParser parser) throws IOException {
+        StatusProjection status = nextStatus();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id":
+                    status.setId(parser.getLongValue());
+                    break;
+                case "text":
+                case "full_text":
+                    status.setText(readString(parser, token));
+                    break;
+                case "created_at":
+                    status.setCreatedAt(readCreatedAt(parser, token));
+                    break;
+                case "retweet_count":
+                    status.setRetweetCount(token == JsonToken.VALUE_NULL ? 0 : parser.getIntValue());
+                    break;
+                case "favorite_count":
+                    status.setFavoriteCount(token == JsonToken.VALUE_NULL ? 0 : parser.getIntValue());
+                    break;
+                case "user":
+                    readUser(parser, token, status.getUserProjection());
+                    break;
+                case "entities":
+                    readEntities(parser, token, status);
+                    break;
+                case "retweeted_status":
+                    status.setRetweetedStatus(token == JsonToken.START_OBJECT ? readStatus(parser) : null);
+                    break;
+                case "quoted_status_id":
+                    status.setQuotedStatusId(token == JsonToken.VALUE_NULL ? -1 : parser.getLongValue());
+                    break;
+                case "quoted_status":
+                    status.setQuotedStatus(token == JsonToken.START_OBJECT ? readStatus(parser) : null);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return status;
+    }
+
+    private void readUser(JsonParser parser, JsonToken token, UserProjection user) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            switch (field) {
+                case "id":
+                    user.setId(parser.getLongValue());
+                    break;
+                case "screen_name":
+                    user.setScreenName(readString(parser, valueToken));
+                    break;
+                case "description":
+                    user.setDescription(readString(parser, valueToken));
+                    break;
+                case "location":
+                    user.setLocation(readString(parser, valueToken));
+                    break;
+                case "verified":
+                    user.setVerified(valueToken == JsonToken.VALUE_TRUE);
+                    break;
+                case "followers_count":
+                    user.setFollowersCount(valueToken == JsonToken.VALUE_NULL ? 0 : parser.getIntValue());
+                    break;
+                case "friends_count":
+                    user.setFriendsCount(valueToken == JsonToken.VALUE_NULL ? 0 : parser.getIntValue());
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+    }
+
+    private void readEntities(JsonParser parser, JsonToken token, StatusProjection status) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "user_mentions".equals(field)) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        readMention(parser, status.nextMention());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readMention(JsonParser parser, MentionProjection mention) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id":
+                    mention.setId(parser.getLongValue());
+                    break;
+                case "screen_name":
+                    mention.setScreenName(readString(parser, token));
+                    break;
+                case "name":
+                    mention.setName(readString(parser, token));
+                    break;
+                case "indices":
+                    readIndices(parser, token, mention);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+    }
+
+    private void readIndices(JsonParser parser, JsonToken token, MentionProjection mention) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (index == 0) {
+                mention.setStart(parser.getIntValue());
+            } else if (index == 1) {
+                mention.setEnd(parser.getIntValue());
+            }
+            parser.skipChildren();
+            index++;
+        }
+    }
+
+    private void readMetadata(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("completed_in".equals(field) && token.isNumeric()) {
+                completedIn = parser.getDoubleValue();
+            } else if ("next_results".equals(field)) {
+                nextResults = readString(parser, token);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private StatusProjection nextStatus() {
+        if (usedStatusCount == statusPool.size()) {
+            statusPool.add(new StatusProjection());
+        }
+        StatusProjection status = statusPool.get(usedStatusCount++);
+        status.reset();
+        return status;
+    }
+
+    private static String readString(JsonParser parser, JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    /**
+     * Reads the fixed format of created_at, e.g. {@code Wed Aug 27 13:08:45 +0000 2008}, from the characters of the
+     * token without building a string.
+     */
+    private static long readCreatedAt(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.VALUE_STRING || parser.getTextLength() != CREATED_AT_LENGTH) {
+            throw new JsonParseException(parser, "unexpected created_at: " + parser.getText());
+        }
+
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int month = month(chars, offset + 4);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = digits(chars, offset + 17, 2);
+        int offsetMinutes = digits(chars, offset + 21, 2) * 60 + digits(chars, offset + 23, 2);
+        int year = digits(chars, offset + 26, 4);
+        if (month == 0 || day < 0 || hour < 0 || minute < 0 || second < 0 || offsetMinutes < 0 || year < 0) {
+            throw new JsonParseException(parser, "unexpected created_at: " + parser.getText());
+        }
+
+        long epochSecond = LocalDate.of(year, month, day).toEpochDay() * 86_400L + hour * 3_600L + minute * 60L + second;
+        epochSecond -= (chars[offset + 20] == '-' ? -offsetMinutes : offsetMinutes) * 60L;
+        return epochSecond * 1000;
+    }
+
+    /**
+     * @return 1 based month of the three letter abbreviation, 0 if it is not one
+     */
+    private static int month(char[] chars, int offset) {
+        for (int i = 0; i < MONTHS.length(); i += 3) {
+            if (MONTHS.charAt(i) == chars[offset] && MONTHS.charAt(i + 1) == chars[offset + 1] && MONTHS.charAt(i + 2) == chars[offset + 2]) {
+                return i / 3 + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return value of the decimal digits, -1 if any of them is not a digit
+     */
+    private static int digits(char[] chars, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (chars[i] < '0' || chars[i] > '9') {
+                return -1;
+            }
+            value = value * 10 + chars[i] - '0';
+        }
+        return value;
+    }
+
+    private static void expect(JsonParser parser, JsonToken token, JsonToken expected) throws JsonParseException {
+        if (token != expected) {
+            throw new JsonParseException(parser, "expected " + expected + " but was " + token);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.kadir.twitterbots.worm.search;
+
+import twitter4j.GeoLocation;
+import twitter4j.HashtagEntity;
+import twitter4j.MediaEntity;
+import twitter4j.Place;
+import twitter4j.RateLimitStatus;
+import twitter4j.Scopes;
+import twitter4j.Status;
+import twitter4j.SymbolEntity;
+import twitter4j.TwitterResponse;
+import twitter4j.URLEntity;
+import twitter4j.User;
+import twitter4j.UserMentionEntity;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Reusable {@link Status} of a search result with the fields worm reads: ids, text, creation time, counts, user,
+ * mentions, retweeted and quoted status. The rest return empty values.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+final class StatusProjection implements Status {
+    private static final long serialVersionUID = 1L;
+    private static final UserMentionEntity[] NO_MENTIONS = new UserMentionEntity[0];
+
+    private final Date createdAt = new Date(0);
+    private final UserProjection user = new UserProjection();
+    private MentionProjection[] mentions = new MentionProjection[0];
+    private UserMentionEntity[] userMentionEntities = NO_MENTIONS;
+    private int mentionCount;
+    private long id;
+    private String text;
+    private int favoriteCount;
+    private int retweetCount;
+    private long quotedStatusId;
+    private Status retweetedStatus;
+    private Status quotedStatus;
+
+    void reset() {
+        createdAt.setTime(0);
+        user.reset();
+        mentionCount = 0;
+        id = 0;
+        text = null;
+        favoriteCount = 0;
+        retweetCount = 0;
+        quotedStatusId = -1;
+        retweetedStatus = null;
+        quotedStatus = null;
+    }
+
+    MentionProjection nextMention() {
+        if (mentionCount == mentions.length) {
+            mentions = Arrays.copyOf(mentions, mentions.length + 2);
+            for (int i = mentionCount; i < mentions.length; i++) {
+                mentions[i] = new MentionProjection();
+            }
+        }
+        MentionProjection mention = mentions[mentionCount++];
+        mention.reset();
+        return mention;
+    }
+
+    UserProjection getUserProjection() {
+        return user;
+    }
+
+    void setId(long id) {
+        this.id = id;
+    }
+
+    void setText(String text) {
+        this.text = text;
+    }
+
+    void setCreatedAt(long createdAtMillis) {
+        createdAt.setTime(createdAtMillis);
+    }
+
+    void setFavoriteCount(int favoriteCount) {
+        this.favoriteCount = favoriteCount;
+    }
+
+    void setRetweetCount(int retweetCount) {
+        this.retweetCount = retweetCount;
+    }
+
+    void setQuotedStatusId(long quotedStatusId) {
+        this.quotedStatusId = quotedStatusId;
+    }
+
+    void setRetweetedStatus(Status retweetedStatus) {
+        this.retweetedStatus = retweetedStatus;
+    }
+
+    void setQuotedStatus(Status quotedStatus) {
+        this.quotedStatus = quotedStatus;
+    }
+
+    @Override
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public int getDisplayTextRangeStart() {
+        return 0;
+    }
+
+    @Override
+    public int getDisplayTextRangeEnd() {
+        return text == null ? 0 : text.length();
+    }
+
+    @Override
+    public String getSource() {
+        return null;
+    }
+
+    @Override
+    public boolean isTruncated() {
+        return false;
+    }
+
+    @Override
+    public long getInReplyToStatusId() {
+        return -1;
+    }
+
+    @Override
+    public long getInReplyToUserId() {
+        return -1;
+    }
+
+    @Override
+    public String getInReplyToScreenName() {
+        return null;
+    }
+
+    @Override
+    public GeoLocation getGeoLocation() {
+        return null;
+    }
+
+    @Override
+    public Place getPlace() {
+        return null;
+    }
+
+    @Override
+    public boolean isFavorited() {
+        return false;
+    }
+
+    @Override
+    public boolean isRetweeted() {
+        return false;
+    }
+
+    @Override
+    public int getFavoriteCount() {
+        return favoriteCount;
+    }
+
+    @Override
+    public User getUser() {
+        return user;
+    }
+
+    @Override
+    public boolean isRetweet() {
+        return retweetedStatus != null;
+    }
+
+    @Override
+    public Status getRetweetedStatus() {
+        return retweetedStatus;
+    }
+
+    @Override
+    public long[] getContributors() {
+        return new long[0];
+    }
+
+    @Override
+    public int getRetweetCount() {
+        return retweetCount;
+    }
+
+    @Override
+    public boolean isRetweetedByMe() {
+        return false;
+    }
+
+    @Override
+    public long getCurrentUserRetweetId() {
+        return -1;
+    }
+
+    @Override
+    public boolean isPossiblySensitive() {
+        return false;
+    }
+
+    @Override
+    public String getLang() {
+        return null;
+    }
+
+    @Override
+    public Scopes getScopes() {
+        return null;
+    }
+
+    @Override
+    public String[] getWithheldInCountries() {
+        return new String[0];
+    }
+
+    @Override
+    public long getQuotedStatusId() {
+        return quotedStatus == null ? quotedStatusId : quotedStatus.getId();
+    }
+
+    @Override
+    public Status getQuotedStatus() {
+        return quotedStatus;
+    }
+
+    @Override
+    public URLEntity getQuotedStatusPermalink() {
+        return null;
+    }
+
+    /**
+     * The array is rebuilt only when the number of mentions differs from the previous use of this status.
+     */
+    @Override
+    public UserMentionEntity[] getUserMentionEntities() {
+        if (userMentionEntities.length != mentionCount) {
+            userMentionEntities = mentionCount == 0 ? NO_MENTIONS : Arrays.copyOf(mentions, mentionCount, UserMentionEntity[].class);
+        }
+        return userMentionEntities;
+    }
+
+    @Override
+    public URLEntity[] getURLEntities() {
+        return new URLEntity[0];
+    }
+
+    @Override
+    public HashtagEntity[] getHashtagEntities() {
+        return new HashtagEntity[0];
+    }
+
+    @Override
+    public MediaEntity[] getMediaEntities() {
+        return new MediaEntity[0];
+    }
+
+    @Override
+    public SymbolEntity[] getSymbolEntities() {
+        return new SymbolEntity[0];
+    }
+
+    @Override
+    public RateLimitStatus getRateLimitStatus() {
+        return null;
+    }
+
+    @Override
+    public int getAccessLevel() {
+        return TwitterResponse.READ;
+    }
+
+    @Override
+    public int compareTo(Status other) {
+        return Long.compare(id, other.getId());
+    }
+}
@@ -0,0 +1,178 @@
+package com.kadir.twitterbots.worm.search;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import twitter4j.HttpClientFactory;
+import twitter4j.HttpParameter;
+import twitter4j.HttpResponse;
+import twitter4j.Query;
+import twitter4j.RateLimitStatus;
+import twitter4j.Twitter;
+import twitter4j.TwitterException;
+import twitter4j.conf.Configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * {@link SearchClient} that sends the search/tweets request twitter4j would send, signed by the same authorization
+ * through the same http client, and streams the response through a {@link SearchResponseDecoder}. A decoder and the
+ * statuses it holds are reused by the next search once the page is closed, so concurrent cursors each get their own.
+ * <p>
+ * The next page query keeps every field of the query but max id, which is taken from next_results. twitter4j sends
+ * next_results as it is instead, so a next page loses since and since_id unless search echoes them.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class StreamingSearchClient implements SearchClient {
+    private static final String SEARCH_PATH = "search/tweets.json";
+
+    private final Twitter twitter;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final ConcurrentLinkedQueue<SearchResponseDecoder> idleDecoders = new ConcurrentLinkedQueue<>();
+
+    public StreamingSearchClient(Twitter twitter) {
+        this.twitter = twitter;
+    }
+
+    @Override
+    public SearchPage search(Query query) throws TwitterException {
+        Configuration conf = twitter.getConfiguration();
+        HttpResponse response = HttpClientFactory.getInstance(conf.getHttpClientConfiguration())
+                .get(conf.getRestBaseURL() + SEARCH_PATH, toParameters(query, conf), twitter.getAuthorization(), null);
+
+        SearchResponseDecoder decoder = idleDecoders.poll();
+        if (decoder == null) {
+            decoder = new SearchResponseDecoder();
+        }
+
+        try (InputStream inputStream = response.asStream(); JsonParser parser = jsonFactory.createParser(inputStream)) {
+            decoder.decode(parser);
+        } catch (IOException | RuntimeException e) {
+            idleDecoders.offer(decoder);
+            throw new TwitterException("search response could not be decoded", e, response.getStatusCode());
+        }
+
+        SearchResponseDecoder pageDecoder = decoder;
+        return new SearchPage(decoder.getStatuses(), nextQuery(query, decoder.getNextResults()), decoder.getCompletedIn(),
+                HeaderRateLimitStatus.from(response), () -> idleDecoders.offer(pageDecoder));
+    }
+
+    /**
+     * Parameters of twitter4j's Query#asHttpParameterArray and the implicit ones twitter4j adds to every request.
+     */
+    private static HttpParameter[] toParameters(Query query, Configuration conf) {
+        List<HttpParameter> parameters = new ArrayList<>();
+        addParameter(parameters, "q", query.getQuery());
+        addParameter(parameters, "lang", query.getLang());
+        addParameter(parameters, "locale", query.getLocale());
+        addParameter(parameters, "max_id", query.getMaxId());
+        addParameter(parameters, "count", query.getCount());
+        addParameter(parameters, "since", query.getSince());
+        addParameter(parameters, "since_id", query.getSinceId());
+        addParameter(parameters, "geocode", query.getGeocode());
+        addParameter(parameters, "until", query.getUntil());
+        if (query.getResultType() != null) {
+            parameters.add(new HttpParameter("result_type", query.getResultType().name()));
+        }
+        parameters.add(new HttpParameter("with_twitter_user_id", "true"));
+        if (conf.isIncludeEntitiesEnabled()) {
+            parameters.add(new HttpParameter("include_entities", "true"));
+        }
+        if (conf.isTweetModeExtended()) {
+            parameters.add(new HttpParameter("tweet_mode", "extended"));
+        }
+        return parameters.toArray(new HttpParameter[0]);
+    }
+
+    private static void addParameter(List<HttpParameter> parameters, String name, String value) {
+        if (value != null) {
+            parameters.add(new HttpParameter(name, value));
+        }
+    }
+
+    private static void addParameter(List<HttpParameter> parameters, String name, long value) {
+        if (value >= 0) {
+            parameters.add(new HttpParameter(name, String.valueOf(value)));
+        }
+    }
+
+    private static Query nextQuery(Query query, String nextResults) {
+        if (nextResults == null) {
+            return null;
+        }
+
+        long maxId = -1;
+        for (HttpParameter parameter : HttpParameter.decodeParameters(nextResults.substring(nextResults.indexOf('?') + 1))) {
+            if ("max_id".equals(parameter.getName())) {
+                maxId = Long.parseLong(parameter.getValue());
+            }
+        }
+        if (maxId < 0) {
+            return null;
+        }
+
+        Query nextQuery = new Query(query.getQuery());
+        nextQuery.setLang(query.getLang());
+        nextQuery.setLocale(query.getLocale());
+        nextQuery.setCount(query.getCount());
+        nextQuery.setSince(query.getSince());
+        nextQuery.setSinceId(query.getSinceId());
+        nextQuery.setUntil(query.getUntil());
+        nextQuery.setResultType(query.getResultType());
+        nextQuery.setMaxId(maxId);
+        return nextQuery;
+    }
+
+    /**
+     * Rate limit of the x-rate-limit headers of a response, as twitter4j reads them.
+     */
+    private static final class HeaderRateLimitStatus implements RateLimitStatus {
+        private static final long serialVersionUID = 1L;
+
+        private final int limit;
+        private final int remaining;
+        private final int resetTimeInSeconds;
+
+        private HeaderRateLimitStatus(int limit, int remaining, int resetTimeInSeconds) {
+            this.limit = limit;
+            this.remaining = remaining;
+            this.resetTimeInSeconds = resetTimeInSeconds;
+        }
+
+        static RateLimitStatus from(HttpResponse response) {
+            String limit = response.getResponseHeader("X-Rate-Limit-Limit");
+            String remaining = response.getResponseHeader("X-Rate-Limit-Remaining");
+            String reset = response.getResponseHeader("X-Rate-Limit-Reset");
+            if (limit == null || remaining == null || reset == null) {
+                return null;
+            }
+            return new HeaderRateLimitStatus(Integer.parseInt(limit), Integer.parseInt(remaining), Integer.parseInt(reset));
+        }
+
+        @Override
+        public int getRemaining() {
+            return remaining;
+        }
+
+        @Override
+        public int getLimit() {
+            return limit;
+        }
+
+        @Override
+        public int getResetTimeInSeconds() {
+            return resetTimeInSeconds;
+        }
+
+        @Override
+        public int getSecondsUntilReset() {
+            return (int) (resetTimeInSeconds - System.currentTimeMillis() / 1000);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.kadir.twitterbots.worm.search;
+
+import twitter4j.Query;
+import twitter4j.QueryResult;
+import twitter4j.Twitter;
+import twitter4j.TwitterException;
+
+/**
+ * {@link SearchClient} that decodes every page into the complete twitter4j object graph.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class Twitter4jSearchClient implements SearchClient {
+    private final Twitter twitter;
+
+    public Twitter4jSearchClient(Twitter twitter) {
+        this.twitter = twitter;
+    }
+
+    @Override
+    public SearchPage search(Query query) throws TwitterException {
+        QueryResult result = twitter.search(query);
+        return new SearchPage(result.getTweets(), result.nextQuery(), result.getCompletedIn(), result.getRateLimitStatus(), null);
+    }
+}
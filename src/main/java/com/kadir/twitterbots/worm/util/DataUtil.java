@@ -1,8 +1,12 @@
 package com.kadir.twitterbots.worm.util;
 
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -11,6 +15,7 @@ import java.util.List;
  * Time: 14:24
  */
 public class DataUtil {
+    public static final DateTimeFormatter SQL_DATE_FORMATTER = DateTimeFormatter.BASIC_ISO_DATE;
     public static final List<String> PUNCTUATION_LIST = Arrays.asList(".", ",", "’", "!", "?", " ", ":", ";", "-", "(", ")", "[", "]", "{", "}", "'", "\"");
 
     private DataUtil() {
@@ -28,4 +33,16 @@ public class DataUtil {
         return simpleDateFormat.format(cal.getTime());
     }
 
+    public static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    public static LocalDate parseSqlDate(String sqlDate) {
+        return isNullOrEmpty(sqlDate) ? null : LocalDate.parse(sqlDate, SQL_DATE_FORMATTER);
+    }
+
+    public static String formatSqlDate(LocalDate localDate) {
+        return localDate == null ? "" : localDate.format(SQL_DATE_FORMATTER);
+    }
+
 }
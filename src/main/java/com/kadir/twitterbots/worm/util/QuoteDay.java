@@ -0,0 +1,57 @@
+package com.kadir.twitterbots.worm.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Day whose popular statuses are quoted at the next quote run. It is the calendar day until that day is quoted, then
+ * the process rolls over to the next day while still running, so statuses fetched after quote time are found for the
+ * next day instead of the one just quoted.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 17:20
+ */
+public class QuoteDay {
+    private static volatile LocalDate today;
+
+    private QuoteDay() {
+    }
+
+    public static LocalDate today() {
+        LocalDate current = today;
+        if (current == null) {
+            synchronized (QuoteDay.class) {
+                if (today == null) {
+                    LocalDateTime now = LocalDateTime.now();
+                    today = now.toLocalTime().isBefore(getQuoteTime()) ? now.toLocalDate() : now.toLocalDate().plusDays(1);
+                }
+                current = today;
+            }
+        }
+        return current;
+    }
+
+    public static LocalDate yesterday() {
+        return today().minusDays(1);
+    }
+
+    /**
+     * @return the new quote day
+     */
+    public static synchronized LocalDate rollOver() {
+        today = today().plusDays(1);
+        return today;
+    }
+
+    public static LocalDateTime getNextQuoteTime() {
+        return today().atTime(getQuoteTime());
+    }
+
+    private static LocalTime getQuoteTime() {
+        int quoteHour = Integer.parseInt(System.getProperty("quoteHour", "22"));
+        int quoteMinute = Integer.parseInt(System.getProperty("quoteMinute", "0"));
+        return LocalTime.of(quoteHour, quoteMinute);
+    }
+}
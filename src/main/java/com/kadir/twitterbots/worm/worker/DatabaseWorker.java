@@ -1,15 +1,16 @@
 package com.kadir.twitterbots.worm.worker;
 
-import com.kadir.twitterbots.worm.dao.StatusDao;
+import com.kadir.twitterbots.worm.dao.StatusRepository;
 import com.kadir.twitterbots.worm.entity.CustomStatus;
 import com.kadir.twitterbots.worm.entity.TaskPriority;
+import com.kadir.twitterbots.worm.metrics.MetricsRegistry;
+import com.kadir.twitterbots.worm.pool.CandidatePoolSnapshot;
 import com.kadir.twitterbots.worm.scheduler.BaseScheduledRunnable;
 import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -21,27 +22,29 @@ public class DatabaseWorker extends BaseScheduledRunnable {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final TweetFetcher tweetFetcher;
-    private final StatusDao statusDao;
+    private final StatusRepository statusRepository;
     private static final int INITIAL_DELAY = 10;
     private static final int DELAY = 30;
 
-    public DatabaseWorker(TweetFetcher tweetFetcher) {
+    public DatabaseWorker(TweetFetcher tweetFetcher, StatusRepository statusRepository) {
         super(TaskPriority.HIGH);
-        executorService = Executors.newScheduledThreadPool(1);
         this.tweetFetcher = tweetFetcher;
-        statusDao = new StatusDao();
+        this.statusRepository = statusRepository;
+        MetricsRegistry.describe("worm_db_flush_seconds_total", "time spent saving the candidate pool into database");
+        MetricsRegistry.describe("worm_db_flush_rows_total", "rows written while saving the candidate pool into database");
     }
 
     @Override
     public void schedule() {
-        scheduledFuture = executorService.scheduleWithFixedDelay(this, INITIAL_DELAY, DELAY, TimeUnit.MINUTES);
+        scheduledTask = TaskScheduler.scheduleWithFixedDelay(this, INITIAL_DELAY, DELAY, TimeUnit.MINUTES);
         logger.info("add scheduler to run with fixed DELAY. initial delay:{} delay:{}", INITIAL_DELAY, DELAY);
-        TaskScheduler.addScheduledTask(this);
     }
 
     @Override
     public void cancel() {
-        saveStatusesToDatabase();
+        if (!tweetFetcher.isPaused()) {
+            saveStatusesToDatabase();
+        }
         super.cancel();
     }
 
@@ -60,48 +63,85 @@ public class DatabaseWorker extends BaseScheduledRunnable {
     public void run() {
         try {
             logger.info("Run database worker");
-            saveStatusesToDatabase();
+            statusRepository.maintain();
+            if (tweetFetcher.isPaused()) {
+                logger.info("skip saving statuses, fetching is paused for the quote run.");
+            } else {
+                saveStatusesToDatabase();
+            }
         } catch (Exception e) {
             logger.error("An error occured", e);
         }
     }
 
-    public void saveStatusesToDatabase() {
-        Map<Long, CustomStatus> fetchedStatusMap = tweetFetcher.getFetchedStatusMap();
-        List<CustomStatus> savedStatuses = statusDao.getTodaysStatuses();
-        List<CustomStatus> fetchedStatuses = new ArrayList<>(fetchedStatusMap.values());
+    public synchronized void saveStatusesToDatabase() {
+        long startNanos = System.nanoTime();
+        int insertedCount = 0;
+        int updatedCount = 0;
+        int removedCount = 0;
+        CandidatePoolSnapshot fetchedStatuses = tweetFetcher.getCandidatePool().snapshot();
+        List<CustomStatus> savedStatuses = statusRepository.getTodaysStatuses();
 
         if (savedStatuses.isEmpty()) {
-            for (CustomStatus customStatus : fetchedStatuses) {
-                Long id = statusDao.saveStatus(customStatus);
-                customStatus.setId(id);
-                logger.info("Save status into database. {} - {} - {}", customStatus.getId(), customStatus.getScore(), customStatus.getStatusLink());
+            for (CustomStatus customStatus : fetchedStatuses.getStatuses()) {
+                Long id = statusRepository.saveStatus(customStatus);
+                releaseIfSaved(customStatus.getStatusId(), id);
+                insertedCount++;
+                logger.info("Save status into database. {} - {} - {}", id, customStatus.getScore(), customStatus.getStatusLink());
             }
         } else {
             HashMap<Long, CustomStatus> savedStatusMap = generateMap(savedStatuses);
             Set<Long> mergedStatusIdSet = new HashSet<>();
             mergedStatusIdSet.addAll(savedStatusMap.keySet());
-            mergedStatusIdSet.addAll(fetchedStatusMap.keySet());
+            mergedStatusIdSet.addAll(fetchedStatuses.getStatusIds());
 
             for (Long statusId : mergedStatusIdSet) {
-                if (fetchedStatusMap.containsKey(statusId) && savedStatusMap.containsKey(statusId)) {
+                if (fetchedStatuses.containsKey(statusId) && savedStatusMap.containsKey(statusId)) {
                     CustomStatus statusToUpdate = savedStatusMap.get(statusId);
-                    int newScore = fetchedStatusMap.get(statusId).getScore();
-                    statusDao.updateTodaysStatusScore(statusToUpdate.getStatusId(), newScore);
-                    logger.debug("Update status score in database. {} - {} - {}", statusToUpdate.getId(), newScore, statusToUpdate.getStatusLink());
-                } else if (fetchedStatusMap.containsKey(statusId)) {
-                    CustomStatus statusToInsert = fetchedStatusMap.get(statusId);
-                    Long id = statusDao.saveStatus(statusToInsert);
-                    statusToInsert.setId(id);
-                    logger.info("Status saved into database. {} - {} - {}", statusToInsert.getId(), statusToInsert.getScore(), statusToInsert.getStatusLink());
+                    int newScore = fetchedStatuses.get(statusId).getScore();
+                    tweetFetcher.getCandidatePool().releaseStatusText(statusId);
+                    statusRepository.updateTodaysStatusScore(statusToUpdate.getStatusId(), newScore);
+                    updatedCount++;
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Update status score in database. {} - {} - {}", statusToUpdate.getId(), newScore, statusToUpdate.getStatusLink());
+                    }
+                } else if (fetchedStatuses.containsKey(statusId)) {
+                    CustomStatus statusToInsert = fetchedStatuses.get(statusId);
+                    Long id = statusRepository.saveStatus(statusToInsert);
+                    releaseIfSaved(statusId, id);
+                    insertedCount++;
+                    logger.info("Status saved into database. {} - {} - {}", id, statusToInsert.getScore(), statusToInsert.getStatusLink());
                 } else if (savedStatusMap.containsKey(statusId)) {
                     CustomStatus statusToRemove = savedStatusMap.get(statusId);
-                    statusDao.removeStatus(statusToRemove);
+                    statusRepository.removeStatus(statusToRemove);
+                    removedCount++;
                     logger.info("Status removed from database. {} - {} - {}", statusToRemove.getId(), statusToRemove.getScore(), statusToRemove.getStatusLink());
                 }
             }
         }
         logger.info("refresh database statuses");
+        recordFlushMetrics(System.nanoTime() - startNanos, insertedCount, updatedCount, removedCount);
+    }
+
+    /**
+     * Text is only needed for the insert. If the pool replaced the status meanwhile, its text is released on the next
+     * flush when the status is found in database.
+     */
+    private void releaseIfSaved(long statusId, Long id) {
+        if (id != null) {
+            tweetFetcher.getCandidatePool().releaseStatusText(statusId);
+        }
+    }
+
+    private void recordFlushMetrics(long durationNanos, int insertedCount, int updatedCount, int removedCount) {
+        double durationSeconds = durationNanos / 1e9;
+        MetricsRegistry.increment("worm_db_flushes_total", 1);
+        MetricsRegistry.increment("worm_db_flush_seconds_total", durationSeconds);
+        MetricsRegistry.set("worm_db_flush_last_seconds", durationSeconds);
+        MetricsRegistry.increment("worm_db_flush_rows_total", insertedCount, "operation", "insert");
+        MetricsRegistry.increment("worm_db_flush_rows_total", updatedCount, "operation", "update");
+        MetricsRegistry.increment("worm_db_flush_rows_total", removedCount, "operation", "delete");
+        MetricsRegistry.set("worm_db_flush_last_rows", insertedCount + updatedCount + removedCount);
     }
 
     private HashMap<Long, CustomStatus> generateMap(List<CustomStatus> customStatusList) {
@@ -0,0 +1,126 @@
+package com.kadir.twitterbots.worm.worker;
+
+import com.kadir.twitterbots.worm.filter.InteractionCountFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.Query;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Builds the search queries of a fetch cycle from live state, so search leaves out statuses the filters would reject
+ * after they are fetched and parsed. Native retweets and quotes, the only shapes {@link TweetFetcher} uses, are searched
+ * by separate cursors:
+ * <ul>
+ * <li>retweets with the engagement operators derived from the admission threshold of {@link InteractionCountFilter},
+ * search matches them by the counts of the retweeted status</li>
+ * <li>quotes without them, counts of a quote are not counts of the status it quotes</li>
+ * </ul>
+ * A status passes the threshold with more favorites plus retweets than it, so it has at least half of that in one of
+ * them and {@code (min_retweets:n OR min_faves:n)} drops none of them. Operators on users are left out, they would
+ * apply to the retweeting or quoting user rather than the user {@code UserBasedFilter} checks.
+ * <p>
+ * A cursor that pages longer than searchSplitPages has its remaining id range split by time into searchSplitCount
+ * cursors that are fetched in parallel. Status ids start with their creation time, so ranges are cut by time.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 23:59
+ */
+public class SearchQueryPlanner {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private static final long TWITTER_EPOCH_MILLIS = 1288834974657L;
+    private static final int TIMESTAMP_SHIFT = 22;
+    private static final int PAGE_SIZE = 100;
+
+    private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    private final String languageKey;
+    private final boolean isEnabled;
+    private final int splitPages;
+    private final int splitCount;
+
+    public SearchQueryPlanner(String languageKey) {
+        this.languageKey = languageKey;
+        this.isEnabled = Boolean.parseBoolean(System.getProperty("searchQueryPlanner", "true"));
+        this.splitPages = Integer.parseInt(System.getProperty("searchSplitPages", "10"));
+        this.splitCount = Integer.parseInt(System.getProperty("searchSplitCount", "4"));
+        logger.debug("Set searchQueryPlanner:{} searchSplitPages:{} searchSplitCount:{}", isEnabled, splitPages, splitCount);
+    }
+
+    /**
+     * @return a query per cursor of the cycle, only the language query if the planner is disabled
+     */
+    public List<Query> plan() {
+        String languageQuery = "lang:" + languageKey;
+        if (!isEnabled) {
+            return Collections.singletonList(newQuery(languageQuery).since(simpleDateFormat.format(new Date())));
+        }
+
+        List<Query> queries = new ArrayList<>();
+        StringBuilder retweetQuery = new StringBuilder(languageQuery).append(" filter:nativeretweets");
+        int minInteractionCount = InteractionCountFilter.getMinInteractionCount();
+        if (minInteractionCount > 0) {
+            long minCount = (minInteractionCount + 2L) / 2;
+            retweetQuery.append(" (min_retweets:").append(minCount).append(" OR min_faves:").append(minCount).append(')');
+        }
+        queries.add(newQuery(retweetQuery.toString()).since(simpleDateFormat.format(new Date())));
+        queries.add(newQuery(languageQuery + " filter:quote").since(simpleDateFormat.format(new Date())));
+        logger.debug("plan search queries: {}", queries);
+        return queries;
+    }
+
+    /**
+     * @return true once a cursor fetched enough pages to split what is left of it
+     */
+    public boolean shouldSplit(int pageCount) {
+        return isEnabled && splitPages > 0 && splitCount > 1 && pageCount >= splitPages;
+    }
+
+    /**
+     * Splits ids between the start of today and max id of the next page into equal time ranges.
+     *
+     * @return queries of the ranges from newest to oldest, only the next page query if its range can not be split
+     */
+    public List<Query> split(Query nextQuery) {
+        long startOfToday = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long lowestId = Math.max(nextQuery.getSinceId(), toId(startOfToday));
+        long highestId = nextQuery.getMaxId();
+        long lowestMillis = toMillis(lowestId);
+        long highestMillis = toMillis(highestId);
+        if (highestId <= 0 || highestMillis - lowestMillis < splitCount) {
+            return Collections.singletonList(nextQuery);
+        }
+
+        List<Query> queries = new ArrayList<>();
+        long maxId = highestId;
+        for (int i = splitCount - 1; i >= 0; i--) {
+            long sinceId = i == 0 ? lowestId : toId(lowestMillis + (highestMillis - lowestMillis) * i / splitCount) - 1;
+            queries.add(newQuery(nextQuery.getQuery()).sinceId(sinceId).maxId(maxId));
+            maxId = sinceId;
+        }
+        logger.info("split search cursor into {} cursors. query: {}", queries.size(), nextQuery.getQuery());
+        return queries;
+    }
+
+    private Query newQuery(String queryString) {
+        Query query = new Query(queryString);
+        query.setCount(PAGE_SIZE);
+        query.setResultType(Query.RECENT);
+        return query;
+    }
+
+    private static long toId(long epochMillis) {
+        return (epochMillis - TWITTER_EPOCH_MILLIS) << TIMESTAMP_SHIFT;
+    }
+
+    private static long toMillis(long id) {
+        return (id >> TIMESTAMP_SHIFT) + TWITTER_EPOCH_MILLIS;
+    }
+}
@@ -0,0 +1,149 @@
+package com.kadir.twitterbots.worm.worker;
+
+import com.kadir.twitterbots.ratelimithandler.process.ApiProcessType;
+import com.kadir.twitterbots.worm.entity.CustomStatus;
+import com.kadir.twitterbots.worm.entity.TaskPriority;
+import com.kadir.twitterbots.worm.pool.CandidatePool;
+import com.kadir.twitterbots.worm.score.ScoreTracker;
+import com.kadir.twitterbots.worm.scheduler.BaseScheduledRunnable;
+import com.kadir.twitterbots.worm.scheduler.RateLimitAwareExecutor;
+import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.scheduler.TaskScope;
+import com.kadir.twitterbots.worm.scheduler.WorkerExecutors;
+import com.kadir.twitterbots.worm.util.QuoteDay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import twitter4j.Status;
+import twitter4j.Twitter;
+import twitter4j.TwitterException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the top candidates verified in the hours before quote time. Deleted statuses are dropped from the candidate
+ * pool and scores of existing ones are refreshed, so the quote run starts posting on time.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 20:05
+ */
+public class StatusPreValidator extends BaseScheduledRunnable {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final TweetFetcher tweetFetcher;
+    private final CandidatePool candidatePool;
+    private final ScoreTracker scoreTracker;
+    private final Twitter twitter;
+    private final StatusValidationRegistry validationRegistry;
+    private final RateLimitAwareExecutor rateLimitExecutor;
+    private final int candidateCount;
+    private int preValidationHours;
+    private int preValidationIntervalMinutes;
+
+    public StatusPreValidator(TweetFetcher tweetFetcher, Twitter twitter, StatusValidationRegistry validationRegistry, int quoteLimit) {
+        super(TaskPriority.LOW);
+        this.tweetFetcher = tweetFetcher;
+        this.candidatePool = tweetFetcher.getCandidatePool();
+        this.scoreTracker = tweetFetcher.getScoreTracker();
+        this.twitter = twitter;
+        this.validationRegistry = validationRegistry;
+        this.rateLimitExecutor = new RateLimitAwareExecutor("StatusPreValidatorContinuation", TaskPriority.LOW, twitter);
+        this.candidateCount = quoteLimit + Integer.parseInt(System.getProperty("preValidationMargin", "5"));
+        loadArguments();
+    }
+
+    @Override
+    public void schedule() {
+        scheduledTask = TaskScheduler.scheduleWithFixedDelay(this, preValidationIntervalMinutes, preValidationIntervalMinutes, TimeUnit.MINUTES);
+        logger.info("add scheduler to run with fixed delay. initial delay:{} delay:{}", preValidationIntervalMinutes, preValidationIntervalMinutes);
+    }
+
+    @Override
+    public void run() {
+        LocalDateTime nextQuoteTime = QuoteDay.getNextQuoteTime();
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(nextQuoteTime.minusHours(preValidationHours)) || !now.isBefore(nextQuoteTime)) {
+            return;
+        }
+
+        List<CustomStatus> staleCandidates = new ArrayList<>();
+        for (CustomStatus customStatus : getTopCandidates()) {
+            if (validationRegistry.getState(customStatus.getStatusId()) == StatusValidationRegistry.State.STALE) {
+                staleCandidates.add(customStatus);
+            }
+        }
+
+        int deletedCount = 0;
+        try (TaskScope<Boolean> scope = new TaskScope<>(WorkerExecutors.ioExecutor())) {
+            for (CustomStatus customStatus : staleCandidates) {
+                if (rateLimitExecutor.tryAcquire(ApiProcessType.SHOW_STATUS)) {
+                    scope.fork(() -> validate(customStatus));
+                }
+            }
+
+            for (Boolean isDeleted : scope.join()) {
+                if (Boolean.TRUE.equals(isDeleted)) {
+                    deletedCount++;
+                }
+            }
+        } catch (ExecutionException e) {
+            logger.error("Error while validating candidates.", e);
+        } catch (InterruptedException e) {
+            logger.error("Thread interrupted.", e);
+            Thread.currentThread().interrupt();
+        }
+
+        logger.info("pre-validate {} stale of top {} candidates. deleted: {}", staleCandidates.size(), candidateCount, deletedCount);
+    }
+
+    @Override
+    public void cancel() {
+        rateLimitExecutor.cancel();
+        super.cancel();
+    }
+
+    @Override
+    public void cancelNow() {
+        rateLimitExecutor.cancel();
+        super.cancelNow();
+    }
+
+    private List<CustomStatus> getTopCandidates() {
+        List<CustomStatus> candidates = new ArrayList<>(candidatePool.snapshot().getStatuses());
+        scoreTracker.sortByRank(candidates);
+        return candidates.size() > candidateCount ? candidates.subList(0, candidateCount) : candidates;
+    }
+
+    /**
+     * @return whether the status is deleted, null if it could not be checked
+     */
+    private Boolean validate(CustomStatus customStatus) {
+        try {
+            Status status = twitter.showStatus(customStatus.getStatusId());
+            rateLimitExecutor.update(ApiProcessType.SHOW_STATUS, status.getRateLimitStatus());
+            validationRegistry.recordValid(customStatus.getStatusId());
+            tweetFetcher.refreshCandidate(status);
+            return false;
+        } catch (TwitterException e) {
+            if (e.getErrorCode() == 144) {
+                validationRegistry.recordDeleted(customStatus.getStatusId());
+                tweetFetcher.removeCandidate(customStatus.getStatusId());
+                logger.info("Remove deleted status from candidates. {} - {}", customStatus.getScore(), customStatus.getStatusLink());
+                return true;
+            }
+            logger.error("Error while validating status: {}", customStatus.getStatusLink(), e);
+            return null;
+        }
+    }
+
+    private void loadArguments() {
+        this.preValidationHours = Integer.parseInt(System.getProperty("preValidationHours", "3"));
+        logger.debug("set preValidationHours:{}", preValidationHours);
+        this.preValidationIntervalMinutes = Integer.parseInt(System.getProperty("preValidationIntervalMinutes", "5"));
+        logger.debug("set preValidationIntervalMinutes:{}", preValidationIntervalMinutes);
+    }
+}
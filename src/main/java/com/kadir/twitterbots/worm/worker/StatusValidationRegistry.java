@@ -0,0 +1,60 @@
+package com.kadir.twitterbots.worm.worker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latest known state of candidate statuses, filled by {@link StatusPreValidator} before quote time so that the quote
+ * run only checks statuses whose state is missing or older than the allowed age.
+ *
+ * @author akadir
+ * Date: 19/10/2026
+ * Time: 19:55
+ */
+public class StatusValidationRegistry {
+    public enum State {
+        VALID, DELETED, STALE
+    }
+
+    private final Map<Long, Validation> validations = new ConcurrentHashMap<>();
+    private final long maxAgeMillis;
+
+    public StatusValidationRegistry(long maxAge, TimeUnit unit) {
+        this.maxAgeMillis = unit.toMillis(maxAge);
+    }
+
+    public void recordValid(long statusId) {
+        validations.put(statusId, new Validation(System.currentTimeMillis(), false));
+    }
+
+    public void recordDeleted(long statusId) {
+        validations.put(statusId, new Validation(System.currentTimeMillis(), true));
+    }
+
+    public State getState(long statusId) {
+        Validation validation = validations.get(statusId);
+        if (validation == null || System.currentTimeMillis() - validation.validatedAt > maxAgeMillis) {
+            return State.STALE;
+        }
+        return validation.isDeleted ? State.DELETED : State.VALID;
+    }
+
+    public int size() {
+        return validations.size();
+    }
+
+    public void clear() {
+        validations.clear();
+    }
+
+    private static class Validation {
+        private final long validatedAt;
+        private final boolean isDeleted;
+
+        Validation(long validatedAt, boolean isDeleted) {
+            this.validatedAt = validatedAt;
+            this.isDeleted = isDeleted;
+        }
+    }
+}
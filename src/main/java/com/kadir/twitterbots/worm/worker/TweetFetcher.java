@@ -1,29 +1,41 @@
 package com.kadir.twitterbots.worm.worker;
 
 import com.kadir.twitterbots.authentication.BotAuthenticator;
-import com.kadir.twitterbots.ratelimithandler.handler.RateLimitHandler;
 import com.kadir.twitterbots.ratelimithandler.process.ApiProcessType;
-import com.kadir.twitterbots.worm.dao.StatusDao;
+import com.kadir.twitterbots.worm.dao.StatusRepository;
 import com.kadir.twitterbots.worm.entity.CustomStatus;
 import com.kadir.twitterbots.worm.entity.TaskPriority;
 import com.kadir.twitterbots.worm.exceptions.IllegalLanguageKeyException;
 import com.kadir.twitterbots.worm.filter.InteractionCountFilter;
+import com.kadir.twitterbots.worm.filter.QuoteHistory;
+import com.kadir.twitterbots.worm.filter.RejectReason;
+import com.kadir.twitterbots.worm.metrics.MetricsRegistry;
+import com.kadir.twitterbots.worm.pool.CandidatePool;
+import com.kadir.twitterbots.worm.pool.CandidatePoolStore;
+import com.kadir.twitterbots.worm.score.ScoreTracker;
 import com.kadir.twitterbots.worm.scheduler.BaseScheduledRunnable;
+import com.kadir.twitterbots.worm.scheduler.RateLimitAwareExecutor;
 import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.scheduler.TaskScope;
+import com.kadir.twitterbots.worm.scheduler.WorkerExecutors;
+import com.kadir.twitterbots.worm.search.SearchClient;
+import com.kadir.twitterbots.worm.search.SearchClientType;
+import com.kadir.twitterbots.worm.search.SearchPage;
 import com.kadir.twitterbots.worm.util.DataUtil;
+import com.kadir.twitterbots.worm.util.QuoteDay;
 import com.kadir.twitterbots.worm.util.StatusUtil;
 import com.kadir.twitterbots.worm.util.WormConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import twitter4j.*;
 
-import java.text.SimpleDateFormat;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author akadir
@@ -33,86 +45,193 @@ import java.util.stream.Collectors;
 public class TweetFetcher extends BaseScheduledRunnable {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
-    private final Map<Long, CustomStatus> fetchedStatusMap = new HashMap<>();
-    private boolean isCancelled = false;
+    private final CandidatePool candidatePool = CandidatePoolStore.fromSystemProperties();
+    private final ScoreTracker scoreTracker = new ScoreTracker();
+    private final RateLimitAwareExecutor rateLimitExecutor;
+    private final AtomicBoolean isFetching = new AtomicBoolean(false);
+    private volatile boolean isCancelled = false;
+    private volatile boolean isPaused = false;
+    private final AtomicInteger activeCursorCount = new AtomicInteger();
+    private final AtomicInteger cyclePageCount = new AtomicInteger();
+    private final AtomicInteger cycleTweetCount = new AtomicInteger();
+    private final Object statusLock = new Object();
+    private final Queue<Long> deletedCheckQueue = new ConcurrentLinkedQueue<>();
+    private final Set<Long> deletedCheckIds = ConcurrentHashMap.newKeySet();
+    private SearchQueryPlanner queryPlanner;
 
     private String languageKey;
     private int statusLimitToKeep;
-    private Twitter twitter;
+    private final Twitter twitter;
+    private final SearchClient searchClient;
     private final TweetFilter tweetFilter;
-    private final StatusDao statusDao;
+    private final StatusRepository statusRepository;
+    private final QuoteHistory quoteHistory;
+    private final DatabaseWorker databaseWorker;
     private static final int INITIAL_DELAY = 0;
     private static final int DELAY = 1;
 
-    public TweetFetcher() {
+    public TweetFetcher(Twitter twitter, TweetFilter tweetFilter, StatusRepository statusRepository) {
         super(TaskPriority.LOW);
         loadArguments();
-        authenticate();
-
-        tweetFilter = new TweetFilter();
-        tweetFilter.initForFetch(twitter);
-
-        DatabaseWorker databaseWorker = new DatabaseWorker(this);
-        databaseWorker.schedule();
-
-        statusDao = new StatusDao();
+        this.twitter = twitter;
+        this.searchClient = SearchClientType.fromSystemProperties(twitter);
+        this.tweetFilter = tweetFilter;
+        rateLimitExecutor = new RateLimitAwareExecutor("TweetFetcherContinuation", TaskPriority.LOW, twitter);
+        queryPlanner = new SearchQueryPlanner(languageKey);
+
+        this.statusRepository = statusRepository;
+        quoteHistory = new QuoteHistory(statusRepository);
+        databaseWorker = new DatabaseWorker(this, statusRepository);
+
+        if (candidatePool.size() > 0) {
+            logger.info("restore statuses from candidate pool journal: {}", candidatePool.size());
+        }
         addTodaysStatusesIntoMap();
-        executorService = Executors.newScheduledThreadPool(1);
+        registerMetrics();
     }
 
     public void schedule() {
-        scheduledFuture = executorService.scheduleWithFixedDelay(this, INITIAL_DELAY, DELAY, TimeUnit.MINUTES);
+        tweetFilter.scheduleTasksForRunnableFilters();
+        databaseWorker.schedule();
+        scheduledTask = TaskScheduler.scheduleWithFixedDelay(this, INITIAL_DELAY, DELAY, TimeUnit.MINUTES);
         logger.info("add scheduler to run with fixed delay. initial delay:{} delay:{}", INITIAL_DELAY, DELAY);
-        TaskScheduler.addScheduledTask(this);
     }
 
     public void run() {
-        try {
-            fetchTweets();
-        } catch (TwitterException e) {
-            logger.error("Error while fetching tweets.", e);
-        } catch (Exception e) {
-            logger.error("An error occured!", e);
+        if (isPaused) {
+            logger.debug("fetching is paused until new quote day starts.");
+        } else if (isFetching.compareAndSet(false, true)) {
+            cyclePageCount.set(0);
+            cycleTweetCount.set(0);
+            List<Query> queries = queryPlanner.plan();
+            activeCursorCount.set(queries.size());
+            for (int i = 1; i < queries.size(); i++) {
+                Query query = queries.get(i);
+                rateLimitExecutor.execute(ApiProcessType.SEARCH, () -> fetchTweets(query, true));
+            }
+            fetchTweets(queries.get(0), true);
+        } else {
+            logger.debug("previous fetch waits for search rate limit reset.");
         }
     }
 
+    /**
+     * Stops fetching until {@link #startNewDay()} and saves fetched statuses, so quote run sees all of them.
+     */
+    public void pause() {
+        isPaused = true;
+        databaseWorker.saveStatusesToDatabase();
+        logger.info("pause fetching for quote day {}", QuoteDay.today());
+    }
+
+    /**
+     * @return true from the quote run until the pool of the new quote day is loaded, the pool holds statuses of the
+     * previous quote day meanwhile
+     */
+    public boolean isPaused() {
+        return isPaused;
+    }
+
+    /**
+     * Starts collecting statuses of the new quote day from an empty pool with warm filters and resumes fetching.
+     */
+    public void startNewDay() {
+        candidatePool.clear();
+        scoreTracker.clear();
+        quoteHistory.load();
+        tweetFilter.startNewDay();
+        addTodaysStatusesIntoMap();
+        isPaused = false;
+        logger.info("resume fetching for quote day {}", QuoteDay.today());
+    }
+
     @Override
     public void cancel() {
         isCancelled = true;
+        rateLimitExecutor.cancel();
         super.cancel();
     }
 
-    private void authenticate() {
-        twitter = BotAuthenticator.authenticate(WormConstants.AUTH_PROPERTIES_FILE_NAME, WormConstants.FETCH_API_KEYS_PREFIX);
+    @Override
+    public void cancelNow() {
+        isCancelled = true;
+        rateLimitExecutor.cancel();
+        super.cancelNow();
     }
 
-    private void fetchTweets() throws TwitterException {
-        List<Status> statuses;
-        Query query = new Query("lang:" + languageKey);
-        query.setCount(100);
-        query.setResultType(Query.RECENT);
-        query.since(simpleDateFormat.format(new Date()));
+    public static Twitter authenticate() {
+        return BotAuthenticator.authenticate(WormConstants.AUTH_PROPERTIES_FILE_NAME, WormConstants.FETCH_API_KEYS_PREFIX);
+    }
+
+    /**
+     * Fetches pages of the cursor while search budget lasts. When it is exhausted the remaining pages are continued at
+     * the reset time and periodic runs are skipped until every cursor of the cycle is done. A splittable cursor that
+     * pages too long continues as parallel cursors planned by {@link SearchQueryPlanner#split(Query)}.
+     */
+    private void fetchTweets(Query query, boolean isSplittable) {
+        int pageCount = 0;
+        try {
+            while (query != null && !isCancelled && !isPaused) {
+                if (!rateLimitExecutor.tryAcquire(ApiProcessType.SEARCH)) {
+                    Query nextQuery = query;
+                    rateLimitExecutor.execute(ApiProcessType.SEARCH, () -> fetchTweets(nextQuery, isSplittable));
+                    return;
+                }
 
-        do {
-            QueryResult result = twitter.search(query);
-            statuses = result.getTweets();
-            logger.info("Fetch {} statuses. Completed in: {}", statuses.size(), result.getCompletedIn());
+                try (SearchPage page = searchClient.search(query)) {
+                    rateLimitExecutor.update(ApiProcessType.SEARCH, page.getRateLimitStatus());
+                    List<Status> statuses = page.getStatuses();
+                    logger.info("Fetch {} statuses. Completed in: {}", statuses.size(), page.getCompletedIn());
+                    pageCount++;
+                    cyclePageCount.incrementAndGet();
+                    cycleTweetCount.addAndGet(statuses.size());
+                    MetricsRegistry.increment("worm_fetch_pages_total", 1);
+                    MetricsRegistry.increment("worm_fetch_tweets_total", statuses.size());
+                    MetricsRegistry.set("worm_search_completed_in_seconds", page.getCompletedIn());
+
+                    synchronized (statusLock) {
+                        for (Status status : statuses) {
+                            checkStatus(status);
+                        }
+                    }
+                    checkDeletedStatuses();
 
-            for (Status status : statuses) {
-                checkStatus(status);
+                    query = page.nextQuery();
+                }
+                if (query != null && isSplittable && queryPlanner.shouldSplit(pageCount)) {
+                    splitCursor(query);
+                    query = null;
+                }
             }
+        } catch (TwitterException e) {
+            logger.error("Error while fetching tweets.", e);
+        } catch (Exception e) {
+            logger.error("An error occured!", e);
+        }
+        finishCursor();
+    }
+
+    private void splitCursor(Query nextQuery) {
+        List<Query> queries = queryPlanner.split(nextQuery);
+        activeCursorCount.addAndGet(queries.size());
+        for (Query query : queries) {
+            rateLimitExecutor.execute(ApiProcessType.SEARCH, () -> fetchTweets(query, false));
+        }
+    }
 
-            query = result.nextQuery();
-            RateLimitHandler.handle(twitter.getId(), result.getRateLimitStatus(), ApiProcessType.SEARCH);
-        } while (query != null && !isCancelled);
+    private void finishCursor() {
+        if (activeCursorCount.decrementAndGet() <= 0) {
+            MetricsRegistry.set("worm_fetch_cycle_pages", cyclePageCount.get());
+            MetricsRegistry.set("worm_fetch_cycle_tweets", cycleTweetCount.get());
+            isFetching.set(false);
+        }
     }
 
-    private void checkStatus(Status status) {
+    void checkStatus(Status status) {
         if (status.isRetweet()) {
             status = status.getRetweetedStatus();
 
-            if (tweetFilter.canStatusBeUsed(status)) {
+            if (!isQuotedBefore(status) && tweetFilter.canStatusBeUsed(status)) {
                 addStatus(status);
             }
         }
@@ -120,17 +239,28 @@ public class TweetFetcher extends BaseScheduledRunnable {
         if (status.getQuotedStatus() != null) {
             status = status.getQuotedStatus();
 
-            if (tweetFilter.canStatusBeUsed(status)) {
+            if (!isQuotedBefore(status) && tweetFilter.canStatusBeUsed(status)) {
                 addStatus(status);
             }
         }
     }
 
-    private void addStatus(Status newFetchedStatus) {
-        CustomStatus customStatus = fetchedStatusMap.get(newFetchedStatus.getId());
+    /**
+     * Checked before the filters, a status quoted before would pass them again.
+     */
+    private boolean isQuotedBefore(Status status) {
+        if (quoteHistory.isQuoted(status)) {
+            RejectReason.QUOTED.countReject();
+            return true;
+        }
+        return false;
+    }
+
+    void addStatus(Status newFetchedStatus) {
+        CustomStatus customStatus = candidatePool.get(newFetchedStatus.getId());
         if (customStatus != null) {
             if (customStatus.getScore() != StatusUtil.calculateInteractionCount(newFetchedStatus)) {
-                customStatus.setScore(StatusUtil.calculateInteractionCount(newFetchedStatus));
+                customStatus = candidatePool.updateScore(customStatus.getStatusId(), StatusUtil.calculateInteractionCount(newFetchedStatus));
                 logger.info("Update status score in map. {} - {}", customStatus.getScore(), customStatus.getStatusLink());
             }
         } else {
@@ -141,40 +271,70 @@ public class TweetFetcher extends BaseScheduledRunnable {
                 }
             } else {
                 customStatus = new CustomStatus(newFetchedStatus);
-                fetchedStatusMap.put(newFetchedStatus.getId(), new CustomStatus(newFetchedStatus));
+                candidatePool.put(customStatus);
                 logger.info("Save status into map. {} - {}", customStatus.getScore(), customStatus.getStatusLink());
             }
         }
 
-        if (fetchedStatusMap.size() > statusLimitToKeep) {
+        if (candidatePool.get(newFetchedStatus.getId()) != null) {
+            scoreTracker.record(newFetchedStatus);
+        }
+
+        if (candidatePool.size() > statusLimitToKeep) {
             removeStatusesWithLowestInteractionFromMap();
         }
     }
 
+    /**
+     * Applies a validation made outside of the fetch under the lock of fetched statuses, so it does not interleave with
+     * {@link #addStatus(Status)}. A candidate removed in the meantime is not recorded again. The candidate counts as
+     * fetched again, so it is not checked for deletion before another CHECK_DELETED_STATUSES_PERIOD.
+     */
+    void refreshCandidate(Status status) {
+        synchronized (statusLock) {
+            CustomStatus customStatus = candidatePool.get(status.getId());
+            if (customStatus == null) {
+                return;
+            }
+            scoreTracker.record(status);
+            CustomStatus refreshedStatus = new CustomStatus(customStatus);
+            refreshedStatus.setScore(StatusUtil.calculateInteractionCount(status));
+            refreshedStatus.setFetchedAtMillis(System.currentTimeMillis());
+            candidatePool.put(refreshedStatus);
+        }
+    }
+
+    void removeCandidate(long statusId) {
+        synchronized (statusLock) {
+            candidatePool.remove(statusId);
+            scoreTracker.remove(statusId);
+        }
+    }
+
     private void replaceUserStatusByStatusScore(CustomStatus alreadyMappedStatus, Status status) {
         CustomStatus newFetchedStatus = new CustomStatus(status);
-        fetchedStatusMap.remove(alreadyMappedStatus.getStatusId());
-        fetchedStatusMap.put(status.getId(), newFetchedStatus);
+        candidatePool.remove(alreadyMappedStatus.getStatusId());
+        scoreTracker.remove(alreadyMappedStatus.getStatusId());
+        candidatePool.put(newFetchedStatus);
         logger.info("Replace user status. {} - {}", newFetchedStatus.getScore(), newFetchedStatus.getStatusLink());
     }
 
     private CustomStatus getAnotherStatusOfUserIfExist(Status status) {
-        List<CustomStatus> userStatusList = fetchedStatusMap.values().stream()
-                .filter(value -> value.getUserId() == status.getUser().getId())
-                .collect(Collectors.toList());
-
-        return !userStatusList.isEmpty() ? userStatusList.get(0) : null;
+        return candidatePool.findByUserId(status.getUser().getId());
     }
 
+    /**
+     * Runs on every admission once the pool is full, so the pool is scanned in place instead of being copied into a
+     * snapshot and sorted.
+     */
     private void removeStatusesWithLowestInteractionFromMap() {
-        List<CustomStatus> customStatusList = new ArrayList<>(fetchedStatusMap.values());
+        queueDeletedChecks();
 
-        removeDeletedStatuses(customStatusList);
-
-        if (fetchedStatusMap.size() > statusLimitToKeep) {
-            customStatusList.sort(Comparator.comparing(CustomStatus::getScore).reversed());
-            for (int i = statusLimitToKeep; i < customStatusList.size(); i++) {
-                CustomStatus customStatus = fetchedStatusMap.remove(customStatusList.get(i).getStatusId());
+        int excessCount = candidatePool.size() - statusLimitToKeep;
+        if (excessCount > 0) {
+            for (long statusId : scoreTracker.findLowestRanked(candidatePool, excessCount)) {
+                CustomStatus customStatus = candidatePool.remove(statusId);
+                scoreTracker.remove(statusId);
                 if (customStatus != null) {
                     logger.info("Remove status from map: {} - {}", customStatus.getScore(), customStatus.getStatusLink());
                 }
@@ -185,53 +345,110 @@ public class TweetFetcher extends BaseScheduledRunnable {
     }
 
     private void setMinInteractionCount() {
-        int tempMinScore = -1;
-        for (CustomStatus status : fetchedStatusMap.values()) {
-            if (tempMinScore == -1 || status.getScore() < tempMinScore) {
-                tempMinScore = status.getScore();
+        int[] tempMinScore = {-1};
+        candidatePool.forEachCandidate((statusId, score, creationEpochDay, fetchedAtMillis) -> {
+            if (tempMinScore[0] == -1 || score < tempMinScore[0]) {
+                tempMinScore[0] = score;
             }
-        }
-        InteractionCountFilter.setMinInteractionCount(tempMinScore);
+        });
+        InteractionCountFilter.setMinInteractionCount(tempMinScore[0]);
         logger.info("Set minInteractionCount:{}", InteractionCountFilter.getMinInteractionCount());
     }
 
-    private void removeDeletedStatuses(List<CustomStatus> customStatusList) {
-        Iterator<CustomStatus> iterator = customStatusList.iterator();
-        LocalDateTime now = LocalDateTime.now();
-
-        while (iterator.hasNext()) {
-            CustomStatus customStatus = iterator.next();
-            if (ChronoUnit.MINUTES.between(customStatus.getFetchedAt(), now) > WormConstants.CHECK_DELETED_STATUSES_PERIOD) {
-                try {
-                    Status s = twitter.showStatus(customStatus.getStatusId());
-                    customStatus = new CustomStatus(s);
-                    fetchedStatusMap.put(customStatus.getStatusId(), customStatus);
-                    RateLimitHandler.handle(twitter.getId(), s.getRateLimitStatus(), ApiProcessType.SHOW_STATUS);
-                } catch (TwitterException e) {
-                    if (e.getErrorCode() == 144) {
-                        fetchedStatusMap.remove(customStatus.getStatusId());
-                        iterator.remove();
-                    }
-                    logger.error("Error occured while getting status information from status.", e);
+    /**
+     * Queues candidates fetched more than CHECK_DELETED_STATUSES_PERIOD minutes ago for {@link #checkDeletedStatuses()}.
+     * Runs under the lock of fetched statuses, so it only scans the pool and makes no api calls.
+     */
+    private void queueDeletedChecks() {
+        long checkBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(WormConstants.CHECK_DELETED_STATUSES_PERIOD);
+        candidatePool.forEachCandidate((statusId, score, creationEpochDay, fetchedAtMillis) -> {
+            if (fetchedAtMillis < checkBefore && deletedCheckIds.add(statusId)) {
+                deletedCheckQueue.add(statusId);
+            }
+        });
+    }
+
+    /**
+     * Looks up queued candidates outside the lock of fetched statuses, so other cursors keep adding statuses while the
+     * lookups run. Results are applied through {@link #refreshCandidate(Status)} and {@link #removeCandidate(long)}.
+     * Candidates left without budget are dropped from the queue and queued again by a later admission.
+     */
+    private void checkDeletedStatuses() {
+        List<Long> checkedStatusIds = new ArrayList<>();
+        try (TaskScope<StatusLookup> scope = new TaskScope<>(WorkerExecutors.ioExecutor())) {
+            Long statusId;
+            while ((statusId = deletedCheckQueue.poll()) != null) {
+                checkedStatusIds.add(statusId);
+                CustomStatus customStatus = candidatePool.get(statusId);
+                if (customStatus != null && rateLimitExecutor.tryAcquire(ApiProcessType.SHOW_STATUS)) {
+                    scope.fork(() -> lookUpStatus(customStatus));
                 }
             }
+
+            for (StatusLookup lookup : scope.join()) {
+                if (lookup.isDeleted()) {
+                    removeCandidate(lookup.getCustomStatus().getStatusId());
+                    logger.info("Remove deleted status from map. {} - {}", lookup.getCustomStatus().getScore(), lookup.getCustomStatus().getStatusLink());
+                } else if (lookup.getStatus() != null) {
+                    refreshCandidate(lookup.getStatus());
+                }
+            }
+        } catch (ExecutionException e) {
+            logger.error("Error occured while checking deleted statuses.", e);
+        } catch (InterruptedException e) {
+            logger.error("Thread interrupted.", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            deletedCheckIds.removeAll(checkedStatusIds);
         }
     }
 
-    private void addTodaysStatusesIntoMap() {
-        List<CustomStatus> todaysStatuses = statusDao.getTodaysStatuses();
-
-        for (CustomStatus customStatus : todaysStatuses) {
-            fetchedStatusMap.put(customStatus.getStatusId(), customStatus);
-            logger.debug("Load status from database. {} - {}", customStatus.getScore(), customStatus.getStatusLink());
+    private StatusLookup lookUpStatus(CustomStatus customStatus) {
+        try {
+            Status s = twitter.showStatus(customStatus.getStatusId());
+            rateLimitExecutor.update(ApiProcessType.SHOW_STATUS, s.getRateLimitStatus());
+            return new StatusLookup(customStatus, s, false);
+        } catch (TwitterException e) {
+            logger.error("Error occured while getting status information from status.", e);
+            return new StatusLookup(customStatus, null, e.getErrorCode() == 144);
         }
+    }
+
+    /**
+     * Statuses restored from the candidate pool journal are newer than their rows, they are kept and only statuses of
+     * other users are added, so database rows the journal does not cover are not deleted by the next save.
+     */
+    private void addTodaysStatusesIntoMap() {
+        statusRepository.forEachTodaysStatus(customStatus -> {
+            if (candidatePool.findByUserId(customStatus.getUserId()) == null) {
+                candidatePool.put(customStatus);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Load status from database. {} - {}", customStatus.getScore(), customStatus.getStatusLink());
+                }
+            }
+        });
 
-        if (fetchedStatusMap.size() > 0) {
-            logger.info("load status from database: {}", fetchedStatusMap.size());
+        if (candidatePool.size() > 0) {
+            logger.info("load status from database: {}", candidatePool.size());
             setMinInteractionCount();
         }
     }
 
+    private void registerMetrics() {
+        MetricsRegistry.describe("worm_fetch_pages_total", "search result pages fetched");
+        MetricsRegistry.describe("worm_fetch_tweets_total", "statuses in fetched search result pages");
+        MetricsRegistry.describe("worm_search_completed_in_seconds", "completed_in of the last search result page");
+        MetricsRegistry.describe("worm_fetch_cycle_pages", "pages fetched by the last completed fetch cycle");
+        MetricsRegistry.describe("worm_fetch_cycle_tweets", "statuses fetched by the last completed fetch cycle");
+        MetricsRegistry.register(sink -> {
+            sink.gauge("worm_candidate_pool_size", "statuses in the candidate pool", candidatePool.size());
+            sink.gauge("worm_candidate_pool_limit", "statuses kept in the candidate pool", statusLimitToKeep);
+            sink.gauge("worm_quote_history_size", "statuses quoted within quoteHistoryDays", quoteHistory.size());
+            sink.gauge("worm_candidate_min_interaction_count", "interaction count a status needs to be admitted into the pool",
+                    InteractionCountFilter.getMinInteractionCount());
+        });
+    }
+
     private void loadArguments() {
         this.languageKey = System.getProperty("languageKey");
         this.statusLimitToKeep = Integer.parseInt(System.getProperty("statusLimitToKeep", "30"));
@@ -242,7 +459,39 @@ public class TweetFetcher extends BaseScheduledRunnable {
         }
     }
 
-    public Map<Long, CustomStatus> getFetchedStatusMap() {
-        return fetchedStatusMap;
+    public CandidatePool getCandidatePool() {
+        return candidatePool;
+    }
+
+    public ScoreTracker getScoreTracker() {
+        return scoreTracker;
+    }
+
+    public QuoteHistory getQuoteHistory() {
+        return quoteHistory;
+    }
+
+    private static class StatusLookup {
+        private final CustomStatus customStatus;
+        private final Status status;
+        private final boolean isDeleted;
+
+        StatusLookup(CustomStatus customStatus, Status status, boolean isDeleted) {
+            this.customStatus = customStatus;
+            this.status = status;
+            this.isDeleted = isDeleted;
+        }
+
+        CustomStatus getCustomStatus() {
+            return customStatus;
+        }
+
+        Status getStatus() {
+            return status;
+        }
+
+        boolean isDeleted() {
+            return isDeleted;
+        }
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.kadir.twitterbots.worm.worker;
 
+import com.kadir.twitterbots.worm.dao.Repositories;
 import com.kadir.twitterbots.worm.filter.ContentBasedFilter;
 import com.kadir.twitterbots.worm.filter.DateFilter;
 import com.kadir.twitterbots.worm.filter.InteractionCountFilter;
+import com.kadir.twitterbots.worm.filter.RejectReason;
 import com.kadir.twitterbots.worm.filter.StatusFilter;
 import com.kadir.twitterbots.worm.filter.UserBasedFilter;
+import com.kadir.twitterbots.worm.metrics.MetricsRegistry;
 import com.kadir.twitterbots.worm.scheduler.ScheduledRunnable;
 import twitter4j.Status;
 import twitter4j.Twitter;
@@ -18,32 +21,37 @@ import java.util.List;
  * Time: 15:15
  */
 public class TweetFilter {
+    private static final MetricsRegistry.Counter passes = MetricsRegistry.counter("worm_filter_passes_total");
+
     private List<StatusFilter> filters;
 
-    public void initForFetch(Twitter twitter) {
-        createFetchFilters(twitter);
-        scheduleTasksForRunnableFilters();
+    public void initForFetch(Twitter twitter, Repositories repositories) {
+        initForFetch(new ContentBasedFilter(repositories.getIgnoredKeywordRepository()), new UserBasedFilter(twitter, repositories.getIgnoredUserRepository()));
+    }
+
+    public void initForFetch(ContentBasedFilter contentBasedFilter, UserBasedFilter userBasedFilter) {
+        createFetchFilters(contentBasedFilter, userBasedFilter);
     }
 
-    public void initForQuote(Twitter twitter) {
-        createQuoteFilters(twitter);
+    public void initForQuote(Twitter twitter, Repositories repositories) {
+        createQuoteFilters(twitter, repositories);
     }
 
-    private void createQuoteFilters(Twitter twitter) {
+    private void createQuoteFilters(Twitter twitter, Repositories repositories) {
         filters = new ArrayList<>();
-        filters.add(new ContentBasedFilter());
-        filters.add(new UserBasedFilter(twitter));
+        filters.add(new ContentBasedFilter(repositories.getIgnoredKeywordRepository()));
+        filters.add(new UserBasedFilter(twitter, repositories.getIgnoredUserRepository()));
     }
 
-    private void createFetchFilters(Twitter twitter) {
+    private void createFetchFilters(ContentBasedFilter contentBasedFilter, UserBasedFilter userBasedFilter) {
         filters = new ArrayList<>();
-        filters.add(new ContentBasedFilter());
+        filters.add(contentBasedFilter);
         filters.add(new DateFilter());
         filters.add(new InteractionCountFilter());
-        filters.add(new UserBasedFilter(twitter));
+        filters.add(userBasedFilter);
     }
 
-    private void scheduleTasksForRunnableFilters() {
+    public void scheduleTasksForRunnableFilters() {
         for (StatusFilter s : filters) {
             if (s instanceof ScheduledRunnable) {
                 ((ScheduledRunnable) s).schedule();
@@ -51,12 +59,21 @@ public class TweetFilter {
         }
     }
 
+    public void startNewDay() {
+        for (StatusFilter filter : filters) {
+            filter.startNewDay();
+        }
+    }
+
     public boolean canStatusBeUsed(Status status) {
         for (StatusFilter filter : filters) {
-            if (!filter.passed(status)) {
+            RejectReason rejectReason = filter.reject(status);
+            if (rejectReason != null) {
+                rejectReason.countReject();
                 return false;
             }
         }
+        passes.increment(1);
         return true;
     }
 }
@@ -1,28 +1,39 @@
 package com.kadir.twitterbots.worm.worker;
 
 import com.kadir.twitterbots.authentication.BotAuthenticator;
-import com.kadir.twitterbots.ratelimithandler.handler.RateLimitHandler;
 import com.kadir.twitterbots.ratelimithandler.process.ApiProcessType;
-import com.kadir.twitterbots.worm.dao.StatusDao;
+import com.kadir.twitterbots.worm.dao.QuoteJournalRepository;
+import com.kadir.twitterbots.worm.dao.StatusRepository;
 import com.kadir.twitterbots.worm.entity.CustomStatus;
+import com.kadir.twitterbots.worm.entity.QuoteJournalEntry;
+import com.kadir.twitterbots.worm.entity.QuoteState;
 import com.kadir.twitterbots.worm.entity.TaskPriority;
+import com.kadir.twitterbots.worm.scheduler.ApiBudgetPlanner;
 import com.kadir.twitterbots.worm.scheduler.BaseScheduledRunnable;
+import com.kadir.twitterbots.worm.scheduler.RateLimitAwareExecutor;
 import com.kadir.twitterbots.worm.scheduler.TaskScheduler;
+import com.kadir.twitterbots.worm.scheduler.TaskScope;
+import com.kadir.twitterbots.worm.scheduler.WorkerExecutors;
+import com.kadir.twitterbots.worm.util.QuoteDay;
 import com.kadir.twitterbots.worm.util.WormConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import twitter4j.Paging;
 import twitter4j.Status;
 import twitter4j.StatusUpdate;
 import twitter4j.Twitter;
 import twitter4j.TwitterException;
+import twitter4j.URLEntity;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -33,126 +44,376 @@ import java.util.concurrent.TimeUnit;
 public class TweetQuoter extends BaseScheduledRunnable {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private Twitter twitter;
-    private StatusDao statusDao;
+    private final TweetFetcher tweetFetcher;
+    private final StatusRepository statusRepository;
+    private final QuoteJournalRepository quoteJournalRepository;
+    private final Twitter twitter;
     private int quoteLimit;
     private int quoteHour;
     private int quoteMinute;
+    private int statusLimitToKeep;
+    private int apiReserveLeadMinutes;
     private static final int QUOTE_RETRY_COUNT = 5;
+    private static final long QUOTE_INTERVAL_SECONDS = 50;
+    private static final long QUOTE_RETRY_BASE_MILLIS = 5 * 1000L;
+    private static final long QUOTE_RETRY_MAX_MILLIS = 5 * 60 * 1000L;
+    private static final int POSTED_STATUS_LOOKUP_COUNT = 50;
+    private final RateLimitAwareExecutor rateLimitExecutor;
+    private final StatusValidationRegistry validationRegistry;
+    private final StatusPreValidator statusPreValidator;
+    private volatile LocalDate unjournaledRunId;
 
-    public TweetQuoter() {
+    public TweetQuoter(TweetFetcher tweetFetcher, Twitter twitter, StatusRepository statusRepository, QuoteJournalRepository quoteJournalRepository) {
         super(TaskPriority.VERY_HIGH);
-        executorService = Executors.newScheduledThreadPool(1);
+        this.tweetFetcher = tweetFetcher;
+        this.twitter = twitter;
+        this.statusRepository = statusRepository;
+        this.quoteJournalRepository = quoteJournalRepository;
         loadArguments();
+        rateLimitExecutor = new RateLimitAwareExecutor("TweetQuoterContinuation", TaskPriority.VERY_HIGH, twitter);
+        validationRegistry = new StatusValidationRegistry(Long.parseLong(System.getProperty("preValidationMaxAgeMinutes", "30")), TimeUnit.MINUTES);
+        statusPreValidator = new StatusPreValidator(tweetFetcher, twitter, validationRegistry, quoteLimit);
     }
 
     public void schedule() {
-        Long quoteTime = LocalDateTime.now().until(LocalDate.now().atTime(quoteHour, quoteMinute, 0), ChronoUnit.SECONDS);
-        scheduledFuture = executorService.scheduleAtFixedRate(this, quoteTime, 1440, TimeUnit.SECONDS);
+        long quoteTime = LocalDateTime.now().until(QuoteDay.getNextQuoteTime(), ChronoUnit.SECONDS);
+        scheduledTask = TaskScheduler.scheduleAtFixedRate(this, quoteTime, TimeUnit.DAYS.toSeconds(1), TimeUnit.SECONDS);
+        reserveApiBudget();
+        statusPreValidator.schedule();
         logger.info("schedule {} to run at {}:{}", this.getClass().getSimpleName(), quoteHour, String.format("%02d", quoteMinute));
-        TaskScheduler.addScheduledTask(this);
+        resumeUnfinishedRun();
     }
 
     @Override
     public void run() {
-        TaskScheduler.shutdownLowerPriorityTasks(this);
-        statusDao = new StatusDao();
-        authenticate();
-        List<CustomStatus> popularStatuses = loadPopularTweetsFromDatabase();
-        quoteTweets(popularStatuses);
-        TaskScheduler.shutdownAllTasks();
+        tweetFetcher.pause();
+        ApiBudgetPlanner.logStatistics();
+        LocalDate runId = QuoteDay.today();
+        List<QuoteJournalEntry> entries = quoteJournalRepository.getRun(runId);
+        if (entries.isEmpty()) {
+            entries = createRun(runId, loadPopularTweetsFromDatabase());
+        } else {
+            logger.info("quote run {} is in journal already. continue from where it was left.", runId);
+        }
+        quoteNext(runId, entries);
+    }
+
+    @Override
+    public void cancel() {
+        statusPreValidator.cancel();
+        rateLimitExecutor.cancel();
+        super.cancel();
+    }
+
+    @Override
+    public void cancelNow() {
+        statusPreValidator.cancelNow();
+        rateLimitExecutor.cancel();
+        super.cancelNow();
     }
 
+    /**
+     * Walks statuses in score order until quote limit is filled. Statuses validated recently by
+     * {@link StatusPreValidator} are taken as they are, only stale ones are checked, a batch at a time.
+     */
     private List<CustomStatus> loadPopularTweetsFromDatabase() {
-        logger.info("check statuses if any of them deleted");
-        List<CustomStatus> savedStatuses = statusDao.getTodaysStatuses();
-
-        Iterator<CustomStatus> iterator = savedStatuses.iterator();
-        int i = 1;
-        while (iterator.hasNext()) {
-            CustomStatus customStatus = iterator.next();
-            Status s = showStatus(customStatus.getStatusId(), i % 10 == 0);
-            if (s == null) {
-                iterator.remove();
+        logger.info("check and load popular status' from database to quote.");
+        List<CustomStatus> savedStatuses = statusRepository.getTodaysStatuses();
+        tweetFetcher.getScoreTracker().sortByRank(savedStatuses);
+
+        List<CustomStatus> popularStatuses = new ArrayList<>(quoteLimit);
+        int checkedCount = 0;
+        int index = 0;
+        while (popularStatuses.size() < quoteLimit && index < savedStatuses.size()) {
+            List<CustomStatus> batch = new ArrayList<>();
+            while (popularStatuses.size() + batch.size() < quoteLimit && index < savedStatuses.size()) {
+                CustomStatus customStatus = savedStatuses.get(index++);
+                if (validationRegistry.getState(customStatus.getStatusId()) != StatusValidationRegistry.State.DELETED) {
+                    batch.add(customStatus);
+                }
             }
-            i++;
-        }
 
-        savedStatuses.sort(Comparator.comparing(CustomStatus::getScore).reversed());
+            try (TaskScope<CustomStatus> scope = new TaskScope<>(WorkerExecutors.ioExecutor())) {
+                for (CustomStatus customStatus : batch) {
+                    if (validationRegistry.getState(customStatus.getStatusId()) == StatusValidationRegistry.State.VALID) {
+                        scope.fork(() -> customStatus);
+                    } else if (rateLimitExecutor.tryAcquire(ApiProcessType.SHOW_STATUS)) {
+                        checkedCount++;
+                        scope.fork(() -> checkStatus(customStatus));
+                    } else {
+                        logger.warn("show status budget exhausted. status is not checked: {}", customStatus.getStatusLink());
+                        scope.fork(() -> customStatus);
+                    }
+                }
 
-        logger.info("check and load popular status' from database to quote.");
-        return savedStatuses;
+                for (CustomStatus customStatus : scope.join()) {
+                    if (customStatus != null) {
+                        popularStatuses.add(customStatus);
+                    }
+                }
+            } catch (ExecutionException e) {
+                logger.error("Error while checking statuses.", e);
+                popularStatuses.addAll(batch.subList(0, Math.min(batch.size(), quoteLimit - popularStatuses.size())));
+            } catch (InterruptedException e) {
+                logger.error("Thread interrupted!", e);
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        logger.info("load {} popular statuses. checked {} stale statuses at quote time.", popularStatuses.size(), checkedCount);
+        return popularStatuses;
     }
 
-    private Status showStatus(Long id, boolean handleRateLimit) {
-        Status status = null;
+    private CustomStatus checkStatus(CustomStatus customStatus) {
         try {
-            status = twitter.showStatus(id);
-            if (handleRateLimit) {
-                RateLimitHandler.handle(twitter.getId(), status.getRateLimitStatus(), ApiProcessType.SHOW_STATUS);
-            }
+            Status status = twitter.showStatus(customStatus.getStatusId());
+            rateLimitExecutor.update(ApiProcessType.SHOW_STATUS, status.getRateLimitStatus());
+            validationRegistry.recordValid(customStatus.getStatusId());
+            return customStatus;
         } catch (TwitterException e) {
             if (e.getErrorCode() == 144) {
-                logger.error("Status could not be found. Status id: {}", id);
-            } else {
-                logger.error("Error while getting status details. {}", e);
+                logger.error("Status could not be found. Status id: {}", customStatus.getStatusId());
+                validationRegistry.recordDeleted(customStatus.getStatusId());
+                return null;
             }
+            logger.error("Error while getting status details. {}", e);
+            return customStatus;
         }
-        return status;
     }
 
-    private void authenticate() {
-        twitter = BotAuthenticator.authenticate(WormConstants.AUTH_PROPERTIES_FILE_NAME, WormConstants.QUOTE_API_KEYS_PREFIX);
+    /**
+     * Moves on to the next quote day in the same process: the candidate pool is reset, day scoped filter sets are
+     * reloaded and fetching resumes.
+     */
+    private void rollOver() {
+        LocalDate quoteDay = QuoteDay.rollOver();
+        validationRegistry.clear();
+        tweetFetcher.startNewDay();
+        TaskScheduler.logStatistics();
+        logger.info("roll over to quote day {}. next quote run at {}", quoteDay, QuoteDay.getNextQuoteTime());
     }
 
-    private void quoteTweets(List<CustomStatus> mostPopularTweets) {
+    /**
+     * Keeps the calls quote run needs to check statuses and post them from being spent by low priority tasks sharing
+     * the account, from a while before quote time until all statuses are posted.
+     * <p>
+     * Only the quote account is reserved, since the run makes all of its calls with it. The fetch account is left out:
+     * the fetcher is paused during the run, and its SHOW_USER and SHOW_STATUS calls, made by the ignored user sweep
+     * and deleted checks, are never made on behalf of the run. If both accounts are the same account they share one
+     * budget, so SHOW_STATUS calls of the fetcher are held back by the reservation as well.
+     */
+    private void reserveApiBudget() {
+        LocalTime quoteTime = LocalTime.of(quoteHour, quoteMinute);
+        Duration lead = Duration.ofMinutes(apiReserveLeadMinutes);
+        Duration hold = Duration.ofSeconds(quoteLimit * QUOTE_INTERVAL_SECONDS).plus(lead);
+        ApiBudgetPlanner.reserve(rateLimitExecutor.getAccountId(), ApiProcessType.SHOW_STATUS, statusLimitToKeep, quoteTime, lead, hold);
+        ApiBudgetPlanner.reserve(rateLimitExecutor.getAccountId(), ApiProcessType.UPDATE_STATUS, quoteLimit, quoteTime, lead, hold);
+    }
+
+    public static Twitter authenticate() {
+        return BotAuthenticator.authenticate(WormConstants.AUTH_PROPERTIES_FILE_NAME, WormConstants.QUOTE_API_KEYS_PREFIX);
+    }
+
+    /**
+     * Continues a run of the previous quote day interrupted by a restart, while the fetcher already collects statuses
+     * of the current one. An unfinished run of the current quote day is continued by {@link #run()} itself.
+     */
+    private void resumeUnfinishedRun() {
+        LocalDate runId = quoteJournalRepository.getLatestUnfinishedRunId(QuoteDay.yesterday());
+        if (runId != null && runId.isBefore(QuoteDay.today())) {
+            logger.info("resume unfinished quote run {}", runId);
+            List<QuoteJournalEntry> entries = quoteJournalRepository.getRun(runId);
+            rateLimitExecutor.execute(ApiProcessType.UPDATE_STATUS, () -> quoteNext(runId, entries));
+        }
+    }
+
+    private List<QuoteJournalEntry> createRun(LocalDate runId, List<CustomStatus> mostPopularTweets) {
         if (mostPopularTweets.size() > quoteLimit) {
             mostPopularTweets = mostPopularTweets.subList(0, quoteLimit);
         }
 
-        long lastPostedStatusId = -1;
-
-        int retryCount = 0;
-        for (int i = mostPopularTweets.size() - 1; i >= 0; i--) {
-            try {
-                CustomStatus s = mostPopularTweets.get(i);
+        List<QuoteJournalEntry> entries = new ArrayList<>(mostPopularTweets.size());
+        for (int i = 0; i < mostPopularTweets.size(); i++) {
+            entries.add(new QuoteJournalEntry(runId, i + 1, mostPopularTweets.get(i)));
+        }
 
-                String statusToPost = (i + 1) + ". " + s.getStatusLink();
+        if (!quoteJournalRepository.createRun(entries)) {
+            logger.error("quote run {} could not be written into journal. it is posted from memory and written again before every post.", runId);
+            unjournaledRunId = runId;
+        }
+        return entries;
+    }
 
-                StatusUpdate statusUpdate = new StatusUpdate(statusToPost);
-                statusUpdate.setInReplyToStatusId(lastPostedStatusId);
+    /**
+     * Writes the entry before it is posted. A run that could not be written into the journal is written as a whole
+     * instead, and is posted anyway if that fails again, since a journal error should not stop the day's thread.
+     *
+     * @return false if the entry of a journaled run could not be written
+     */
+    private boolean writeJournal(List<QuoteJournalEntry> entries, QuoteJournalEntry entry) {
+        if (!entry.getRunId().equals(unjournaledRunId)) {
+            return quoteJournalRepository.update(entry);
+        }
 
-                Status updatedStatus = twitter.updateStatus(statusUpdate);
-                statusDao.setStatusQuoted(s.getId());
-                logger.info("new status: {}", updatedStatus.getText());
-                if (i > 0) {
-                    RateLimitHandler.handle(twitter.getId(), updatedStatus.getRateLimitStatus(), ApiProcessType.UPDATE_STATUS);
-                    Thread.sleep(50 * 1000L);
+        if (quoteJournalRepository.createRun(entries)) {
+            for (QuoteJournalEntry writtenEntry : entries) {
+                if (writtenEntry.getState() != QuoteState.PENDING) {
+                    quoteJournalRepository.update(writtenEntry);
                 }
-                retryCount = 0;
-            } catch (TwitterException e) {
-                logger.error(e.getMessage());
-                retryCount++;
-                if (retryCount > QUOTE_RETRY_COUNT) {
-                    logger.error("retry count limit exceeded. program finished.");
+            }
+            unjournaledRunId = null;
+            logger.info("quote run {} is written into journal.", entry.getRunId());
+        }
+        return true;
+    }
+
+    /**
+     * Posts the lowest ranked status left in the run, so the thread is posted from last to first.
+     */
+    private void quoteNext(LocalDate runId, List<QuoteJournalEntry> entries) {
+        if (rateLimitExecutor.isCancelled()) {
+            return;
+        }
+
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (!entries.get(i).getState().isFinished()) {
+                quoteTweet(runId, entries, i);
+                return;
+            }
+        }
+        finishRun(runId, entries);
+    }
+
+    /**
+     * Quotes the status at the given index and schedules the next one as a continuation instead of sleeping between
+     * posts. Status is marked as posting in the journal before it is sent; if the process stops before the result is
+     * written, the status is looked up in the timeline of the account instead of being posted again.
+     */
+    private void quoteTweet(LocalDate runId, List<QuoteJournalEntry> entries, int index) {
+        QuoteJournalEntry entry = entries.get(index);
+        long inReplyToStatusId = getLastPostedStatusId(entries, index);
+        entry.setAttempts(entry.getAttempts() + 1);
+
+        try {
+            if (entry.getState() == QuoteState.POSTING) {
+                Status postedStatus = findPostedStatus(entry, inReplyToStatusId);
+                if (postedStatus != null) {
+                    logger.info("status was posted before: {}", entry);
+                    setPosted(entry, postedStatus);
+                    quoteNextAfter(runId, entries, QUOTE_INTERVAL_SECONDS);
                     return;
                 }
-                logger.info("wait 1 minute before retry. retry count: {}", retryCount);
-                try {
-                    Thread.sleep(60 * 1000L);
-                } catch (InterruptedException e1) {
-                    logger.error("Thread interrupted!", e1);
-                    Thread.currentThread().interrupt();
+            }
 
-                }
-                i++;
-            } catch (InterruptedException e) {
-                logger.error("Exception occured!", e);
-                Thread.currentThread().interrupt();
+            entry.setState(QuoteState.POSTING);
+            if (!writeJournal(entries, entry)) {
+                retry(runId, entries, entry, null);
+                return;
+            }
+
+            StatusUpdate statusUpdate = new StatusUpdate(entry.getStatusText());
+            statusUpdate.setInReplyToStatusId(inReplyToStatusId);
+
+            Status updatedStatus = twitter.updateStatus(statusUpdate);
+            rateLimitExecutor.update(ApiProcessType.UPDATE_STATUS, updatedStatus.getRateLimitStatus());
+            setPosted(entry, updatedStatus);
+            logger.info("new status: {}", updatedStatus.getText());
+            quoteNextAfter(runId, entries, QUOTE_INTERVAL_SECONDS);
+        } catch (TwitterException e) {
+            logger.error(e.getMessage());
+            retry(runId, entries, entry, e);
+        }
+    }
+
+    private void quoteNextAfter(LocalDate runId, List<QuoteJournalEntry> entries, long delaySeconds) {
+        rateLimitExecutor.executeAfter(ApiProcessType.UPDATE_STATUS, delaySeconds, TimeUnit.SECONDS, () -> quoteNext(runId, entries));
+    }
+
+    /**
+     * Retries with exponential backoff and jitter. Rate limit headers of the failed call are recorded, so the retry
+     * also waits for the window reset when the limit is exhausted.
+     */
+    private void retry(LocalDate runId, List<QuoteJournalEntry> entries, QuoteJournalEntry entry, TwitterException e) {
+        if (entry.getAttempts() > QUOTE_RETRY_COUNT) {
+            logger.error("retry count limit exceeded. skip status: {}", entry);
+            entry.setState(QuoteState.FAILED);
+            quoteJournalRepository.update(entry);
+            quoteNextAfter(runId, entries, 0);
+            return;
+        }
+
+        long backoffMillis = Math.min(QUOTE_RETRY_MAX_MILLIS, QUOTE_RETRY_BASE_MILLIS << Math.max(0, entry.getAttempts() - 1));
+        long delayMillis = backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+        if (e != null) {
+            rateLimitExecutor.update(ApiProcessType.UPDATE_STATUS, e.getRateLimitStatus());
+            if (e.getRetryAfter() > 0) {
+                delayMillis = Math.max(delayMillis, TimeUnit.SECONDS.toMillis(e.getRetryAfter()));
+            }
+        }
+
+        logger.info("retry in {} ms. attempt: {}", delayMillis, entry.getAttempts());
+        rateLimitExecutor.executeAfter(ApiProcessType.UPDATE_STATUS, delayMillis, TimeUnit.MILLISECONDS, () -> quoteNext(runId, entries));
+    }
+
+    private void setPosted(QuoteJournalEntry entry, Status postedStatus) {
+        entry.setPostedStatusId(postedStatus.getId());
+        entry.setState(QuoteState.POSTED);
+        quoteJournalRepository.update(entry);
+        Long userId = statusRepository.setStatusQuoted(entry.getSourceStatusId(), entry.getRunId());
+        tweetFetcher.getQuoteHistory().addQuoted(entry.getSourceStatusId(), userId);
+    }
+
+    /**
+     * @return id of the status the next post replies to, -1 if it is the first post of the thread
+     */
+    private long getLastPostedStatusId(List<QuoteJournalEntry> entries, int index) {
+        for (int i = index + 1; i < entries.size(); i++) {
+            if (entries.get(i).getState() == QuoteState.POSTED) {
+                return entries.get(i).getPostedStatusId();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rank and reply are the same for the first post of every day's thread, so the post must also quote the source
+     * status of the entry.
+     */
+    private Status findPostedStatus(QuoteJournalEntry entry, long inReplyToStatusId) throws TwitterException {
+        for (Status status : twitter.getUserTimeline(new Paging(1, POSTED_STATUS_LOOKUP_COUNT))) {
+            if (status.getInReplyToStatusId() == inReplyToStatusId && status.getText().startsWith(entry.getRank() + ". ")
+                    && isQuoteOf(status, entry.getSourceStatusId())) {
+                return status;
             }
         }
+        return null;
+    }
+
+    private static boolean isQuoteOf(Status status, long sourceStatusId) {
+        if (status.getQuotedStatusId() == sourceStatusId) {
+            return true;
+        }
+        for (URLEntity urlEntity : status.getURLEntities()) {
+            if (urlEntity.getExpandedURL() != null && urlEntity.getExpandedURL().endsWith("/status/" + sourceStatusId)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        TaskScheduler.shutdownAllTasks();
+    private void finishRun(LocalDate runId, List<QuoteJournalEntry> entries) {
+        int postedCount = 0;
+        for (QuoteJournalEntry entry : entries) {
+            if (entry.getState() == QuoteState.POSTED) {
+                postedCount++;
+            }
+        }
+        logger.info("quote run {} finished. posted {} of {} statuses.", runId, postedCount, entries.size());
+
+        if (runId.equals(QuoteDay.today())) {
+            rollOver();
+        }
     }
 
     private void loadArguments() {
@@ -162,5 +423,9 @@ public class TweetQuoter extends BaseScheduledRunnable {
         logger.debug("set quoteHour:{}", quoteHour);
         this.quoteMinute = Integer.parseInt(System.getProperty("quoteMinute", "0"));
         logger.debug("set quoteMinute:{}", quoteMinute);
+        this.statusLimitToKeep = Integer.parseInt(System.getProperty("statusLimitToKeep", "30"));
+        logger.debug("set statusLimitToKeep:{}", statusLimitToKeep);
+        this.apiReserveLeadMinutes = Integer.parseInt(System.getProperty("apiReserveLeadMinutes", "15"));
+        logger.debug("set apiReserveLeadMinutes:{}", apiReserveLeadMinutes);
     }
 }